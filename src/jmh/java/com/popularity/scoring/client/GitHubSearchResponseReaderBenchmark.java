@@ -0,0 +1,169 @@
+package com.popularity.scoring.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads a full GitHub search page of 100 repositories into DTOs.
+ *
+ * The payload carries the fields GitHub returns for each repository, nested owner and license
+ * objects included, so the benchmark pays for skipping everything scoring does not need. Binding
+ * the same payload to a Jackson tree is measured as a baseline, and the gzip variant covers the
+ * decompression done for every real response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GitHubSearchResponseReaderBenchmark {
+
+    private static final int REPOSITORIES_PER_PAGE = 100;
+
+    private final GitHubSearchResponseReader reader = new GitHubSearchResponseReader(new JsonFactory());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] payload;
+
+    private byte[] gzippedPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = searchPage(REPOSITORIES_PER_PAGE).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        gzippedPayload = compressed.toByteArray();
+    }
+
+    @Benchmark
+    public GithubPopularityScoreResponse streamingReader() throws IOException {
+        return reader.read(payload);
+    }
+
+    @Benchmark
+    public GithubPopularityScoreResponse streamingReaderGzip() throws IOException {
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(gzippedPayload))) {
+            return reader.read(body);
+        }
+    }
+
+    @Benchmark
+    public JsonNode jacksonTreeBaseline() throws IOException {
+        return objectMapper.readTree(payload);
+    }
+
+    /**
+     * Builds a search page shaped like a GitHub response, with deterministic contents.
+     */
+    static String searchPage(int repositories) {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        StringBuilder json = new StringBuilder(repositories * 6_000)
+                .append("{\"total_count\":").append(250_000).append(",\"incomplete_results\":false,\"items\":[");
+        for (int i = 0; i < repositories; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String owner = "owner" + random.nextInt(1_000);
+            String name = "repository-" + i;
+            String fullName = owner + "/" + name;
+            String api = "https://api.github.com/repos/" + fullName;
+            Instant updatedAt = now.minus(random.nextInt(2 * 365 * 24), ChronoUnit.HOURS);
+            Instant createdAt = updatedAt.minus(random.nextInt(10 * 365), ChronoUnit.DAYS);
+            int stars = random.nextInt(200_000);
+            int forks = random.nextInt(50_000);
+            json.append('{')
+                    .append("\"id\":").append(100_000 + i).append(',')
+                    .append("\"node_id\":\"R_kgDO").append(Integer.toHexString(i)).append("\",")
+                    .append("\"name\":\"").append(name).append("\",")
+                    .append("\"full_name\":\"").append(fullName).append("\",")
+                    .append("\"private\":false,")
+                    .append("\"owner\":{")
+                    .append("\"login\":\"").append(owner).append("\",")
+                    .append("\"id\":").append(random.nextInt(1_000_000)).append(',')
+                    .append("\"node_id\":\"MDQ6VXNlcj").append(i).append("\",")
+                    .append("\"avatar_url\":\"https://avatars.githubusercontent.com/u/").append(i).append("?v=4\",")
+                    .append("\"gravatar_id\":\"\",")
+                    .append("\"url\":\"https://api.github.com/users/").append(owner).append("\",")
+                    .append("\"html_url\":\"https://github.com/").append(owner).append("\",")
+                    .append("\"followers_url\":\"https://api.github.com/users/").append(owner).append("/followers\",")
+                    .append("\"repos_url\":\"https://api.github.com/users/").append(owner).append("/repos\",")
+                    .append("\"type\":\"User\",")
+                    .append("\"site_admin\":false},")
+                    .append("\"html_url\":\"https://github.com/").append(fullName).append("\",")
+                    .append("\"description\":\"A repository used to benchmark reading search responses, number ").append(i).append("\",")
+                    .append("\"fork\":false,")
+                    .append("\"url\":\"").append(api).append("\",")
+                    .append("\"forks_url\":\"").append(api).append("/forks\",")
+                    .append("\"keys_url\":\"").append(api).append("/keys{/key_id}\",")
+                    .append("\"collaborators_url\":\"").append(api).append("/collaborators{/collaborator}\",")
+                    .append("\"teams_url\":\"").append(api).append("/teams\",")
+                    .append("\"hooks_url\":\"").append(api).append("/hooks\",")
+                    .append("\"issue_events_url\":\"").append(api).append("/issues/events{/number}\",")
+                    .append("\"events_url\":\"").append(api).append("/events\",")
+                    .append("\"branches_url\":\"").append(api).append("/branches{/branch}\",")
+                    .append("\"tags_url\":\"").append(api).append("/tags\",")
+                    .append("\"languages_url\":\"").append(api).append("/languages\",")
+                    .append("\"stargazers_url\":\"").append(api).append("/stargazers\",")
+                    .append("\"contributors_url\":\"").append(api).append("/contributors\",")
+                    .append("\"commits_url\":\"").append(api).append("/commits{/sha}\",")
+                    .append("\"issues_url\":\"").append(api).append("/issues{/number}\",")
+                    .append("\"pulls_url\":\"").append(api).append("/pulls{/number}\",")
+                    .append("\"releases_url\":\"").append(api).append("/releases{/id}\",")
+                    .append("\"created_at\":\"").append(createdAt).append("\",")
+                    .append("\"updated_at\":\"").append(updatedAt).append("\",")
+                    .append("\"pushed_at\":\"").append(updatedAt).append("\",")
+                    .append("\"git_url\":\"git://github.com/").append(fullName).append(".git\",")
+                    .append("\"clone_url\":\"https://github.com/").append(fullName).append(".git\",")
+                    .append("\"homepage\":null,")
+                    .append("\"size\":").append(random.nextInt(500_000)).append(',')
+                    .append("\"stargazers_count\":").append(stars).append(',')
+                    .append("\"watchers_count\":").append(stars).append(',')
+                    .append("\"language\":\"Java\",")
+                    .append("\"has_issues\":true,")
+                    .append("\"has_projects\":true,")
+                    .append("\"has_wiki\":false,")
+                    .append("\"archived\":false,")
+                    .append("\"forks_count\":").append(forks).append(',')
+                    .append("\"open_issues_count\":").append(random.nextInt(2_000)).append(',')
+                    .append("\"license\":{\"key\":\"apache-2.0\",\"name\":\"Apache License 2.0\",\"spdx_id\":\"Apache-2.0\",")
+                    .append("\"url\":\"https://api.github.com/licenses/apache-2.0\",\"node_id\":\"MDc6TGljZW5zZTI=\"},")
+                    .append("\"topics\":[\"java\",\"spring-boot\",\"benchmark\"],")
+                    .append("\"visibility\":\"public\",")
+                    .append("\"forks\":").append(forks).append(',')
+                    .append("\"watchers\":").append(stars).append(',')
+                    .append("\"default_branch\":\"main\",")
+                    .append("\"score\":1.0")
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+}
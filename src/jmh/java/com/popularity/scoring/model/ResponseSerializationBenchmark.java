@@ -0,0 +1,74 @@
+package com.popularity.scoring.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes scored responses as JSON with an {@link ObjectMapper} configured the way Spring Boot
+ * configures the one used for our responses. A single page is 100 repositories; the larger size
+ * stands for the ranked and batch endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private GithubPopularityScoreResponse response;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<RepositoriesPopularityScoreDTO> repositories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime updatedAt = NOW.minusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            repositories.add(new RepositoriesPopularityScoreDTO("owner" + random.nextInt(1_000) + "/repository-" + i,
+                    random.nextInt(200_000), random.nextInt(50_000), updatedAt, updatedAt.minusDays(random.nextInt(3_650)),
+                    random.nextDouble(400)));
+        }
+        response = new GithubPopularityScoreResponse(250_000, repositories);
+    }
+
+    /**
+     * Writes to a discarding stream, as the HTTP message converter writes to the response stream.
+     */
+    @Benchmark
+    public void writeToStream() throws IOException {
+        objectMapper.writeValue(sink, response);
+    }
+
+    @Benchmark
+    public byte[] writeToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
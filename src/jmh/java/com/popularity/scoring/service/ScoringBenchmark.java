@@ -0,0 +1,103 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoreEvaluator;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores batches of repositories from 10 to a million entries.
+ *
+ * {@link #calculatePopularityScores()} measures the whole path through {@link ScoringUtil}, including
+ * copying the DTOs into columns and creating the scored copies; it goes parallel from
+ * {@link PopularityScoringKernel#DEFAULT_PARALLEL_THRESHOLD} repositories on. The kernel benchmarks score
+ * the same columns on the calling thread and on the common pool at every size, including sizes around
+ * that default, to pick {@code scoring.parallel-threshold} for a given machine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Param({"10", "1000", "2048", "8192", "32768", "100000", "1000000"})
+    public int size;
+
+    private ScoringUtil scoringUtil;
+
+    private GithubPopularityScoreResponse response;
+
+    private ScoreEvaluator evaluator;
+    private int[] stars;
+    private int[] forks;
+    private long[] lastUpdated;
+    private long[] created;
+    private double[] scores;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        scoringUtil = new ScoringUtil(new SimpleMeterRegistry());
+        evaluator = ScoringModel.DEFAULT.evaluator();
+        now = NOW.toEpochSecond(ZoneOffset.UTC);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<RepositoriesPopularityScoreDTO> repositories = new ArrayList<>(size);
+        stars = new int[size];
+        forks = new int[size];
+        lastUpdated = new long[size];
+        created = new long[size];
+        scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            LocalDateTime updatedAt = NOW.minusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            LocalDateTime createdAt = updatedAt.minusDays(random.nextInt(10 * 365));
+            stars[i] = random.nextInt(200_000);
+            forks[i] = random.nextInt(50_000);
+            lastUpdated[i] = updatedAt.toEpochSecond(ZoneOffset.UTC);
+            created[i] = createdAt.toEpochSecond(ZoneOffset.UTC);
+            repositories.add(new RepositoriesPopularityScoreDTO("owner" + (i % 5_000) + "/repo" + i, stars[i], forks[i],
+                    updatedAt, createdAt, 0));
+        }
+        response = new GithubPopularityScoreResponse(size, repositories);
+    }
+
+    @Benchmark
+    public GithubPopularityScoreResponse calculatePopularityScores() {
+        return scoringUtil.calculatePopularityScores(response, ScoringModel.DEFAULT);
+    }
+
+    @Benchmark
+    public double[] kernelSequential() {
+        PopularityScoringKernel.scoreSequential(evaluator, stars, forks, lastUpdated, created, now, scores, size);
+        return scores;
+    }
+
+    @Benchmark
+    public double[] kernelParallel() {
+        PopularityScoringKernel.scoreParallel(evaluator, stars, forks, lastUpdated, created, now, scores, size);
+        return scores;
+    }
+}
@@ -1,20 +1,15 @@
 package com.popularity.scoring;
 
+import com.popularity.scoring.config.GitHubHttpClientConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 public class GithubRepositoryPopularityScoringServiceApplication {
 
 	public static void main(String[] args) {
+		GitHubHttpClientConfig.applyConnectionPoolDefaults();
 		SpringApplication.run(GithubRepositoryPopularityScoringServiceApplication.class, args);
 	}
 
-	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
-	}
-
 }
@@ -0,0 +1,165 @@
+package com.popularity.scoring.admission;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits concurrent requests to a limit derived from their latency, in the style of a gradient
+ * concurrency limit.
+ *
+ * Latencies are averaged over windows of at least {@code window} and {@link #MIN_WINDOW_SAMPLES}
+ * requests. Each window compares its average against a long-term average of past windows: while
+ * latency stays within {@code tolerance} of the long-term average, the limit grows by about its
+ * square root; as latency rises beyond it, the limit shrinks in proportion, down to half per window.
+ * Changes are smoothed by {@code smoothing} and bounded by {@code min-limit} and {@code max-limit}.
+ * The limit does not grow while less than half of it is in use, so an idle service does not
+ * accumulate headroom it has never been measured at.
+ *
+ * Admission is a compare-and-set on the in-flight count; only the end of a window takes the lock.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    static final int MIN_WINDOW_SAMPLES = 10;
+
+    /**
+     * Number of windows the long-term latency average spans.
+     */
+    private static final int LONG_WINDOWS = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private long windowStartNanos;
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double longRttNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${scoring.admission.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${scoring.admission.concurrency.min-limit:4}") int minLimit,
+                                      @Value("${scoring.admission.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${scoring.admission.concurrency.smoothing:0.2}") double smoothing,
+                                      @Value("${scoring.admission.concurrency.tolerance:1.5}") double tolerance,
+                                      @Value("${scoring.admission.concurrency.window:1s}") Duration window) {
+        this(initialLimit, minLimit, maxLimit, smoothing, tolerance, window, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance, Duration window,
+                               LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.windowStartNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Admits a request if fewer than the current limit are in flight. An admitted request must be
+     * completed with {@link #onSuccess(long)} or {@link #onDropped()}.
+     *
+     * @return false if the request must be rejected.
+     */
+    public boolean tryAcquire() {
+        int currentLimit = (int) limit;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes a request and records its latency.
+     *
+     * @param rttNanos How long the request took.
+     */
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            windowRttSumNanos += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+            long now = nanoClock.getAsLong();
+            if (now - windowStartNanos >= windowNanos && windowSamples >= MIN_WINDOW_SAMPLES) {
+                update((double) windowRttSumNanos / windowSamples, windowMaxInFlight);
+                windowStartNanos = now;
+                windowRttSumNanos = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes a request whose latency says nothing about the load, such as a failed one.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double shortRttNanos, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) / LONG_WINDOWS;
+        }
+        // When latency drops back after a long overload, the long-term average is still inflated by it;
+        // let it catch up faster than the smoothing alone would.
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = Math.min(maxLimit, Math.max(minLimit, limit * (1 - smoothing) + target * smoothing));
+        if ((int) next != (int) limit) {
+            logger.debug("Concurrency limit {} -> {} (latency {} ms, long-term {} ms)", (int) limit, (int) next,
+                    Math.round(shortRttNanos / 1_000_000), Math.round(longRttNanos / 1_000_000));
+        }
+        limit = next;
+    }
+}
@@ -0,0 +1,27 @@
+package com.popularity.scoring.admission;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Takes one token from the client's bucket for every request, before the handler runs.
+ * A rejected request is answered with a 429 and {@code Retry-After}.
+ */
+public class ClientRateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    public ClientRateLimitInterceptor(ClientRateLimiter clientRateLimiter) {
+        this.clientRateLimiter = clientRateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            clientRateLimiter.acquire(clientRateLimiter.clientKey(request), 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package com.popularity.scoring.admission;
+
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets for inbound requests.
+ *
+ * Clients are identified by their {@code X-Api-Key} header if it holds one of the configured
+ * {@code api-keys}, else by their remote address, so that sending made-up keys does not buy a client
+ * fresh buckets. Each
+ * bucket refills at {@code requests-per-second} and holds up to {@code burst} tokens. A bucket is
+ * a single {@link AtomicLong} holding the time at which it will be full again (the generic cell
+ * rate algorithm), updated with compare-and-set, so clients never contend on a lock.
+ *
+ * A request is admitted while at least one token is left, and may then take more tokens than are
+ * left: a large batch is admitted, and the client's following requests wait until it has been
+ * paid for.
+ */
+@Component
+public class ClientRateLimiter {
+
+    public static final String API_KEY_HEADER = "X-Api-Key";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientRateLimiter.class);
+
+    private static final long PRUNE_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final boolean enabled;
+    private final int burst;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxClients;
+    private final Set<String> apiKeys;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Time at which each client's bucket is full again; at or before now, the bucket is full.
+     */
+    private final ConcurrentMap<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPrunedNanos;
+
+    @Autowired
+    public ClientRateLimiter(@Value("${scoring.admission.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${scoring.admission.rate-limit.requests-per-second:10}") double requestsPerSecond,
+                             @Value("${scoring.admission.rate-limit.burst:20}") int burst,
+                             @Value("${scoring.admission.rate-limit.max-clients:10000}") int maxClients,
+                             @Value("${scoring.admission.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this(enabled, requestsPerSecond, burst, maxClients, apiKeys, System::nanoTime);
+    }
+
+    ClientRateLimiter(boolean enabled, double requestsPerSecond, int burst, int maxClients, Set<String> apiKeys,
+                      LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstNanos = intervalNanos * this.burst;
+        this.maxClients = maxClients;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.nanoClock = nanoClock;
+        this.lastPrunedNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes tokens from a client's bucket.
+     *
+     * @param client  The client key, see {@link #clientKey(HttpServletRequest)}.
+     * @param permits The number of tokens to take.
+     * @throws RateLimitExceededException If the client's bucket is empty.
+     */
+    public void acquire(String client, int permits) {
+        if (!enabled || permits <= 0) {
+            return;
+        }
+        AtomicLong bucket = fullAt.computeIfAbsent(client, key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = bucket.get();
+            long full = Math.max(current, now);
+            long missingNanos = full - now;
+            if (missingNanos + intervalNanos > burstNanos) {
+                logger.warn("Rejecting request of client {}: rate limit exceeded", client);
+                throw new RateLimitExceededException("Too many requests from this client, please retry later",
+                        Duration.ofNanos(missingNanos + intervalNanos - burstNanos));
+            }
+            if (bucket.compareAndSet(current, full + permits * intervalNanos)) {
+                break;
+            }
+        }
+        pruneIfFull();
+    }
+
+    /**
+     * @return The most tokens a single request may cost: a full bucket, or no limit if rate limiting is disabled.
+     */
+    public int burst() {
+        return enabled ? burst : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Identifies the client of a request by its API key if it is a known one, else its remote address.
+     */
+    public String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey.strip())) {
+            return "key:" + apiKey.strip();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * @return The number of clients with a bucket.
+     */
+    public int clients() {
+        return fullAt.size();
+    }
+
+    /**
+     * Drops the buckets of idle clients once there are more than {@code max-clients}, at most once a
+     * second. A full bucket carries no state, so dropping it does not change any client's limit.
+     */
+    private void pruneIfFull() {
+        if (fullAt.size() <= maxClients) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long last = lastPrunedNanos.get();
+        if (now - last < PRUNE_INTERVAL_NANOS || !lastPrunedNanos.compareAndSet(last, now)) {
+            return;
+        }
+        fullAt.values().removeIf(bucket -> bucket.get() <= now);
+        logger.debug("Pruned idle client buckets, {} left", fullAt.size());
+    }
+}
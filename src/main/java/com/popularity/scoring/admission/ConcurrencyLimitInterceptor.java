@@ -0,0 +1,59 @@
+package com.popularity.scoring.admission;
+
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admits requests through the {@link AdaptiveConcurrencyLimiter}, rejecting them with a 429 and
+ * {@code Retry-After} before the handler runs once the limit is reached.
+ *
+ * An asynchronous request holds its slot until its final dispatch completes, not just until the
+ * handler returns. Requests answered with a 5xx are not counted as latency samples.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            logger.warn("Rejecting request to {}: concurrency limit of {} reached", request.getRequestURI(), concurrencyLimiter.limit());
+            throw new RateLimitExceededException("Too many concurrent requests, please retry later", RETRY_AFTER);
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(STARTED_AT) instanceof Long startedAt)) {
+            return;
+        }
+        request.removeAttribute(STARTED_AT);
+        if (ex == null && response.getStatus() < 500) {
+            concurrencyLimiter.onSuccess(System.nanoTime() - startedAt);
+        } else {
+            concurrencyLimiter.onDropped();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.popularity.scoring.cache;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a hit, miss or eviction in {@link ScoreResultCache}.
+ */
+@Name("com.popularity.scoring.CacheOperation")
+@Label("Score Cache Operation")
+@Category({"Popularity Scoring", "Cache"})
+@Description("A lookup or eviction in the scored result cache")
+@StackTrace(false)
+final class CacheEvent extends jdk.jfr.Event {
+
+    static final String HIT = "hit";
+    static final String STALE_HIT = "stale hit";
+    static final String MISS = "miss";
+    static final String EVICTION = "eviction";
+
+    @Label("Operation")
+    @Description("hit, stale hit, miss or eviction")
+    String operation;
+
+    @Label("Query")
+    String query;
+
+    /**
+     * Commits an event for the given operation if the event is enabled. The query is only rendered then.
+     */
+    static void record(String operation, QueryKey key) {
+        CacheEvent event = new CacheEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.query = key.toString();
+            event.commit();
+        }
+    }
+}
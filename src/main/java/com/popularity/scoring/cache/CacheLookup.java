@@ -0,0 +1,22 @@
+package com.popularity.scoring.cache;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+
+/**
+ * Result of a cache lookup.
+ *
+ * @param value The cached response, or {@code null} on a miss.
+ * @param stale Whether the response is past its time-to-live but still within the stale window.
+ */
+public record CacheLookup(GithubPopularityScoreResponse value, boolean stale) {
+
+    static final CacheLookup MISS = new CacheLookup(null, false);
+
+    public boolean isHit() {
+        return value != null;
+    }
+
+    public boolean isFresh() {
+        return value != null && !stale;
+    }
+}
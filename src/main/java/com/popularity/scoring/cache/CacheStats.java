@@ -0,0 +1,18 @@
+package com.popularity.scoring.cache;
+
+/**
+ * Point-in-time counters of the score result cache.
+ *
+ * @param hitCount      Number of lookups served fresh from the cache.
+ * @param staleHitCount Number of lookups served stale while a refresh was pending.
+ * @param missCount     Number of lookups that had to go upstream.
+ * @param evictionCount Number of entries removed to honour the size bound.
+ * @param size          Current number of entries.
+ */
+public record CacheStats(long hitCount, long staleHitCount, long missCount, long evictionCount, int size) {
+
+    public double hitRate() {
+        long requests = hitCount + staleHitCount + missCount;
+        return requests == 0 ? 1.0 : (double) (hitCount + staleHitCount) / requests;
+    }
+}
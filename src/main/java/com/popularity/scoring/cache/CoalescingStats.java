@@ -0,0 +1,16 @@
+package com.popularity.scoring.cache;
+
+/**
+ * Point-in-time counters of the request coalescer.
+ *
+ * @param upstreamCalls     Number of calls that actually went upstream.
+ * @param coalescedCalls    Number of callers that joined a call already in flight.
+ * @param maxCallersPerCall Largest number of callers served by a single upstream call.
+ * @param inFlight          Number of upstream calls currently in flight.
+ */
+public record CoalescingStats(long upstreamCalls, long coalescedCalls, int maxCallersPerCall, int inFlight) {
+
+    public double averageCallersPerCall() {
+        return upstreamCalls == 0 ? 0.0 : (double) (upstreamCalls + coalescedCalls) / upstreamCalls;
+    }
+}
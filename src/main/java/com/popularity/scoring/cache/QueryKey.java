@@ -0,0 +1,31 @@
+package com.popularity.scoring.cache;
+
+import com.popularity.scoring.scoringmodel.ScoringModel;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Normalized identity of a repository search query, used to key cached results.
+ *
+ * @param language     The lower-cased programming language filter.
+ * @param earliestDate The earliest creation date filter.
+ * @param pageNumber   The page number for pagination.
+ * @param scoringModel The name of the scoring model the results are scored with.
+ */
+public record QueryKey(String language, LocalDate earliestDate, int pageNumber, String scoringModel) {
+
+    /**
+     * Creates a key for results scored with the default model.
+     */
+    public static QueryKey of(String language, LocalDate earliestDate, int pageNumber) {
+        return of(language, earliestDate, pageNumber, ScoringModel.DEFAULT_NAME);
+    }
+
+    /**
+     * Creates a key, normalizing the language so that "Java" and "java" share an entry.
+     */
+    public static QueryKey of(String language, LocalDate earliestDate, int pageNumber, String scoringModel) {
+        return new QueryKey(language.trim().toLowerCase(Locale.ROOT), earliestDate, pageNumber, scoringModel);
+    }
+}
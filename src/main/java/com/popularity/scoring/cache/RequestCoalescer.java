@@ -0,0 +1,133 @@
+package com.popularity.scoring.cache;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical queries onto a single upstream call.
+ *
+ * The first caller for a key runs the loader on its own thread, or starts it asynchronously; callers
+ * arriving while that call is in flight wait for the same result (or the same failure) instead of
+ * calling GitHub again.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Map<QueryKey, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+    private final AtomicInteger maxCallersPerCall = new AtomicInteger();
+
+    /**
+     * Runs the loader for the given key, or joins an identical call that is already in flight.
+     *
+     * @param key    The normalized query.
+     * @param loader Performs the upstream call when this caller is the first for the key.
+     * @return The response shared by every caller of the same flight.
+     */
+    public GithubPopularityScoreResponse execute(QueryKey key, Supplier<GithubPopularityScoreResponse> loader) {
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.incrementAndGet();
+            coalescedCalls.increment();
+            return await(existing.future);
+        }
+
+        upstreamCalls.increment();
+        try {
+            GithubPopularityScoreResponse response = loader.get();
+            flight.future.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Errors and sneaky checked exceptions must release the joined callers too.
+            flight.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+            recordCallers(key, flight.callers.get());
+        }
+    }
+
+    /**
+     * Starts the loader for the given key, or joins an identical call that is already in flight,
+     * without blocking. Asynchronous and blocking callers of the same key share one flight.
+     *
+     * @param key    The normalized query.
+     * @param loader Starts the upstream call when this caller is the first for the key.
+     * @return A future of the response shared by every caller of the same flight.
+     */
+    public CompletableFuture<GithubPopularityScoreResponse> executeAsync(QueryKey key,
+                                                                         Supplier<CompletableFuture<GithubPopularityScoreResponse>> loader) {
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.incrementAndGet();
+            coalescedCalls.increment();
+            return existing.future.copy();
+        }
+
+        upstreamCalls.increment();
+        CompletableFuture<GithubPopularityScoreResponse> loaded;
+        try {
+            loaded = loader.get();
+        } catch (Throwable e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((response, failure) -> {
+            if (failure != null) {
+                flight.future.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure);
+            } else {
+                flight.future.complete(response);
+            }
+            inFlight.remove(key, flight);
+            recordCallers(key, flight.callers.get());
+        });
+        // Callers get a copy, so that none of them can complete the shared flight.
+        return flight.future.copy();
+    }
+
+    public CoalescingStats stats() {
+        return new CoalescingStats(upstreamCalls.sum(), coalescedCalls.sum(), maxCallersPerCall.get(), inFlight.size());
+    }
+
+    private void recordCallers(QueryKey key, int callers) {
+        maxCallersPerCall.accumulateAndGet(callers, Math::max);
+        if (callers > 1) {
+            logger.debug("Collapsed {} callers onto one upstream call for {}", callers, key);
+        }
+    }
+
+    private static GithubPopularityScoreResponse await(CompletableFuture<GithubPopularityScoreResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<GithubPopularityScoreResponse> future = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+    }
+}
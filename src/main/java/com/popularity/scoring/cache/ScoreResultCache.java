@@ -0,0 +1,244 @@
+package com.popularity.scoring.cache;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process, size-bounded cache of scored search results.
+ *
+ * Entries are fresh for a fixed time-to-live and may then be served as stale for a further
+ * stale-while-revalidate window while a refresh is in progress. When the cache grows past its maximum size the
+ * least frequently used entry is evicted, so that queries hit by dashboards all day survive
+ * bursts of one-off lookups. Access frequencies are periodically halved to let old favourites age out.
+ * Background refreshes are ranked by the reads since an entry was last written instead, so a query
+ * nobody has read since its last refresh is not refreshed again.
+ * Hits, misses and evictions are recorded as {@link CacheEvent}s for Flight Recorder.
+ */
+@Component
+public class ScoreResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreResultCache.class);
+
+    private final Map<QueryKey, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long staleWindowNanos;
+    private final LongSupplier ticker;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder staleHitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder accessesSinceAging = new LongAdder();
+
+    @Autowired
+    public ScoreResultCache(@Value("${scoring.cache.maximum-size:1000}") int maximumSize,
+                            @Value("${scoring.cache.ttl:5m}") Duration ttl,
+                            @Value("${scoring.cache.stale-while-revalidate:1m}") Duration staleWindow) {
+        this(maximumSize, ttl, staleWindow, System::nanoTime);
+    }
+
+    public ScoreResultCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, Duration.ZERO, System::nanoTime);
+    }
+
+    ScoreResultCache(int maximumSize, Duration ttl, Duration staleWindow, LongSupplier ticker) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.staleWindowNanos = staleWindow.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the fresh cached response for the given query, or {@code null} if absent or past its time-to-live.
+     *
+     * @param key The normalized query.
+     * @return The cached response, or {@code null}.
+     */
+    public GithubPopularityScoreResponse get(QueryKey key) {
+        CacheLookup lookup = lookup(key);
+        return lookup.isFresh() ? lookup.value() : null;
+    }
+
+    /**
+     * Looks up the given query, distinguishing fresh entries from stale ones that may be served
+     * while a refresh is in progress.
+     *
+     * @param key The normalized query.
+     * @return The lookup result.
+     */
+    public CacheLookup lookup(QueryKey key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+            CacheEvent.record(CacheEvent.MISS, key);
+            return CacheLookup.MISS;
+        }
+
+        long age = ticker.getAsLong() - entry.writtenAt;
+        if (age >= ttlNanos + staleWindowNanos) {
+            entries.remove(key, entry);
+            missCount.increment();
+            CacheEvent.record(CacheEvent.MISS, key);
+            return CacheLookup.MISS;
+        }
+
+        entry.recordAccess();
+        if (age >= ttlNanos) {
+            staleHitCount.increment();
+            CacheEvent.record(CacheEvent.STALE_HIT, key);
+            return new CacheLookup(entry.value, true);
+        }
+        hitCount.increment();
+        CacheEvent.record(CacheEvent.HIT, key);
+        return new CacheLookup(entry.value, false);
+    }
+
+    /**
+     * Returns the queries read most often since they were last written whose entries are stale or
+     * will turn stale within the given lead time, hottest first. Queries not read since they were last
+     * written are left out. Used to refresh popular queries before users see them expire.
+     *
+     * @param limit     Maximum number of queries to return.
+     * @param refreshAhead How long before the end of its time-to-live an entry becomes a candidate.
+     * @return The queries to refresh.
+     */
+    public List<QueryKey> refreshCandidates(int limit, Duration refreshAhead) {
+        long threshold = ttlNanos - refreshAhead.toNanos();
+        long now = ticker.getAsLong();
+        return entries.entrySet().stream()
+                .filter(e -> e.getValue().readsSinceWrite.get() > 0)
+                .filter(e -> now - e.getValue().writtenAt >= threshold)
+                .sorted(Comparator.comparingInt((Map.Entry<QueryKey, CacheEntry> e) -> e.getValue().readsSinceWrite.get()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Stores a scored response, evicting the least frequently used entry if the cache is full.
+     *
+     * @param key   The normalized query.
+     * @param value The scored response.
+     */
+    public void put(QueryKey key, GithubPopularityScoreResponse value) {
+        if (maximumSize <= 0) {
+            return;
+        }
+
+        CacheEntry entry = new CacheEntry(value, ticker.getAsLong());
+        CacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            // A refresh should not cost a popular query its place in the cache.
+            entry.frequency.set(previous.frequency.get());
+        }
+
+        if (entries.size() > maximumSize) {
+            evictIfNecessary(key);
+        }
+    }
+
+    /**
+     * Removes all entries. Counters are left untouched.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), staleHitCount.sum(), missCount.sum(), evictionCount.sum(), entries.size());
+    }
+
+    private boolean isExpired(CacheEntry entry, long now) {
+        return now - entry.writtenAt >= ttlNanos + staleWindowNanos;
+    }
+
+    /**
+     * Evicts expired entries first, then the entries with the lowest access frequency,
+     * until the cache is back within its size bound. The entry just written is never
+     * chosen, otherwise a new query could not displace anything that had been read once.
+     */
+    private void evictIfNecessary(QueryKey justWritten) {
+        evictionLock.lock();
+        try {
+            long now = ticker.getAsLong();
+            boolean age = accessesSinceAging.sumThenReset() > maximumSize * 10L;
+
+            entries.entrySet().removeIf(e -> isExpired(e.getValue(), now));
+
+            while (entries.size() > maximumSize) {
+                Map.Entry<QueryKey, CacheEntry> victim = null;
+                for (Map.Entry<QueryKey, CacheEntry> candidate : entries.entrySet()) {
+                    if (candidate.getKey().equals(justWritten)) {
+                        continue;
+                    }
+                    if (victim == null || isColder(candidate.getValue(), victim.getValue())) {
+                        victim = candidate;
+                    }
+                }
+                if (victim == null) {
+                    break;
+                }
+                if (!entries.remove(victim.getKey(), victim.getValue())) {
+                    continue;
+                }
+                evictionCount.increment();
+                CacheEvent.record(CacheEvent.EVICTION, victim.getKey());
+                logger.debug("Evicted cached scores for {} (frequency {})", victim.getKey(), victim.getValue().frequency.get());
+            }
+
+            if (age) {
+                entries.values().forEach(CacheEntry::halveFrequency);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static boolean isColder(CacheEntry candidate, CacheEntry victim) {
+        int candidateFrequency = candidate.frequency.get();
+        int victimFrequency = victim.frequency.get();
+        if (candidateFrequency != victimFrequency) {
+            return candidateFrequency < victimFrequency;
+        }
+        return candidate.writtenAt < victim.writtenAt;
+    }
+
+    private final class CacheEntry {
+        private final GithubPopularityScoreResponse value;
+        private final long writtenAt;
+        private final AtomicInteger frequency = new AtomicInteger();
+        private final AtomicInteger readsSinceWrite = new AtomicInteger();
+
+        private CacheEntry(GithubPopularityScoreResponse value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+
+        private void recordAccess() {
+            frequency.incrementAndGet();
+            readsSinceWrite.incrementAndGet();
+            accessesSinceAging.increment();
+        }
+
+        private void halveFrequency() {
+            frequency.updateAndGet(f -> f >>> 1);
+        }
+    }
+}
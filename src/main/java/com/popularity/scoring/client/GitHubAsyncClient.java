@@ -0,0 +1,230 @@
+package com.popularity.scoring.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Non-blocking counterpart of {@link GitHubClient} for the asynchronous scoring endpoint.
+ *
+ * Searches are sent with {@link HttpClient#sendAsync}, so no thread is held while GitHub answers;
+ * waiting for rate-limit admission does not hold one either. Searches share the rate-limit budget
+ * and concurrency limit of the blocking client, are retried and hedged by the same
+ * {@link GitHubRetryExecutor}, and go through the same circuit breaker and bulkhead. Responses are
+ * not revalidated with ETags.
+ */
+@Component
+public class GitHubAsyncClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubAsyncClient.class);
+
+    private static final String GZIP = "gzip";
+
+    private final HttpClient httpClient;
+
+    private final GitHubRateLimitScheduler rateLimitScheduler;
+
+    private final GitHubRetryExecutor retryExecutor;
+
+    private final GitHubCircuitBreaker circuitBreaker;
+
+    private final GitHubBulkhead bulkhead;
+
+    private final GitHubSearchMetrics metrics;
+
+    private final Duration readTimeout;
+
+    private final GitHubSearchResponseReader responseReader = new GitHubSearchResponseReader(new JsonFactory());
+
+    @Value("${github.api.base-url}")
+    private String githubApiBaseUrl;
+
+    @Autowired
+    public GitHubAsyncClient(HttpClient gitHubHttpClient, GitHubRateLimitScheduler rateLimitScheduler, GitHubRetryExecutor retryExecutor,
+                             GitHubCircuitBreaker circuitBreaker, GitHubBulkhead bulkhead, GitHubSearchMetrics metrics,
+                             @Value("${github.http.read-timeout:10s}") Duration readTimeout) {
+        this.httpClient = gitHubHttpClient;
+        this.rateLimitScheduler = rateLimitScheduler;
+        this.retryExecutor = retryExecutor;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.metrics = metrics;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Fetches repositories from GitHub based on language and creation date, ordered by popularity.
+     *
+     * @param language      Programming language filter.
+     * @param earliestDate  Earliest repository creation date.
+     * @param page          Page number for pagination.
+     * @param priority      Dispatch priority with respect to the shared rate-limit budget.
+     * @return A future of the response containing the repositories of the page. It fails with
+     *         {@link RateLimitExceededException} if the search is shed or GitHub reports its rate limit
+     *         as exceeded, with {@link GitHubUnavailableException} if the circuit breaker is open or the
+     *         bulkhead is full, and with {@link RepositoryServiceException} if the search fails otherwise.
+     */
+    public CompletableFuture<GithubPopularityScoreResponse> searchAllRepositories(String language, LocalDate earliestDate, int page,
+                                                                                  RequestPriority priority) {
+        String formattedDate = earliestDate.format(GitHubClient.DATE_FORMATTER);
+
+        logger.info("Fetching repositories asynchronously - Language: {}, Created After: {}, Page: {}", language, formattedDate, page);
+
+        URI uri = UriComponentsBuilder.fromUriString(GitHubClient.buildGitHubApiUrl(githubApiBaseUrl, language, ">" + formattedDate, page))
+                .build()
+                .encode()
+                .toUri();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ACCEPT_ENCODING, GZIP)
+                .GET()
+                .build();
+
+        try {
+            bulkhead.acquire();
+        } catch (GitHubUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return retryExecutor.executeAsync(priority, () -> attempt(request, uri, page, priority))
+                .whenComplete((response, failure) -> bulkhead.release());
+    }
+
+    /**
+     * Sends one search request through the circuit breaker and rate-limit scheduler.
+     */
+    private CompletableFuture<GithubPopularityScoreResponse> attempt(HttpRequest request, URI uri, int page, RequestPriority priority) {
+        long permit = circuitBreaker.acquirePermission();
+        return rateLimitScheduler.executeAsync(priority, () -> send(permit, request))
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        Throwable cause = unwrap(failure);
+                        if (cause instanceof RateLimitExceededException) {
+                            circuitBreaker.onIgnored(permit);
+                        }
+                        throw mapFailure(cause, uri);
+                    }
+                    return readResponse(response, uri, page);
+                });
+    }
+
+    /**
+     * Sends a search request and records its outcome and latency with the circuit breaker, metrics
+     * and a {@link GitHubSearchEvent}.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(long permit, HttpRequest request) {
+        GitHubSearchEvent event = new GitHubSearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (failure != null) {
+                        circuitBreaker.onFailure(permit, elapsed);
+                        metrics.recordTransportError(GitHubSearchMetrics.ASYNC_CLIENT, elapsed);
+                        event.complete(request.uri().toString(), GitHubSearchMetrics.ASYNC_CLIENT, 0, -1, null);
+                        return;
+                    }
+                    if (response.statusCode() >= 500) {
+                        circuitBreaker.onFailure(permit, elapsed);
+                    } else {
+                        circuitBreaker.onSuccess(permit, elapsed);
+                    }
+                    if (response.statusCode() < 400) {
+                        retryExecutor.recordLatency(elapsed);
+                    }
+                    metrics.recordRequest(GitHubSearchMetrics.ASYNC_CLIENT, response.statusCode(), elapsed);
+                    byte[] body = response.body();
+                    event.complete(request.uri().toString(), GitHubSearchMetrics.ASYNC_CLIENT, response.statusCode(),
+                            body != null ? body.length : -1,
+                            response.headers().firstValue(GitHubRateLimitScheduler.REMAINING_HEADER).orElse(null));
+                });
+    }
+
+    private GithubPopularityScoreResponse readResponse(HttpResponse<byte[]> response, URI uri, int page) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        rateLimitScheduler.updateFromHeaders(headers);
+
+        int status = response.statusCode();
+        if (status == 429 || (status == 403 && rateLimitScheduler.isRateLimitResponse(headers))) {
+            logger.warn("GitHub rate limit hit - Status: {}, URL: {}", status, uri);
+            throw new RateLimitExceededException("GitHub rate limit exceeded, please retry later", rateLimitScheduler.retryAfter());
+        }
+        if (status >= 500) {
+            logger.warn("GitHub API request failed - Status: {}, URL: {}", status, uri);
+            throw new TransientGitHubException("Failed to fetch repositories. Status: " + status, GitHubClient.retryAfter(headers), null);
+        }
+        if (status < 200 || status >= 300) {
+            logger.error("GitHub API request failed - Status: {}, URL: {}", status, uri);
+            throw new RepositoryServiceException("Failed to fetch repositories. Status: " + status);
+        }
+
+        GithubPopularityScoreResponse body;
+        long start = System.nanoTime();
+        try (InputStream content = decode(response.body(), headers)) {
+            body = responseReader.read(content);
+        } catch (IOException e) {
+            logger.error("Error reading GitHub API response: {}", e.getMessage(), e);
+            throw new RepositoryServiceException("Error fetching repositories from GitHub", e);
+        }
+        metrics.recordParse(System.nanoTime() - start, body);
+
+        if (body.getTotalNumberOfRepositories() == 0) {
+            logger.info("No repositories found for URL: {}", uri);
+            return new GithubPopularityScoreResponse(0, Collections.emptyList());
+        }
+
+        logger.info("Fetched {} repositories from GitHub for page {}", body.getRepositoriesPopularityScoreDTO().size(), page);
+        return body;
+    }
+
+    private static InputStream decode(byte[] body, HttpHeaders headers) throws IOException {
+        InputStream content = new ByteArrayInputStream(body);
+        if (body.length > 0 && GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            return new GZIPInputStream(content);
+        }
+        return content;
+    }
+
+    private static RuntimeException mapFailure(Throwable failure, URI uri) {
+        if (failure instanceof RateLimitExceededException || failure instanceof RepositoryServiceException
+                || failure instanceof GitHubUnavailableException) {
+            return (RuntimeException) failure;
+        }
+        if (failure instanceof IOException) {
+            logger.warn("Error calling GitHub API: {}, URL: {}", failure.getMessage(), uri);
+            return new TransientGitHubException("Error fetching repositories from GitHub", null, failure);
+        }
+        logger.error("Error calling GitHub API: {}, URL: {}", failure.getMessage(), uri, failure);
+        return new RepositoryServiceException("Error fetching repositories from GitHub", failure);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
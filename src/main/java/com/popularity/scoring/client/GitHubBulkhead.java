@@ -0,0 +1,57 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of GitHub searches a caller is waiting on, queued or in flight.
+ *
+ * The rate-limit scheduler bounds in-flight calls but lets further callers queue for up to its
+ * maximum wait. While GitHub is slow, every request thread would end up in that queue; past the
+ * bulkhead limit callers fail fast instead.
+ */
+@Component
+public class GitHubBulkhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubBulkhead.class);
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    public GitHubBulkhead(@Value("${github.bulkhead.max-concurrent:32}") int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Takes a slot, to be given back with {@link #release()} once the search completes.
+     *
+     * @throws GitHubUnavailableException If every slot is taken.
+     */
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            logger.warn("GitHub bulkhead full, rejecting search ({} concurrent)", maxConcurrent);
+            throw new GitHubUnavailableException("Too many concurrent GitHub searches, please retry later", RETRY_AFTER);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return The number of searches currently holding a slot.
+     */
+    public int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
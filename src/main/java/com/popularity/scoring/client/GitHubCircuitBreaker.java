@@ -0,0 +1,215 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling GitHub while most recent calls fail or are slow.
+ *
+ * Outcomes of the last {@code window-size} calls are kept in a ring. Once at least
+ * {@code minimum-calls} are recorded and either the share of failed calls reaches
+ * {@code failure-rate-threshold} or the share of calls slower than {@code slow-call-duration}
+ * reaches {@code slow-call-rate-threshold}, the circuit opens: for {@code open-duration} every
+ * call is rejected with a {@link GitHubUnavailableException} without reaching GitHub. After that,
+ * {@code half-open-calls} trial calls are let through; the circuit closes if they stay below both
+ * thresholds and opens again otherwise.
+ *
+ * Only 5xx responses, unreadable responses and I/O failures count as failures; a 4xx answer,
+ * including a rate-limit response, shows GitHub is up. Each attempt of a retried search is recorded separately.
+ */
+@Component
+public class GitHubCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubCircuitBreaker.class);
+
+    private static final Duration HALF_OPEN_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAtNanos;
+    private int halfOpenStarted;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slow;
+
+    @Autowired
+    public GitHubCircuitBreaker(@Value("${github.circuit-breaker.window-size:20}") int windowSize,
+                                @Value("${github.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                @Value("${github.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                @Value("${github.circuit-breaker.slow-call-duration:5s}") Duration slowCallDuration,
+                                @Value("${github.circuit-breaker.slow-call-rate-threshold:0.8}") double slowCallRateThreshold,
+                                @Value("${github.circuit-breaker.open-duration:30s}") Duration openDuration,
+                                @Value("${github.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold, openDuration, halfOpenCalls,
+                System::nanoTime);
+    }
+
+    GitHubCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallDuration,
+                         double slowCallRateThreshold, Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        int size = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, size));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, Math.min(halfOpenCalls, size));
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[size];
+        this.slowCalls = new boolean[size];
+    }
+
+    /**
+     * Asks to call GitHub. The returned permit is handed back with exactly one of
+     * {@link #onSuccess}, {@link #onFailure} or {@link #onIgnored}.
+     *
+     * @return The permit of the call.
+     * @throws GitHubUnavailableException If the circuit is open, or half open with every trial call taken.
+     */
+    public long acquirePermission() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                long remainingNanos = openedAtNanos + openNanos - nanoClock.getAsLong();
+                if (remainingNanos > 0) {
+                    throw new GitHubUnavailableException("GitHub is unavailable, please retry later", Duration.ofNanos(remainingNanos));
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenStarted >= halfOpenCalls) {
+                    throw new GitHubUnavailableException("GitHub is unavailable, please retry later", HALF_OPEN_RETRY_AFTER);
+                }
+                halfOpenStarted++;
+            }
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call GitHub answered.
+     *
+     * @param permit        The permit of the call.
+     * @param durationNanos How long GitHub took to answer.
+     */
+    public void onSuccess(long permit, long durationNanos) {
+        record(permit, false, durationNanos);
+    }
+
+    /**
+     * Records a call that failed with a 5xx response, an unreadable response or an I/O failure.
+     *
+     * @param permit        The permit of the call.
+     * @param durationNanos How long the call took to fail.
+     */
+    public void onFailure(long permit, long durationNanos) {
+        record(permit, true, durationNanos);
+    }
+
+    /**
+     * Gives back the permit of a call that was never sent, for example because it was shed.
+     *
+     * @param permit The permit of the call.
+     */
+    public void onIgnored(long permit) {
+        lock.lock();
+        try {
+            if (permit == generation && state == State.HALF_OPEN) {
+                halfOpenStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(long permit, boolean failed, long durationNanos) {
+        lock.lock();
+        try {
+            // Outcomes of calls admitted before the last transition say nothing about the current state.
+            if (permit != generation || state == State.OPEN) {
+                return;
+            }
+
+            if (recorded == failedCalls.length) {
+                failures -= failedCalls[next] ? 1 : 0;
+                slow -= slowCalls[next] ? 1 : 0;
+            } else {
+                recorded++;
+            }
+            failedCalls[next] = failed;
+            slowCalls[next] = durationNanos >= slowCallNanos;
+            failures += failed ? 1 : 0;
+            slow += slowCalls[next] ? 1 : 0;
+            next = (next + 1) % failedCalls.length;
+
+            if (state == State.HALF_OPEN) {
+                if (recorded >= halfOpenCalls) {
+                    transitionTo(thresholdExceeded() ? State.OPEN : State.CLOSED);
+                }
+            } else if (recorded >= minimumCalls && thresholdExceeded()) {
+                transitionTo(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean thresholdExceeded() {
+        return (double) failures / recorded >= failureRateThreshold || (double) slow / recorded >= slowCallRateThreshold;
+    }
+
+    private void transitionTo(State target) {
+        if (target == State.OPEN) {
+            logger.warn("Opening GitHub circuit breaker for {} ms - Failed: {}, Slow: {}, Calls: {}",
+                    openNanos / 1_000_000, failures, slow, recorded);
+            openedAtNanos = nanoClock.getAsLong();
+        } else {
+            logger.info("GitHub circuit breaker {}", target == State.HALF_OPEN ? "half open, sending trial calls" : "closed");
+        }
+        state = target;
+        generation++;
+        halfOpenStarted = 0;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slow = 0;
+    }
+}
@@ -1,23 +1,33 @@
 package com.popularity.scoring.client;
 
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
 import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
-import com.popularity.scoring.model.GitHubApiResponse;
+import com.popularity.scoring.exceptionhandling.SearchInterruptedException;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
-import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
-import com.popularity.scoring.model.RepositoryItems;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class GitHubClient {
@@ -26,66 +36,255 @@ public class GitHubClient {
 
     private final RestTemplate restTemplate;
 
+    private final GitHubRateLimitScheduler rateLimitScheduler;
+
+    private final GitHubRetryExecutor retryExecutor;
+
+    private final GitHubCircuitBreaker circuitBreaker;
+
+    private final GitHubBulkhead bulkhead;
+
+    private final GitHubSearchMetrics metrics;
+
     @Value("${github.api.base-url}")
     private String githubApiBaseUrl;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAX_CONDITIONAL_ENTRIES = 1000;
+
+    /**
+     * Last ETag and parsed body per URL, used to revalidate with If-None-Match.
+     */
+    private final Map<String, ConditionalEntry> conditionalEntries = new ConcurrentHashMap<>();
 
 
     @Autowired
-    public GitHubClient(RestTemplate restTemplate) {
+    public GitHubClient(RestTemplate restTemplate, GitHubRateLimitScheduler rateLimitScheduler, GitHubRetryExecutor retryExecutor,
+                        GitHubCircuitBreaker circuitBreaker, GitHubBulkhead bulkhead, GitHubSearchMetrics metrics) {
         this.restTemplate = restTemplate;
+        this.rateLimitScheduler = rateLimitScheduler;
+        this.retryExecutor = retryExecutor;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Fetches repositories from GitHub on behalf of an interactive request.
+     *
+     * @see #searchAllRepositories(String, LocalDate, int, RequestPriority)
+     */
+    public GithubPopularityScoreResponse searchAllRepositories(String language, LocalDate earliestDate, int page) {
+        return searchAllRepositories(language, earliestDate, page, RequestPriority.INTERACTIVE);
     }
 
     /**
      * Fetches repositories from GitHub based on language and creation date, ordered by popularity.
+     * Requests for a URL fetched before carry its ETag; a 304 reply reuses the stored body
+     * and does not count against the primary rate limit. 5xx responses and I/O failures are
+     * retried as configured on {@link GitHubRetryExecutor}. Searches are rejected without calling
+     * GitHub while the {@link GitHubCircuitBreaker} is open or the {@link GitHubBulkhead} is full.
      *
      * @param language      Programming language filter.
      * @param earliestDate  Earliest repository creation date.
      * @param page          Page number for pagination.
+     * @param priority      Dispatch priority with respect to the shared rate-limit budget.
      * @return Response containing repository popularity scores.
+     * @throws RateLimitExceededException If the search is shed or GitHub reports its rate limit as exceeded.
+     * @throws GitHubUnavailableException If the circuit breaker is open or the bulkhead is full.
      */
-    public GithubPopularityScoreResponse searchAllRepositories(String language, LocalDate earliestDate, int page) {
+    public GithubPopularityScoreResponse searchAllRepositories(String language, LocalDate earliestDate, int page, RequestPriority priority) {
         String formattedDate = earliestDate.format(DATE_FORMATTER);
 
         logger.info("Fetching repositories - Language: {}, Created After: {}, Page: {}", language, formattedDate, page);
 
-        String url = buildGitHubApiUrl(language, formattedDate, page);
+        String url = buildGitHubApiUrl(githubApiBaseUrl, language, ">" + formattedDate, page);
+        return search(url, page, priority);
+    }
 
+    /**
+     * Fetches repositories created within an inclusive date range, ordered by popularity.
+     * GitHub reports the full {@code total_count} of the range but serves at most 1000 of them,
+     * so callers can use the count to decide whether the range has to be split further.
+     *
+     * @param language  Programming language filter.
+     * @param from      First repository creation date, inclusive.
+     * @param to        Last repository creation date, inclusive.
+     * @param page      Page number for pagination.
+     * @param priority  Dispatch priority with respect to the shared rate-limit budget.
+     * @return Response containing the repositories of the page and the total count of the range.
+     * @throws RateLimitExceededException If the search is shed or GitHub reports its rate limit as exceeded.
+     * @throws GitHubUnavailableException If the circuit breaker is open or the bulkhead is full.
+     */
+    public GithubPopularityScoreResponse searchRepositoriesCreatedBetween(String language, LocalDate from, LocalDate to, int page, RequestPriority priority) {
+        String createdRange = from.format(DATE_FORMATTER) + ".." + to.format(DATE_FORMATTER);
+
+        logger.info("Fetching repositories - Language: {}, Created: {}, Page: {}", language, createdRange, page);
+
+        String url = buildGitHubApiUrl(githubApiBaseUrl, language, createdRange, page);
+        return search(url, page, priority);
+    }
+
+    /**
+     * Runs a search request, revalidating with the stored ETag when the URL was fetched before.
+     */
+    private GithubPopularityScoreResponse search(String url, int page, RequestPriority priority) {
+        bulkhead.acquire();
         try {
-            ResponseEntity<GitHubApiResponse> response = restTemplate.getForEntity(url, GitHubApiResponse.class);
+            ConditionalEntry previous = conditionalEntries.get(url);
+            HttpHeaders headers = new HttpHeaders();
+            if (previous != null) {
+                headers.setIfNoneMatch(previous.etag());
+            }
 
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                logger.error("GitHub API request failed - Status: {}, URL: {}", response.getStatusCode(), url);
-                throw new RepositoryServiceException("Failed to fetch repositories. Status: " + response.getStatusCode());
+            ResponseEntity<GithubPopularityScoreResponse> response = retryExecutor.execute(priority, () -> exchange(url, headers, priority));
+
+            GithubPopularityScoreResponse responseBody;
+            if (previous != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                logger.info("GitHub returned 304 Not Modified for page {}, reusing stored response", page);
+                responseBody = previous.body();
+            } else {
+                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                    logger.error("GitHub API request failed - Status: {}, URL: {}", response.getStatusCode(), url);
+                    throw new RepositoryServiceException("Failed to fetch repositories. Status: " + response.getStatusCode());
+                }
+                responseBody = response.getBody();
+                rememberEtag(url, response.getHeaders().getETag(), responseBody);
             }
 
-            GitHubApiResponse responseBody = response.getBody();
-            if (responseBody.getTotalCount() == 0) {
-                logger.info("No repositories found for Language: {} after {}", language, formattedDate);
+            if (responseBody.getTotalNumberOfRepositories() == 0) {
+                logger.info("No repositories found for URL: {}", url);
                 return new GithubPopularityScoreResponse(0, Collections.emptyList());
             }
 
-            List<RepositoriesPopularityScoreDTO> repositories = responseBody.getItems().stream()
-                    .map(this::mapToDto)
-                    .toList();
-
-            logger.info("Fetched {} repositories from GitHub for page {}", repositories.size(), page);
-            return new GithubPopularityScoreResponse(responseBody.getTotalCount(), repositories);
+            logger.info("Fetched {} repositories from GitHub for page {}", responseBody.getRepositoriesPopularityScoreDTO().size(), page);
+            return responseBody;
 
+        } catch (HttpStatusCodeException e) {
+            rateLimitScheduler.updateFromHeaders(e.getResponseHeaders());
+            int status = e.getStatusCode().value();
+            if (status == 429 || (status == 403 && rateLimitScheduler.isRateLimitResponse(e.getResponseHeaders()))) {
+                logger.warn("GitHub rate limit hit - Status: {}, URL: {}", status, url);
+                throw new RateLimitExceededException("GitHub rate limit exceeded, please retry later", rateLimitScheduler.retryAfter());
+            }
+            logger.error("Error calling GitHub API: {}", e.getMessage(), e);
+            throw new RepositoryServiceException("Error fetching repositories from GitHub", e);
         } catch (RestClientException e) {
             logger.error("Error calling GitHub API: {}", e.getMessage(), e);
             throw new RepositoryServiceException("Error fetching repositories from GitHub", e);
+        } finally {
+            bulkhead.release();
         }
     }
 
+    /**
+     * Sends one search request through the circuit breaker and rate-limit scheduler. Failures worth
+     * retrying are reported as {@link TransientGitHubException}.
+     */
+    private ResponseEntity<GithubPopularityScoreResponse> exchange(String url, HttpHeaders headers, RequestPriority priority) {
+        long permit = circuitBreaker.acquirePermission();
+        try {
+            ResponseEntity<GithubPopularityScoreResponse> response = rateLimitScheduler.execute(priority, () -> send(permit, url, headers));
+            rateLimitScheduler.updateFromHeaders(response.getHeaders());
+            return response;
+        } catch (RateLimitExceededException | SearchInterruptedException e) {
+            circuitBreaker.onIgnored(permit);
+            throw e;
+        } catch (HttpServerErrorException e) {
+            rateLimitScheduler.updateFromHeaders(e.getResponseHeaders());
+            throw new TransientGitHubException("Error fetching repositories from GitHub", retryAfter(e.getResponseHeaders()), e);
+        } catch (ResourceAccessException e) {
+            throw new TransientGitHubException("Error fetching repositories from GitHub", null, e);
+        }
+    }
+
+    /**
+     * Sends a search request and records its outcome and latency with the circuit breaker, metrics
+     * and a {@link GitHubSearchEvent}. A call only counts as a success once its body has been read.
+     */
+    private ResponseEntity<GithubPopularityScoreResponse> send(long permit, String url, HttpHeaders headers) {
+        GitHubSearchEvent event = new GitHubSearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<GithubPopularityScoreResponse> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                    GithubPopularityScoreResponse.class);
+            long elapsed = System.nanoTime() - start;
+            circuitBreaker.onSuccess(permit, elapsed);
+            retryExecutor.recordLatency(elapsed);
+            metrics.recordRequest(GitHubSearchMetrics.BLOCKING_CLIENT, response.getStatusCode().value(), elapsed);
+            event.complete(url, GitHubSearchMetrics.BLOCKING_CLIENT, response.getStatusCode().value(),
+                    response.getHeaders().getContentLength(), response.getHeaders().getFirst(GitHubRateLimitScheduler.REMAINING_HEADER));
+            return response;
+        } catch (HttpStatusCodeException e) {
+            long elapsed = System.nanoTime() - start;
+            if (e instanceof HttpServerErrorException) {
+                circuitBreaker.onFailure(permit, elapsed);
+            } else {
+                circuitBreaker.onSuccess(permit, elapsed);
+            }
+            metrics.recordRequest(GitHubSearchMetrics.BLOCKING_CLIENT, e.getStatusCode().value(), elapsed);
+            HttpHeaders responseHeaders = e.getResponseHeaders();
+            event.complete(url, GitHubSearchMetrics.BLOCKING_CLIENT, e.getStatusCode().value(), e.getResponseBodyAsByteArray().length,
+                    responseHeaders != null ? responseHeaders.getFirst(GitHubRateLimitScheduler.REMAINING_HEADER) : null);
+            throw e;
+        } catch (ResourceAccessException e) {
+            long elapsed = System.nanoTime() - start;
+            circuitBreaker.onFailure(permit, elapsed);
+            metrics.recordTransportError(GitHubSearchMetrics.BLOCKING_CLIENT, elapsed);
+            event.complete(url, GitHubSearchMetrics.BLOCKING_CLIENT, 0, -1, null);
+            throw e;
+        } catch (RestClientException e) {
+            // GitHub answered, but the response could not be read.
+            circuitBreaker.onFailure(permit, System.nanoTime() - start);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onIgnored(permit);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the delay asked for in a {@code Retry-After} header given in seconds, or {@code null}.
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (retryAfter == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the ETag and parsed body of a successful response, keeping the store bounded.
+     */
+    private void rememberEtag(String url, String etag, GithubPopularityScoreResponse body) {
+        if (etag == null) {
+            conditionalEntries.remove(url);
+            return;
+        }
+
+        if (conditionalEntries.size() >= MAX_CONDITIONAL_ENTRIES && !conditionalEntries.containsKey(url)) {
+            Iterator<String> urls = conditionalEntries.keySet().iterator();
+            if (urls.hasNext()) {
+                urls.next();
+                urls.remove();
+            }
+        }
+        conditionalEntries.put(url, new ConditionalEntry(etag, body));
+    }
+
     /**
      * Constructs the GitHub API URL dynamically.
      */
-    private String buildGitHubApiUrl(String language, String formattedDate, int page) {
-        StringBuilder url = new StringBuilder(githubApiBaseUrl)
-                .append("/search/repositories?q=created:>")
-                .append(formattedDate)
+    static String buildGitHubApiUrl(String baseUrl, String language, String createdQualifier, int page) {
+        StringBuilder url = new StringBuilder(baseUrl)
+                .append("/search/repositories?q=created:")
+                .append(createdQualifier)
                 .append("+language:")
                 .append(language)
                 .append("&sort=stars&order=desc&per_page=100&page=")
@@ -94,17 +293,6 @@ public class GitHubClient {
         return url.toString();
     }
 
-    /**
-     * Maps GitHub API response items to DTOs.
-     */
-    private RepositoriesPopularityScoreDTO mapToDto(RepositoryItems repository) {
-        return new RepositoriesPopularityScoreDTO.Builder()
-                .fullName(repository.getFullName())
-                .stars(repository.getStars())
-                .forks(repository.getForks())
-                .lastUpdated(repository.getLastUpdated())
-                .createdDate(repository.getCreatedDate())
-                .repositoryURL(repository.getRepoURL())
-                .build();
+    private record ConditionalEntry(String etag, GithubPopularityScoreResponse body) {
     }
-}
\ No newline at end of file
+}
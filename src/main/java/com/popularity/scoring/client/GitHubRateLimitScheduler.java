@@ -0,0 +1,466 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.RateLimitBudgetReservedException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.SearchInterruptedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Central dispatcher for outbound GitHub searches.
+ *
+ * Tracks the remaining quota reported in the {@code X-RateLimit-*} and {@code Retry-After} response
+ * headers and dispatches searches in priority order, interactive before background. When the budget
+ * runs low, background searches are shed and interactive searches are deferred until the window
+ * resets, or shed if that would take longer than the configured maximum wait. The reserve kept for
+ * interactive searches is a fraction of the window's quota as reported in {@code X-RateLimit-Limit},
+ * so it scales from the unauthenticated to the authenticated search limit.
+ *
+ * Calls can wait for admission either blocking, through {@link #execute(RequestPriority, Supplier)},
+ * or without holding a thread, through {@link #executeAsync(RequestPriority, Supplier)}. Both share
+ * one queue and one concurrency limit.
+ */
+@Component
+public class GitHubRateLimitScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubRateLimitScheduler.class);
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final long UNKNOWN = -1;
+    private static final long SHED = Long.MAX_VALUE;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>();
+
+    private final int maxConcurrent;
+    private final double reserveRatio;
+    private final long maxWaitNanos;
+    private final LongSupplier clock;
+
+    // Guarded by lock
+    private long sequence;
+    private int inFlight;
+    private long limit = UNKNOWN;
+    private long remaining = UNKNOWN;
+    private long resetAtMillis;
+    private long blockedUntilMillis;
+    private boolean recheckScheduled;
+    private long recheckAtNanos;
+
+    private final LongAdder shedCount = new LongAdder();
+    private final LongAdder dispatchCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxObservedWaitNanos = new AtomicLong();
+
+    @Autowired
+    public GitHubRateLimitScheduler(@Value("${github.rate-limit.max-concurrent:4}") int maxConcurrent,
+                                    @Value("${github.rate-limit.reserve-ratio:0.1}") double reserveRatio,
+                                    @Value("${github.rate-limit.max-wait:5s}") Duration maxWait) {
+        this(maxConcurrent, reserveRatio, maxWait, System::currentTimeMillis);
+    }
+
+    GitHubRateLimitScheduler(int maxConcurrent, double reserveRatio, Duration maxWait, LongSupplier clock) {
+        this.maxConcurrent = maxConcurrent;
+        this.reserveRatio = reserveRatio;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Runs an outbound call once the scheduler admits it.
+     *
+     * @param priority The priority of the call.
+     * @param call     The outbound call.
+     * @return The result of the call.
+     * @throws RateLimitExceededException If the call is shed instead of being dispatched; a
+     *         {@link RateLimitBudgetReservedException} if it is a background call held back until the budget returns.
+     * @throws SearchInterruptedException If the thread is interrupted while waiting; its interrupt flag stays set.
+     */
+    public <T> T execute(RequestPriority priority, Supplier<T> call) {
+        acquire(priority);
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Starts an asynchronous outbound call once the scheduler admits it. Waiting for admission does not
+     * block the calling thread; the call counts as in flight until the future it returns completes.
+     *
+     * @param priority The priority of the call.
+     * @param call     Starts the outbound call.
+     * @return The result of the call, or a future failed with {@link RateLimitExceededException} if the
+     *         call is shed instead of being dispatched.
+     */
+    public <T> CompletableFuture<T> executeAsync(RequestPriority priority, Supplier<CompletableFuture<T>> call) {
+        return acquireAsync(priority).thenCompose(admitted -> {
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                release();
+                return CompletableFuture.failedFuture(e);
+            }
+            return result.whenComplete((value, failure) -> release());
+        });
+    }
+
+    /**
+     * Updates the known quota from GitHub response headers.
+     *
+     * @param headers The response headers; may be {@code null}.
+     */
+    public void updateFromHeaders(HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+
+        long reportedLimit = parseLong(headers.getFirst(LIMIT_HEADER));
+        long reportedRemaining = parseLong(headers.getFirst(REMAINING_HEADER));
+        long reportedReset = parseLong(headers.getFirst(RESET_HEADER));
+        long retryAfterSeconds = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+
+        List<Runnable> completions;
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            if (reportedLimit != UNKNOWN) {
+                limit = reportedLimit;
+            }
+            if (reportedRemaining != UNKNOWN) {
+                long reportedResetMillis = reportedReset == UNKNOWN ? resetAtMillis : TimeUnit.SECONDS.toMillis(reportedReset);
+                // Responses can arrive out of order; within one window the quota only goes down.
+                if (remaining == UNKNOWN || reportedResetMillis != resetAtMillis) {
+                    remaining = reportedRemaining;
+                } else {
+                    remaining = Math.min(remaining, reportedRemaining);
+                }
+                resetAtMillis = reportedResetMillis;
+            }
+            if (retryAfterSeconds != UNKNOWN) {
+                blockedUntilMillis = Math.max(blockedUntilMillis, now + TimeUnit.SECONDS.toMillis(retryAfterSeconds));
+                logger.warn("GitHub asked to retry after {}s", retryAfterSeconds);
+            }
+            completions = admitWaiting();
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Returns true if the headers of a 403 response indicate a primary or secondary rate limit.
+     */
+    public boolean isRateLimitResponse(HttpHeaders headers) {
+        return headers != null
+                && (headers.containsKey(HttpHeaders.RETRY_AFTER) || "0".equals(headers.getFirst(REMAINING_HEADER)));
+    }
+
+    /**
+     * Returns how long callers should wait before the budget is expected to be available again.
+     */
+    public Duration retryAfter() {
+        lock.lock();
+        try {
+            return retryAfter(clock.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public RateLimitStats stats() {
+        lock.lock();
+        try {
+            long dispatched = dispatchCount.sum();
+            double averageWaitMillis = dispatched == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / dispatched;
+            return new RateLimitStats(remaining, queue.size(), inFlight, shedCount.sum(),
+                    averageWaitMillis, maxObservedWaitNanos.get() / 1_000_000.0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(RequestPriority priority) {
+        long start = System.nanoTime();
+        long deadline = start + maxWaitNanos;
+
+        List<Runnable> completions = List.of();
+        lock.lock();
+        try {
+            Ticket ticket = new Ticket(priority, sequence++, null, deadline, start);
+            queue.add(ticket);
+            try {
+                while (true) {
+                    long now = clock.getAsLong();
+                    resetWindowIfElapsed(now);
+
+                    long budgetWaitMillis = budgetWaitMillis(priority, now);
+                    if (budgetWaitMillis == SHED) {
+                        throw shedReserved(priority, now);
+                    }
+                    if (budgetWaitMillis == 0 && inFlight < maxConcurrent && queue.peek() == ticket) {
+                        inFlight++;
+                        if (remaining > 0) {
+                            remaining--;
+                        }
+                        break;
+                    }
+
+                    long waitNanos = deadline - System.nanoTime();
+                    long budgetWaitNanos = TimeUnit.MILLISECONDS.toNanos(budgetWaitMillis);
+                    if (waitNanos <= 0 || budgetWaitNanos > waitNanos) {
+                        throw shed(priority, "rate-limit budget exhausted", now);
+                    }
+                    stateChanged.awaitNanos(budgetWaitNanos > 0 ? budgetWaitNanos : waitNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SearchInterruptedException("Interrupted while waiting for GitHub rate-limit budget", e);
+            } finally {
+                queue.remove(ticket);
+                completions = admitWaiting();
+                stateChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+            completions.forEach(Runnable::run);
+        }
+
+        recordDispatch(System.nanoTime() - start);
+    }
+
+    private CompletableFuture<Void> acquireAsync(RequestPriority priority) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> admission = new CompletableFuture<>();
+
+        List<Runnable> completions;
+        lock.lock();
+        try {
+            queue.add(new Ticket(priority, sequence++, admission, start + maxWaitNanos, start));
+            completions = admitWaiting();
+        } finally {
+            lock.unlock();
+        }
+        completions.forEach(Runnable::run);
+        return admission;
+    }
+
+    /**
+     * Admits or sheds the asynchronous tickets at the head of the queue, and sheds those anywhere in
+     * the queue whose maximum wait has passed. Blocking tickets admit themselves. Must be called with
+     * the lock held whenever the head of the queue, the concurrency or the budget may have changed.
+     *
+     * @return Completions of the affected tickets, to be run once the lock is released so that no
+     *         dependent stage runs while it is held.
+     */
+    private List<Runnable> admitWaiting() {
+        List<Runnable> completions = new ArrayList<>();
+        long nowNanos = System.nanoTime();
+        long now = clock.getAsLong();
+        resetWindowIfElapsed(now);
+
+        queue.removeIf(ticket -> {
+            if (ticket.admission() == null || ticket.deadlineNanos() - nowNanos > 0) {
+                return false;
+            }
+            completions.add(fail(ticket, shed(ticket.priority(), "rate-limit budget exhausted", now)));
+            return true;
+        });
+
+        Ticket head;
+        while ((head = queue.peek()) != null && head.admission() != null) {
+            Ticket ticket = head;
+            long budgetWaitMillis = budgetWaitMillis(ticket.priority(), now);
+            if (budgetWaitMillis == SHED) {
+                queue.poll();
+                completions.add(fail(ticket, shedReserved(ticket.priority(), now)));
+                continue;
+            }
+            if (budgetWaitMillis == 0 && inFlight < maxConcurrent) {
+                queue.poll();
+                inFlight++;
+                if (remaining > 0) {
+                    remaining--;
+                }
+                completions.add(() -> {
+                    recordDispatch(System.nanoTime() - ticket.enqueuedNanos());
+                    ticket.admission().complete(null);
+                });
+                continue;
+            }
+
+            long waitNanos = ticket.deadlineNanos() - nowNanos;
+            long budgetWaitNanos = TimeUnit.MILLISECONDS.toNanos(budgetWaitMillis);
+            if (budgetWaitNanos > waitNanos) {
+                queue.poll();
+                completions.add(fail(ticket, shed(ticket.priority(), "rate-limit budget exhausted", now)));
+                continue;
+            }
+            // Waiting for the budget needs a timer; waiting for a free slot also ends on release().
+            scheduleRecheck(nowNanos, budgetWaitNanos > 0 ? budgetWaitNanos : waitNanos);
+            break;
+        }
+
+        if (!completions.isEmpty()) {
+            stateChanged.signalAll();
+        }
+        return completions;
+    }
+
+    private void scheduleRecheck(long nowNanos, long delayNanos) {
+        long at = nowNanos + delayNanos;
+        if (recheckScheduled && recheckAtNanos - at <= 0) {
+            return;
+        }
+        recheckScheduled = true;
+        recheckAtNanos = at;
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(this::recheck);
+    }
+
+    private void recheck() {
+        List<Runnable> completions;
+        lock.lock();
+        try {
+            recheckScheduled = false;
+            completions = admitWaiting();
+        } finally {
+            lock.unlock();
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    private void release() {
+        List<Runnable> completions;
+        lock.lock();
+        try {
+            inFlight--;
+            completions = admitWaiting();
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    private void recordDispatch(long waitedNanos) {
+        dispatchCount.increment();
+        totalWaitNanos.add(waitedNanos);
+        maxObservedWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+    }
+
+    private static Runnable fail(Ticket ticket, RateLimitExceededException exception) {
+        return () -> ticket.admission().completeExceptionally(exception);
+    }
+
+    /**
+     * Returns 0 if the budget allows dispatching now, the milliseconds until it is expected to,
+     * or {@link #SHED} if the request should not be sent at all.
+     */
+    private long budgetWaitMillis(RequestPriority priority, long now) {
+        if (blockedUntilMillis > now) {
+            return priority == RequestPriority.BACKGROUND ? SHED : blockedUntilMillis - now;
+        }
+        if (remaining == UNKNOWN) {
+            return 0;
+        }
+        if (isReserved(priority)) {
+            return SHED;
+        }
+        if (remaining > 0) {
+            return 0;
+        }
+        return Math.max(resetAtMillis - now, 1);
+    }
+
+    private void resetWindowIfElapsed(long now) {
+        if (remaining != UNKNOWN && resetAtMillis > 0 && now >= resetAtMillis) {
+            remaining = UNKNOWN;
+            resetAtMillis = 0;
+        }
+    }
+
+    /**
+     * Returns true if the remaining quota is held back for interactive searches. Until GitHub has
+     * reported the window's limit there is no reserve.
+     */
+    private boolean isReserved(RequestPriority priority) {
+        return priority == RequestPriority.BACKGROUND && remaining != UNKNOWN && limit != UNKNOWN
+                && remaining <= (long) (limit * reserveRatio);
+    }
+
+    private Duration retryAfter(long now) {
+        return retryAfter(RequestPriority.INTERACTIVE, now);
+    }
+
+    /**
+     * Returns how long a call of the given priority has to wait: until GitHub's Retry-After has
+     * passed and, if the quota is exhausted or held in reserve for this priority, until the window
+     * resets.
+     */
+    private Duration retryAfter(RequestPriority priority, long now) {
+        boolean waitForReset = remaining == 0 || isReserved(priority);
+        long until = Math.max(blockedUntilMillis, waitForReset ? resetAtMillis : 0);
+        return Duration.ofMillis(Math.max(until - now, 1000));
+    }
+
+    private RateLimitExceededException shed(RequestPriority priority, String reason, long now) {
+        shedCount.increment();
+        logger.warn("Shedding {} GitHub search: {} (remaining: {})", priority, reason, remaining);
+        return new RateLimitExceededException("GitHub rate limit budget exhausted, please retry later", retryAfter(priority, now));
+    }
+
+    private RateLimitExceededException shedReserved(RequestPriority priority, long now) {
+        shedCount.increment();
+        logger.warn("Shedding {} GitHub search: rate-limit budget reserved for interactive requests (remaining: {})",
+                priority, remaining);
+        return new RateLimitBudgetReservedException("GitHub rate limit budget reserved, please retry later", retryAfter(priority, now));
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * A call waiting for admission. Asynchronous calls carry the future that admits them; blocking
+     * calls have none and wait on {@link #stateChanged}.
+     */
+    private record Ticket(RequestPriority priority, long sequence, CompletableFuture<Void> admission,
+                          long deadlineNanos, long enqueuedNanos) implements Comparable<Ticket> {
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Retries transient GitHub failures and hedges slow interactive searches.
+ *
+ * An attempt failing with a {@link TransientGitHubException} is retried after a decorrelated-jitter
+ * backoff: each delay is drawn uniformly between the base delay and three times the previous delay,
+ * capped at the maximum delay, and never shorter than a {@code Retry-After} sent by GitHub. A
+ * {@code Retry-After} beyond the maximum delay is not waited for.
+ *
+ * With hedging enabled, an interactive search that has not answered after the p95 latency of recent
+ * searches is sent a second time, and the first successful response wins. The losing attempt is left
+ * to complete and its response is discarded. Latencies are reported by the clients through
+ * {@link #recordLatency(long)} and measured from dispatch to response, so time spent queued in the
+ * rate-limit scheduler does not inflate the hedge delay.
+ *
+ * Retries and hedges draw from one {@link RetryBudget}, so they add at most a fixed fraction of extra
+ * load while GitHub is failing. Every attempt goes through the rate-limit scheduler as usual.
+ */
+@Component
+public class GitHubRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubRetryExecutor.class);
+
+    private static final int LATENCY_SAMPLES = 512;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean hedgingEnabled;
+    private final long minHedgeDelayNanos;
+    private final Executor hedgeExecutor;
+    private final RetryBudget budget;
+    private final LatencyTracker latencies = new LatencyTracker(LATENCY_SAMPLES, MIN_LATENCY_SAMPLES, HEDGE_PERCENTILE);
+
+    @Autowired
+    public GitHubRetryExecutor(@Value("${github.retry.max-attempts:3}") int maxAttempts,
+                               @Value("${github.retry.base-delay:100ms}") Duration baseDelay,
+                               @Value("${github.retry.max-delay:2s}") Duration maxDelay,
+                               @Value("${github.retry.budget-ratio:0.1}") double budgetRatio,
+                               @Value("${github.retry.budget-min-per-second:1}") double budgetMinPerSecond,
+                               @Value("${github.hedge.enabled:false}") boolean hedgingEnabled,
+                               @Value("${github.hedge.min-delay:50ms}") Duration minHedgeDelay,
+                               @Qualifier("hedgeExecutor") Executor hedgeExecutor) {
+        this(maxAttempts, baseDelay, maxDelay, hedgingEnabled, minHedgeDelay, hedgeExecutor,
+                new RetryBudget(budgetRatio, budgetMinPerSecond, System::nanoTime));
+    }
+
+    GitHubRetryExecutor(int maxAttempts, Duration baseDelay, Duration maxDelay, boolean hedgingEnabled, Duration minHedgeDelay,
+                        Executor hedgeExecutor, RetryBudget budget) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.hedgeExecutor = hedgeExecutor;
+        this.budget = budget;
+    }
+
+    /**
+     * Runs a search, retrying and hedging it as configured. Attempts run on the calling thread unless
+     * the search is hedged, in which case they run on the hedge executor while the caller waits.
+     *
+     * @param priority The priority of the search; only interactive searches are hedged.
+     * @param attempt  Sends the search once.
+     * @return The result of the first successful attempt.
+     * @throws RepositoryServiceException If the search still fails transiently when retries or the budget run out.
+     */
+    public <T> T execute(RequestPriority priority, Supplier<T> attempt) {
+        if (hedges(priority)) {
+            try {
+                return executeAsync(priority, () -> CompletableFuture.supplyAsync(attempt, hedgeExecutor)).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        budget.deposit();
+        long delayMillis = baseDelayMillis;
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (TransientGitHubException e) {
+                delayMillis = nextDelayMillis(delayMillis, e, attemptNumber);
+                if (delayMillis < 0) {
+                    throw new RepositoryServiceException(e.getMessage(), e.getCause());
+                }
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new RepositoryServiceException(e.getMessage(), e.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs an asynchronous search, retrying and hedging it as configured, without blocking.
+     *
+     * @param priority The priority of the search; only interactive searches are hedged.
+     * @param attempt  Starts the search once.
+     * @return A future of the result of the first successful attempt. It fails with
+     *         {@link RepositoryServiceException} if the search still fails transiently when retries or
+     *         the budget run out, and with the failure of the attempt for any other failure.
+     */
+    public <T> CompletableFuture<T> executeAsync(RequestPriority priority, Supplier<CompletableFuture<T>> attempt) {
+        budget.deposit();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(priority, attempt, 1, baseDelayMillis, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(RequestPriority priority, Supplier<CompletableFuture<T>> attempt, int attemptNumber,
+                                  long previousDelayMillis, CompletableFuture<T> result) {
+        hedged(priority, attempt).whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(failure);
+            if (!(cause instanceof TransientGitHubException transientFailure)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            long delayMillis = nextDelayMillis(previousDelayMillis, transientFailure, attemptNumber);
+            if (delayMillis < 0) {
+                result.completeExceptionally(new RepositoryServiceException(cause.getMessage(), cause.getCause()));
+                return;
+            }
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> attemptAsync(priority, attempt, attemptNumber + 1, delayMillis, result));
+        });
+    }
+
+    /**
+     * Starts an attempt and, if it is still pending after the hedge delay, a second one.
+     * Completes with the first success, or with the last failure once every started attempt has failed.
+     */
+    private <T> CompletableFuture<T> hedged(RequestPriority priority, Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> primary = start(attempt);
+        long hedgeDelayNanos = hedges(priority) ? hedgeDelayNanos() : -1;
+        if (hedgeDelayNanos < 0 || primary.isDone()) {
+            return primary;
+        }
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<T, Throwable> settle = (value, failure) -> {
+            if (failure == null) {
+                winner.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                winner.completeExceptionally(failure);
+            }
+        };
+        primary.whenComplete(settle);
+
+        CompletableFuture.delayedExecutor(hedgeDelayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (winner.isDone() || !budget.tryWithdraw()) {
+                return;
+            }
+            // The primary may have failed in the meantime; a hedge is only sent next to a pending attempt.
+            if (pending.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                return;
+            }
+            logger.debug("Hedging GitHub search after {} ms", TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos));
+            start(attempt).whenComplete(settle);
+        });
+        return winner;
+    }
+
+    /**
+     * Returns the delay before the next attempt, or -1 if the failed attempt must not be retried.
+     */
+    private long nextDelayMillis(long previousDelayMillis, TransientGitHubException failure, int attemptNumber) {
+        long retryAfterMillis = failure.retryAfter() != null ? failure.retryAfter().toMillis() : 0;
+        if (attemptNumber >= maxAttempts || retryAfterMillis > maxDelayMillis) {
+            logger.warn("Giving up on GitHub search after {} attempt(s): {}", attemptNumber, failure.getMessage());
+            return -1;
+        }
+        if (!budget.tryWithdraw()) {
+            logger.warn("Not retrying GitHub search, retry budget exhausted: {}", failure.getMessage());
+            return -1;
+        }
+
+        long upper = Math.max(baseDelayMillis, previousDelayMillis * 3);
+        long jittered = Math.min(maxDelayMillis, ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1));
+        long delayMillis = Math.max(jittered, retryAfterMillis);
+        logger.warn("Transient GitHub failure: {}, retrying in {} ms (attempt {} of {})", failure.getMessage(), delayMillis,
+                attemptNumber + 1, maxAttempts);
+        return delayMillis;
+    }
+
+    private long hedgeDelayNanos() {
+        long p95 = latencies.percentileNanos();
+        return p95 < 0 ? -1 : Math.max(p95, minHedgeDelayNanos);
+    }
+
+    private boolean hedges(RequestPriority priority) {
+        return hedgingEnabled && priority == RequestPriority.INTERACTIVE;
+    }
+
+    /**
+     * Records the latency of a successful search, from sending the request to receiving the response.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    void recordLatency(long nanos) {
+        latencies.record(nanos);
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> attempt) {
+        try {
+            return attempt.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
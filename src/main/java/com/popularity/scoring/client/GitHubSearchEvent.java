@@ -0,0 +1,70 @@
+package com.popularity.scoring.client;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one request sent to GitHub, spanning the round trip. Retries and hedges
+ * are recorded as separate events.
+ */
+@Name("com.popularity.scoring.GitHubSearch")
+@Label("GitHub Search")
+@Category({"Popularity Scoring", "GitHub"})
+@Description("A search request sent to the GitHub API")
+@StackTrace(false)
+final class GitHubSearchEvent extends jdk.jfr.Event {
+
+    @Label("URL")
+    String url;
+
+    @Label("Client")
+    @Description("The client that sent the request, blocking or async")
+    String client;
+
+    @Label("Status")
+    @Description("HTTP status of the response, or 0 if none arrived")
+    int status;
+
+    @Label("Response Size")
+    @Description("Size of the response body as received, or -1 if unknown")
+    @DataAmount
+    long bytes;
+
+    @Label("Rate Limit Remaining")
+    @Description("Requests left in the rate-limit window as reported by GitHub, or -1 if not reported")
+    long rateLimitRemaining;
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold. The fields are only
+     * filled in then, so the event costs next to nothing while no recording is running.
+     *
+     * @param rateLimitRemaining The raw {@code X-RateLimit-Remaining} header, or {@code null}.
+     */
+    void complete(String url, String client, int status, long bytes, String rateLimitRemaining) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.url = url;
+        this.client = client;
+        this.status = status;
+        this.bytes = bytes;
+        this.rateLimitRemaining = parseRemaining(rateLimitRemaining);
+        commit();
+    }
+
+    private static long parseRemaining(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
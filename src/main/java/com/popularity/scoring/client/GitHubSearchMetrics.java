@@ -0,0 +1,94 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the fetch and parse stages of GitHub searches.
+ *
+ * <ul>
+ *     <li>{@code github.search.requests} times every request sent to GitHub, tagged with the client
+ *     that sent it and the HTTP status it got back, or {@code IO_ERROR} if none arrived. Its counts
+ *     per status double as the upstream status-code counters. The blocking client streams the body
+ *     while parsing, so its timings include the parse.</li>
+ *     <li>{@code github.search.parse} times reading a search response into DTOs.</li>
+ *     <li>{@code github.search.page.items} is the distribution of repositories per parsed page.</li>
+ * </ul>
+ *
+ * Timers and the summary publish percentile histograms, so percentiles can be aggregated across
+ * instances on the Prometheus side.
+ */
+@Component
+public class GitHubSearchMetrics {
+
+    static final String BLOCKING_CLIENT = "blocking";
+    static final String ASYNC_CLIENT = "async";
+
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry registry;
+
+    private final Timer parseTimer;
+
+    private final DistributionSummary itemsPerPage;
+
+    public GitHubSearchMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.parseTimer = Timer.builder("github.search.parse")
+                .description("Time spent reading GitHub search responses into DTOs")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.itemsPerPage = DistributionSummary.builder("github.search.page.items")
+                .description("Repositories per parsed GitHub search page")
+                .baseUnit("repositories")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(100.0)
+                .register(registry);
+    }
+
+    /**
+     * Records a request that got a response.
+     *
+     * @param client The client that sent the request.
+     * @param status The HTTP status of the response.
+     * @param nanos  The round-trip time.
+     */
+    public void recordRequest(String client, int status, long nanos) {
+        requestTimer(client, Integer.toString(status)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a request that failed without a response, such as on a timeout or connection reset.
+     */
+    public void recordTransportError(String client, long nanos) {
+        requestTimer(client, IO_ERROR).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records reading a search response.
+     *
+     * @param nanos    The time spent parsing.
+     * @param response The parsed response.
+     */
+    public void recordParse(long nanos, GithubPopularityScoreResponse response) {
+        parseTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (response.getRepositoriesPopularityScoreDTO() != null) {
+            itemsPerPage.record(response.getRepositoriesPopularityScoreDTO().size());
+        }
+    }
+
+    private Timer requestTimer(String client, String status) {
+        // The registry returns the existing timer for a known client and status.
+        return Timer.builder("github.search.requests")
+                .description("Round trips of GitHub search requests")
+                .tag("client", client)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
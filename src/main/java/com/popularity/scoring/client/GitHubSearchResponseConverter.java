@@ -0,0 +1,64 @@
+package com.popularity.scoring.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * Lets {@code RestTemplate} read GitHub search responses with {@link GitHubSearchResponseReader}
+ * when a {@link GithubPopularityScoreResponse} is requested, recording the parse with
+ * {@link GitHubSearchMetrics}. Read-only; our own responses are still written by the regular
+ * Jackson converter.
+ */
+public class GitHubSearchResponseConverter extends AbstractHttpMessageConverter<GithubPopularityScoreResponse> {
+
+    private final GitHubSearchResponseReader reader;
+
+    private final GitHubSearchMetrics metrics;
+
+    public GitHubSearchResponseConverter(GitHubSearchMetrics metrics) {
+        this(new GitHubSearchResponseReader(new JsonFactory()), metrics);
+    }
+
+    public GitHubSearchResponseConverter(GitHubSearchResponseReader reader, GitHubSearchMetrics metrics) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.reader = reader;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GithubPopularityScoreResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GithubPopularityScoreResponse readInternal(Class<? extends GithubPopularityScoreResponse> clazz,
+                                                         HttpInputMessage inputMessage) throws IOException {
+        long start = System.nanoTime();
+        try {
+            GithubPopularityScoreResponse response = reader.read(inputMessage.getBody());
+            metrics.recordParse(System.nanoTime() - start, response);
+            return response;
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Malformed GitHub search response: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(GithubPopularityScoreResponse response, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("GitHub search responses are read-only");
+    }
+}
@@ -0,0 +1,181 @@
+package com.popularity.scoring.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a GitHub search response straight into repository DTOs with a streaming parser.
+ *
+ * A search page carries around eighty fields per repository, including nested owner and license
+ * objects, of which scoring needs five. Instead of binding the whole payload to an intermediate
+ * object graph, only {@code total_count} and the fields in {@link #readRepository(JsonParser)} are
+ * read; everything else is skipped token by token. Timestamps are converted from the parser's
+ * character buffer to epoch seconds without materializing a string, and stored as such.
+ */
+public final class GitHubSearchResponseReader {
+
+    private static final int INITIAL_PAGE_CAPACITY = 100;
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final JsonFactory jsonFactory;
+
+    public GitHubSearchResponseReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Reads a search response.
+     *
+     * @param body The JSON body of the response; not closed.
+     * @return The total count and the repositories of the page, in response order.
+     * @throws IOException If the body cannot be read or is not a valid search response.
+     */
+    public GithubPopularityScoreResponse read(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Reads a search response held in memory.
+     *
+     * @see #read(InputStream)
+     */
+    public GithubPopularityScoreResponse read(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return read(parser);
+        }
+    }
+
+    private GithubPopularityScoreResponse read(JsonParser parser) throws IOException {
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+        int totalCount = 0;
+        List<RepositoriesPopularityScoreDTO> repositories = Collections.emptyList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "total_count" -> totalCount = parser.getValueAsInt();
+                case "items" -> repositories = readRepositories(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        return new GithubPopularityScoreResponse(totalCount, repositories);
+    }
+
+    private List<RepositoriesPopularityScoreDTO> readRepositories(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return Collections.emptyList();
+        }
+        expect(parser, value, JsonToken.START_ARRAY);
+
+        List<RepositoriesPopularityScoreDTO> repositories = new ArrayList<>(INITIAL_PAGE_CAPACITY);
+        JsonToken item;
+        while ((item = parser.nextToken()) != JsonToken.END_ARRAY) {
+            // Null entries are kept so that scoring reports them like it did for bound responses.
+            repositories.add(item == JsonToken.VALUE_NULL ? null : readRepository(parser));
+        }
+        return repositories;
+    }
+
+    private RepositoriesPopularityScoreDTO readRepository(JsonParser parser) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+
+        RepositoriesPopularityScoreDTO.Builder repository = new RepositoriesPopularityScoreDTO.Builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "full_name" -> repository.fullName(parser.getValueAsString());
+                case "stargazers_count" -> repository.stars(parser.getValueAsInt());
+                case "forks_count" -> repository.forks(parser.getValueAsInt());
+                case "updated_at" -> repository.lastUpdatedEpochSecond(readTimestamp(parser));
+                case "created_at" -> repository.createdEpochSecond(readTimestamp(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return repository.build();
+    }
+
+    private static long readTimestamp(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return RepositoriesPopularityScoreDTO.NO_TIMESTAMP;
+        }
+        long epochSecond = toEpochSecond(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (epochSecond == Long.MIN_VALUE) {
+            try {
+                epochSecond = OffsetDateTime.parse(parser.getText()).toEpochSecond();
+            } catch (DateTimeParseException e) {
+                throw new JsonParseException(parser, "Invalid timestamp: " + parser.getText(), e);
+            }
+        }
+        return epochSecond;
+    }
+
+    /**
+     * Converts a UTC timestamp of the form {@code yyyy-MM-ddTHH:mm:ssZ}, the only form GitHub sends.
+     *
+     * @return The epoch second, or {@link Long#MIN_VALUE} if the text has another form.
+     */
+    static long toEpochSecond(char[] text, int offset, int length) {
+        if (length != 20 || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+                || text[offset + 13] != ':' || text[offset + 16] != ':' || text[offset + 19] != 'Z') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+        return daysSinceEpoch(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+    }
+
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Days from 1970-01-01 to a proleptic Gregorian date, computed in closed form.
+     */
+    private static long daysSinceEpoch(int year, int month, int day) {
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = shiftedYear / 400;
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " in GitHub search response but found " + actual);
+        }
+    }
+}
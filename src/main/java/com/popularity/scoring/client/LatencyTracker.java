@@ -0,0 +1,70 @@
+package com.popularity.scoring.client;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the latencies of the most recent successful searches to estimate a percentile of them.
+ *
+ * The percentile is recomputed from a sorted copy at most once every {@link #RECOMPUTE_EVERY}
+ * samples, so reading it costs nothing on most searches.
+ */
+final class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final long[] samples;
+    private final int minSamples;
+    private final double percentile;
+
+    // Guarded by lock
+    private int next;
+    private long recorded;
+    private long computedAt = -1;
+    private long cachedNanos = -1;
+
+    /**
+     * @param capacity   The number of recent samples kept.
+     * @param minSamples The number of samples needed before an estimate is given.
+     * @param percentile The percentile estimated, between 0 and 1.
+     */
+    LatencyTracker(int capacity, int minSamples, double percentile) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            recorded++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The estimated percentile in nanoseconds, or -1 if too few searches have been recorded.
+     */
+    long percentileNanos() {
+        lock.lock();
+        try {
+            if (recorded < minSamples) {
+                return -1;
+            }
+            if (computedAt < 0 || recorded - computedAt >= RECOMPUTE_EVERY) {
+                long[] sorted = Arrays.copyOf(samples, (int) Math.min(recorded, samples.length));
+                Arrays.sort(sorted);
+                cachedNanos = sorted[Math.max(0, (int) Math.ceil(sorted.length * percentile) - 1)];
+                computedAt = recorded;
+            }
+            return cachedNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
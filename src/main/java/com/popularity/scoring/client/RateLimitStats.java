@@ -0,0 +1,15 @@
+package com.popularity.scoring.client;
+
+/**
+ * Point-in-time view of the GitHub rate-limit scheduler.
+ *
+ * @param remaining         Remaining requests in the current window, or -1 if unknown.
+ * @param queueDepth        Number of searches waiting to be dispatched.
+ * @param inFlight          Number of searches currently running.
+ * @param shedCount         Number of searches rejected instead of being sent.
+ * @param averageWaitMillis Average time a dispatched search spent queued.
+ * @param maxWaitMillis     Longest time a dispatched search spent queued.
+ */
+public record RateLimitStats(long remaining, int queueDepth, int inFlight, long shedCount,
+                             double averageWaitMillis, double maxWaitMillis) {
+}
@@ -0,0 +1,10 @@
+package com.popularity.scoring.client;
+
+/**
+ * Priority of an outbound GitHub search. Interactive requests are dispatched before
+ * background work and are the last to be shed when the rate-limit budget runs low.
+ */
+public enum RequestPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
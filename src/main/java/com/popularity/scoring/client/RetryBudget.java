@@ -0,0 +1,72 @@
+package com.popularity.scoring.client;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounds retries and hedged requests to a fraction of the original requests.
+ *
+ * Every original request deposits {@code ratio} tokens and every retry or hedge withdraws one, so
+ * that when GitHub fails persistently the extra load stays at about that fraction instead of
+ * multiplying by the number of attempts. A small floor of tokens per second lets a lightly loaded
+ * service still retry the odd failure.
+ */
+final class RetryBudget {
+
+    private static final double MAX_BALANCE = 10;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final LongSupplier nanoClock;
+
+    // Guarded by lock
+    private double balance = MAX_BALANCE;
+    private long refilledAtNanos;
+
+    RetryBudget(double ratio, double minPerSecond, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.nanoClock = nanoClock;
+        this.refilledAtNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Records an original request.
+     */
+    void deposit() {
+        lock.lock();
+        try {
+            refill();
+            balance = Math.min(MAX_BALANCE, balance + ratio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes one token for a retry or hedge.
+     *
+     * @return false if the budget is exhausted and the extra attempt must not be sent.
+     */
+    boolean tryWithdraw() {
+        lock.lock();
+        try {
+            refill();
+            if (balance < 1) {
+                return false;
+            }
+            balance -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        balance = Math.min(MAX_BALANCE, balance + (now - refilledAtNanos) / 1e9 * minPerSecond);
+        refilledAtNanos = now;
+    }
+}
@@ -0,0 +1,27 @@
+package com.popularity.scoring.client;
+
+import java.time.Duration;
+
+/**
+ * A failed GitHub search that may succeed when retried: a 5xx response or an I/O failure.
+ * Thrown by single attempts and turned into a {@code RepositoryServiceException} by
+ * {@link GitHubRetryExecutor} once it gives up.
+ */
+final class TransientGitHubException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * @param message    The message of the exception reported once retries are exhausted.
+     * @param retryAfter The delay GitHub asked for, or {@code null}.
+     * @param cause      The underlying failure.
+     */
+    TransientGitHubException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    Duration retryAfter() {
+        return retryAfter;
+    }
+}
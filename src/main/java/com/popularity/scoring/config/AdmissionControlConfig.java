@@ -0,0 +1,48 @@
+package com.popularity.scoring.config;
+
+import com.popularity.scoring.admission.AdaptiveConcurrencyLimiter;
+import com.popularity.scoring.admission.ClientRateLimitInterceptor;
+import com.popularity.scoring.admission.ClientRateLimiter;
+import com.popularity.scoring.admission.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Applies inbound admission control to the API: per-client rate limits on every endpoint, then the
+ * adaptive concurrency limit. Crawls and streams run for minutes by design, so they are left out of
+ * the concurrency limit, whose latency samples they would distort.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private static final String API = "/api/v1/**";
+    private static final String[] LONG_RUNNING = {
+            "/api/v1/crawlGithubRepositoryPopularityScore",
+            "/api/v1/streamGithubRepositoryPopularityScore"
+    };
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final boolean concurrencyLimitEnabled;
+
+    public AdmissionControlConfig(ClientRateLimiter clientRateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  @Value("${scoring.admission.concurrency.enabled:true}") boolean concurrencyLimitEnabled) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ClientRateLimitInterceptor(clientRateLimiter)).addPathPatterns(API);
+        if (concurrencyLimitEnabled) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter))
+                    .addPathPatterns(API)
+                    .excludePathPatterns(LONG_RUNNING);
+        }
+    }
+}
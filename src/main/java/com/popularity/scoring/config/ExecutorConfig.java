@@ -0,0 +1,79 @@
+package com.popularity.scoring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors used to run upstream fetches concurrently, hedged GitHub searches, and snapshot I/O of the
+ * asynchronous path.
+ *
+ * With {@code spring.threads.virtual.enabled}, which also moves request handling onto virtual threads,
+ * every task runs on its own virtual thread and the configured thread counts only bound how many tasks
+ * of an executor run at once. Work is admitted as with platform threads, but a task blocked on a GitHub
+ * round trip no longer holds a platform thread. Concurrency towards GitHub itself stays bounded by
+ * {@code github.rate-limit.max-concurrent} in either mode.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService fanOutExecutor(@Value("${scoring.fan-out.threads:16}") int threads) {
+        return executor(threads, "fan-out-");
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService crawlExecutor(@Value("${scoring.crawl.threads:4}") int threads) {
+        return executor(threads, "crawl-");
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService refreshExecutor(@Value("${scoring.refresh.threads:2}") int threads) {
+        return executor(threads, "refresh-");
+    }
+
+    /**
+     * Runs the blocking snapshot reads and writes of the asynchronous scoring path, off the request
+     * and HTTP client threads.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService snapshotExecutor(@Value("${scoring.snapshot.threads:4}") int threads) {
+        return executor(threads, "snapshot-");
+    }
+
+    /**
+     * Runs the attempts of hedged blocking searches, so a second attempt can be sent while the first
+     * is still waiting for GitHub. Only used with {@code github.hedge.enabled}.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService hedgeExecutor(@Value("${github.hedge.threads:16}") int threads) {
+        return executor(threads, "hedge-");
+    }
+
+    private ExecutorService executor(int threads, String prefix) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor(prefix, threads);
+        }
+        return Executors.newFixedThreadPool(threads, namedDaemonThreads(prefix));
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.popularity.scoring.config;
+
+import com.popularity.scoring.client.GitHubSearchMetrics;
+import com.popularity.scoring.client.GitHubSearchResponseConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * HTTP transport used for calls to the GitHub API.
+ *
+ * Uses the JDK {@link HttpClient}, which keeps connections alive in a shared pool and negotiates
+ * HTTP/2 so concurrent searches are multiplexed over a single TLS connection. Connect and read
+ * timeouts keep a slow GitHub response from holding a servlet thread indefinitely. Search
+ * responses are parsed by {@link GitHubSearchResponseConverter}, which streams only the fields
+ * scoring needs into DTOs.
+ *
+ * The connection pool is shared by every JDK client in the JVM and reads its idle keep-alive and
+ * size from the {@code jdk.httpclient.keepalive.timeout} and {@code jdk.httpclient.connectionPoolSize}
+ * system properties once, when it is first used. They are therefore not application properties:
+ * {@link #applyConnectionPoolDefaults()} sets them from {@code main}, before anything creates a client,
+ * unless they were passed to the JVM.
+ */
+@Configuration
+public class GitHubHttpClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubHttpClientConfig.class);
+
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+
+    // Keep idle connections for 5 minutes and leave the pool unbounded.
+    private static final String DEFAULT_KEEP_ALIVE_SECONDS = "300";
+    private static final String DEFAULT_POOL_SIZE = "0";
+
+    /**
+     * Sets the connection pool system properties that were not given on the command line. Must run
+     * before the first JDK HTTP client is created.
+     */
+    public static void applyConnectionPoolDefaults() {
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, DEFAULT_KEEP_ALIVE_SECONDS);
+        }
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE);
+        }
+    }
+
+    @Bean
+    public HttpClient gitHubHttpClient(@Value("${github.http.connect-timeout:2s}") Duration connectTimeout) {
+        logger.info("Configuring GitHub HTTP client - Connect timeout: {}, {}: {}, {}: {}", connectTimeout,
+                KEEP_ALIVE_PROPERTY, System.getProperty(KEEP_ALIVE_PROPERTY, "JDK default"),
+                POOL_SIZE_PROPERTY, System.getProperty(POOL_SIZE_PROPERTY, "JDK default"));
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(HttpClient gitHubHttpClient, GitHubSearchMetrics searchMetrics,
+                                     @Value("${github.http.read-timeout:10s}") Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(gitHubHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new GzipCompressionInterceptor());
+        restTemplate.getMessageConverters().add(0, new GitHubSearchResponseConverter(searchMetrics));
+        return restTemplate;
+    }
+}
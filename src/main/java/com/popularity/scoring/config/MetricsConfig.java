@@ -0,0 +1,82 @@
+package com.popularity.scoring.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popularity.scoring.admission.AdaptiveConcurrencyLimiter;
+import com.popularity.scoring.admission.ClientRateLimiter;
+import com.popularity.scoring.client.GitHubBulkhead;
+import com.popularity.scoring.client.GitHubCircuitBreaker;
+import com.popularity.scoring.client.GitHubRateLimitScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.Locale;
+
+/**
+ * Metrics not recorded by the pipeline stages themselves: the timed JSON converter for our responses,
+ * and gauges over the GitHub rate-limit budget and the resilience and admission limits. Everything is
+ * exposed by the actuator, including in Prometheus format on {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces the Jackson converter Spring Boot would otherwise register for our responses.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder gitHubRateLimitMetrics(GitHubRateLimitScheduler rateLimitScheduler) {
+        return registry -> {
+            Gauge.builder("github.ratelimit.remaining", rateLimitScheduler, scheduler -> scheduler.stats().remaining())
+                    .description("Requests left in the current GitHub rate-limit window, or -1 if unknown")
+                    .register(registry);
+            Gauge.builder("github.ratelimit.queue.depth", rateLimitScheduler, scheduler -> scheduler.stats().queueDepth())
+                    .description("GitHub searches waiting to be dispatched")
+                    .register(registry);
+            Gauge.builder("github.ratelimit.inflight", rateLimitScheduler, scheduler -> scheduler.stats().inFlight())
+                    .description("GitHub searches currently running")
+                    .register(registry);
+            FunctionCounter.builder("github.ratelimit.shed", rateLimitScheduler, scheduler -> scheduler.stats().shedCount())
+                    .description("GitHub searches rejected instead of being sent")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gitHubResilienceMetrics(GitHubCircuitBreaker circuitBreaker, GitHubBulkhead bulkhead) {
+        return registry -> {
+            for (GitHubCircuitBreaker.State state : GitHubCircuitBreaker.State.values()) {
+                Gauge.builder("github.circuitbreaker.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                        .description("1 for the current state of the GitHub circuit breaker, 0 otherwise")
+                        .tag("state", state.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            Gauge.builder("github.bulkhead.inuse", bulkhead, GitHubBulkhead::inUse)
+                    .description("GitHub searches holding a bulkhead slot")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder admissionMetrics(AdaptiveConcurrencyLimiter concurrencyLimiter, ClientRateLimiter clientRateLimiter) {
+        return registry -> {
+            Gauge.builder("scoring.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current adaptive concurrency limit of the API")
+                    .register(registry);
+            Gauge.builder("scoring.admission.concurrency.inflight", concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .description("API requests currently admitted by the concurrency limit")
+                    .register(registry);
+            Gauge.builder("scoring.admission.ratelimit.clients", clientRateLimiter, ClientRateLimiter::clients)
+                    .description("Clients tracked by the per-client rate limiter")
+                    .register(registry);
+        };
+    }
+}
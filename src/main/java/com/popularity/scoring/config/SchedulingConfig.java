@@ -0,0 +1,12 @@
+package com.popularity.scoring.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background work such as refreshing hot cache entries.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
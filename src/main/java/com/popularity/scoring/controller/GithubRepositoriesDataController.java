@@ -1,20 +1,47 @@
 package com.popularity.scoring.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popularity.scoring.admission.ClientRateLimiter;
+import com.popularity.scoring.exceptionhandling.BatchCostExceededException;
+import com.popularity.scoring.exceptionhandling.InvalidDateRangeException;
 import com.popularity.scoring.exceptionhandling.PageLimitExceededException;
+import com.popularity.scoring.model.BatchQuery;
+import com.popularity.scoring.model.BatchScoreRequest;
+import com.popularity.scoring.model.BatchScoreResponse;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.scoringmodel.ScoringModelRegistry;
+import com.popularity.scoring.service.AsyncScoreCalculatorService;
+import com.popularity.scoring.service.BatchScoringService;
+import com.popularity.scoring.service.CrawlSummary;
+import com.popularity.scoring.service.RepositoryCrawlService;
 import com.popularity.scoring.service.ScoreCalculatorService;
+import com.popularity.scoring.service.TopKSelector;
+import com.popularity.scoring.service.TopRepositoriesService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -22,19 +49,50 @@ public class GithubRepositoriesDataController {
 
     private final ScoreCalculatorService scoreCalculatorService;
 
+    private final AsyncScoreCalculatorService asyncScoreCalculatorService;
+
+    private final TopRepositoriesService topRepositoriesService;
+
+    private final BatchScoringService batchScoringService;
+
+    private final RepositoryCrawlService repositoryCrawlService;
+
+    private final ScoringModelRegistry scoringModels;
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    private final ObjectMapper objectMapper;
+
     private static final Logger logger = LoggerFactory.getLogger(GithubRepositoriesDataController.class);
     private static final int MAX_PAGE_LIMIT = 10;
+    private static final String TENANT_HEADER = "X-Tenant-Id";
 
-    public GithubRepositoriesDataController(ScoreCalculatorService scoreCalculatorService) {
+    public GithubRepositoriesDataController(ScoreCalculatorService scoreCalculatorService,
+                                            AsyncScoreCalculatorService asyncScoreCalculatorService,
+                                            TopRepositoriesService topRepositoriesService, BatchScoringService batchScoringService,
+                                            RepositoryCrawlService repositoryCrawlService, ScoringModelRegistry scoringModels,
+                                            ClientRateLimiter clientRateLimiter, ObjectMapper objectMapper) {
         this.scoreCalculatorService = scoreCalculatorService;
+        this.asyncScoreCalculatorService = asyncScoreCalculatorService;
+        this.topRepositoriesService = topRepositoriesService;
+        this.batchScoringService = batchScoringService;
+        this.repositoryCrawlService = repositoryCrawlService;
+        this.scoringModels = scoringModels;
+        this.clientRateLimiter = clientRateLimiter;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Fetches popular GitHub repositories based on query parameters and calculates popularity scores.
+     * Repositories are returned ranked by popularity score, best first.
      *
      * @param language     The programming language filter (required).
      * @param earliestDate The earliest creation date filter (required).
      * @param pageNumber   The page number for pagination (optional, default = 1, max = 10).
+     * @param limit        The number of repositories to return (optional, default = 100, max = 100).
+     * @param minScore     The minimum popularity score of returned repositories (optional).
+     * @param model        The scoring model (optional, default = the tenant's model, else "default").
+     * @param tenant       The tenant issuing the request (optional).
      * @return A ResponseEntity containing the list of repositories with popularity scores.
      */
     @GetMapping("/calculateGithubRepositoryPopularityScore")
@@ -42,15 +100,199 @@ public class GithubRepositoriesDataController {
             @RequestParam @NotBlank(message = "Language parameter is required") String language,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @PastOrPresent(message = "Earliest date must be in the past or present") LocalDate earliestDate,
-            @RequestParam(defaultValue = "1") int pageNumber) {
+            @RequestParam(defaultValue = "1") int pageNumber,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 100, message = "Limit must be at most 100") int limit,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) String model,
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+
+        validatePageNumber(pageNumber);
+
+        GithubPopularityScoreResponse response = scoreCalculatorService.fetchRankedRepositories(language, earliestDate, pageNumber,
+                scoringModels.resolve(model, tenant), limit, minScore != null ? minScore : Double.NEGATIVE_INFINITY);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Non-blocking variant of {@link #calculateGithubRepositoryScore}. The request thread is released
+     * while GitHub is queried; the response is written once the returned future completes, and
+     * failures are mapped to the same error responses.
+     *
+     * @param language     The programming language filter (required).
+     * @param earliestDate The earliest creation date filter (required).
+     * @param pageNumber   The page number for pagination (optional, default = 1, max = 10).
+     * @param limit        The number of repositories to return (optional, default = 100, max = 100).
+     * @param minScore     The minimum popularity score of returned repositories (optional).
+     * @param model        The scoring model (optional, default = the tenant's model, else "default").
+     * @param tenant       The tenant issuing the request (optional).
+     * @return A future of the ResponseEntity containing the list of repositories with popularity scores.
+     */
+    @GetMapping("/calculateGithubRepositoryPopularityScoreAsync")
+    public CompletableFuture<ResponseEntity<GithubPopularityScoreResponse>> calculateGithubRepositoryScoreAsync(
+            @RequestParam @NotBlank(message = "Language parameter is required") String language,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @PastOrPresent(message = "Earliest date must be in the past or present") LocalDate earliestDate,
+            @RequestParam(defaultValue = "1") int pageNumber,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 100, message = "Limit must be at most 100") int limit,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) String model,
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
 
         validatePageNumber(pageNumber);
 
-        GithubPopularityScoreResponse response = scoreCalculatorService.fetchAndScoreRepositories(language, earliestDate, pageNumber);
+        return asyncScoreCalculatorService.fetchRankedRepositories(language, earliestDate, pageNumber,
+                        scoringModels.resolve(model, tenant), limit, minScore != null ? minScore : Double.NEGATIVE_INFINITY)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Fetches the first {@code pages} pages concurrently and returns the repositories with the
+     * highest popularity scores across all of them.
+     *
+     * @param language     The programming language filter (required).
+     * @param earliestDate The earliest creation date filter (required).
+     * @param pages        The number of pages to search (optional, default = 10, max = 10).
+     * @param limit        The number of repositories to return (optional, default = 100, max = 1000).
+     * @param model        The scoring model (optional, default = the tenant's model, else "default").
+     * @param tenant       The tenant issuing the request (optional).
+     * @return A ResponseEntity containing the top repositories, ranked by popularity score.
+     */
+    @GetMapping("/topGithubRepositoriesByPopularityScore")
+    public ResponseEntity<GithubPopularityScoreResponse> topGithubRepositoriesByPopularityScore(
+            @RequestParam @NotBlank(message = "Language parameter is required") String language,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @PastOrPresent(message = "Earliest date must be in the past or present") LocalDate earliestDate,
+            @RequestParam(defaultValue = "10") int pages,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 1000, message = "Limit must be at most 1000") int limit,
+            @RequestParam(required = false) String model,
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+
+        validatePageNumber(pages);
+
+        GithubPopularityScoreResponse response = topRepositoriesService.fetchTopRepositories(language, earliestDate, pages, limit,
+                scoringModels.resolve(model, tenant));
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Scores a batch of queries concurrently and returns one combined response. Each query is answered
+     * like {@link #topGithubRepositoriesByPopularityScore} would answer it, and reports its own status,
+     * so a failed query does not fail the batch. A batch counts as one request per page searched
+     * against the client's rate limit, and is rejected if it costs more than the client's burst.
+     *
+     * @param request     The queries and the scoring model (optional, default = the tenant's model, else "default").
+     * @param tenant      The tenant issuing the request (optional).
+     * @param httpRequest The HTTP request, identifying the client.
+     * @return A future of the ResponseEntity containing one result per query, in request order.
+     */
+    @PostMapping("/batchGithubRepositoryPopularityScore")
+    public CompletableFuture<ResponseEntity<BatchScoreResponse>> batchGithubRepositoryPopularityScore(
+            @Valid @RequestBody BatchScoreRequest request,
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+            HttpServletRequest httpRequest) {
+
+        int cost = request.queries().stream().mapToInt(BatchQuery::pages).sum();
+        int burst = clientRateLimiter.burst();
+        if (cost > burst) {
+            throw new BatchCostExceededException(cost, burst);
+        }
+        // The admission interceptor has taken one token for the request itself.
+        clientRateLimiter.acquire(clientRateLimiter.clientKey(httpRequest), cost - 1);
+
+        return batchScoringService.score(request.queries(), scoringModels.resolve(request.model(), tenant))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Crawls every repository of a language created in a date range, past GitHub's 1000-result
+     * search cap, and returns the highest scoring ones.
+     *
+     * @param language     The programming language filter (required).
+     * @param earliestDate The earliest creation date filter (required).
+     * @param latestDate   The latest creation date filter (optional, default = today).
+     * @param limit        The number of repositories to return (optional, default = 100, max = 10000).
+     * @param model        The scoring model (optional, default = the tenant's model, else "default").
+     * @param tenant       The tenant issuing the request (optional).
+     * @return A ResponseEntity containing the number of crawled repositories and the top ones, ranked by popularity score.
+     */
+    @GetMapping("/crawlGithubRepositoryPopularityScore")
+    public ResponseEntity<GithubPopularityScoreResponse> crawlGithubRepositoryPopularityScore(
+            @RequestParam @NotBlank(message = "Language parameter is required") String language,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @PastOrPresent(message = "Earliest date must be in the past or present") LocalDate earliestDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate latestDate,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 10000, message = "Limit must be at most 10000") int limit,
+            @RequestParam(required = false) String model,
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant) {
+
+        LocalDate to = resolveLatestDate(earliestDate, latestDate);
+
+        TopKSelector<RepositoriesPopularityScoreDTO> topRepositories = new TopKSelector<>(limit, TopRepositoriesService.BY_POPULARITY_SCORE);
+        CrawlSummary summary = repositoryCrawlService.crawl(language, earliestDate, to, scoringModels.resolve(model, tenant),
+                topRepositories::offerAll);
+
+        return ResponseEntity.ok(new GithubPopularityScoreResponse((int) summary.repositories(), topRepositories.toSortedList()));
+    }
+
+    /**
+     * Crawls every repository of a language created in a date range and streams each one as soon as
+     * its page has been scored, as newline-delimited JSON ({@code application/x-ndjson}) or as
+     * Server-Sent Events ({@code text/event-stream}, followed by a final {@code summary} event).
+     * Repositories are streamed in arrival order, not ranked.
+     *
+     * @param language     The programming language filter (required).
+     * @param earliestDate The earliest creation date filter (required).
+     * @param latestDate   The latest creation date filter (optional, default = today).
+     * @param minScore     The minimum popularity score of streamed repositories (optional).
+     * @param accept       The accepted media types; Server-Sent Events are written if they are asked for explicitly.
+     * @return A ResponseEntity streaming the scored repositories.
+     */
+    @GetMapping(value = "/streamGithubRepositoryPopularityScore",
+            produces = {"application/x-ndjson", MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamGithubRepositoryPopularityScore(
+            @RequestParam @NotBlank(message = "Language parameter is required") String language,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @PastOrPresent(message = "Earliest date must be in the past or present") LocalDate earliestDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate latestDate,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) String model,
+            @RequestHeader(name = TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        LocalDate to = resolveLatestDate(earliestDate, latestDate);
+        ScoringModel scoringModel = scoringModels.resolve(model, tenant);
+        boolean serverSentEvents = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+
+        ScoredRepositoryStream stream = new ScoredRepositoryStream(objectMapper, serverSentEvents,
+                minScore != null ? minScore : Double.NEGATIVE_INFINITY,
+                (permits, sink) -> repositoryCrawlService.crawlAsync(language, earliestDate, to, scoringModel, permits, sink));
+
+        return ResponseEntity.ok().contentType(stream.contentType()).body(stream);
+    }
+
+    /**
+     * Defaults the latest date of a crawl to today and validates the range.
+     *
+     * @param earliestDate The earliest creation date.
+     * @param latestDate   The latest creation date, or {@code null}.
+     * @return The latest creation date.
+     */
+    private LocalDate resolveLatestDate(LocalDate earliestDate, LocalDate latestDate) {
+        LocalDate to = latestDate != null ? latestDate : LocalDate.now();
+        if (to.isBefore(earliestDate)) {
+            logger.error("Invalid date range: {} to {}", earliestDate, to);
+            throw new InvalidDateRangeException("Latest date must not be before earliest date");
+        }
+        return to;
+    }
+
     /**
      * Validates that the page number does not exceed the allowed limit.
      *
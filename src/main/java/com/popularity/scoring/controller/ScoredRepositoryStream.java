@@ -0,0 +1,147 @@
+package com.popularity.scoring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.service.CrawlPermits;
+import com.popularity.scoring.service.CrawlSummary;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Writes scored repositories to the response as each page of a crawl is scored, as newline-delimited
+ * JSON or as Server-Sent Events.
+ *
+ * Scored pages are handed over through a queue and written by the thread streaming the response, so
+ * the shared crawl threads never block on a client connection. The crawl fetches at most
+ * {@link #MAX_BUFFERED_PAGES} pages ahead of the client; a slow client slows the crawl down, and a
+ * client that disconnects aborts it.
+ */
+final class ScoredRepositoryStream implements StreamingResponseBody {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    static final int MAX_BUFFERED_PAGES = 16;
+
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] REPOSITORY_EVENT = "event: repository\ndata: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUMMARY_EVENT = "event: summary\ndata: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    // Compared by identity; the crawl never hands over empty pages.
+    private static final List<RepositoriesPopularityScoreDTO> END_OF_CRAWL = Collections.unmodifiableList(new ArrayList<>());
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean serverSentEvents;
+
+    private final double minScore;
+
+    private final BiFunction<CrawlPermits, Consumer<List<RepositoriesPopularityScoreDTO>>, CompletableFuture<CrawlSummary>> crawl;
+
+    private final CrawlPermits permits = new CrawlPermits(MAX_BUFFERED_PAGES);
+
+    // One slot more than there are permits, so that the end of the crawl can always be queued.
+    private final BlockingQueue<List<RepositoriesPopularityScoreDTO>> pages = new ArrayBlockingQueue<>(MAX_BUFFERED_PAGES + 1);
+
+    private volatile boolean closed;
+
+    /**
+     * @param objectMapper     Serializes the repositories.
+     * @param serverSentEvents Whether to write Server-Sent Events instead of newline-delimited JSON.
+     * @param minScore         The minimum popularity score of written repositories.
+     * @param crawl            Starts the crawl, taking the given permits and feeding scored pages into the given sink.
+     */
+    ScoredRepositoryStream(ObjectMapper objectMapper, boolean serverSentEvents, double minScore,
+                           BiFunction<CrawlPermits, Consumer<List<RepositoriesPopularityScoreDTO>>, CompletableFuture<CrawlSummary>> crawl) {
+        this.objectMapper = objectMapper;
+        this.serverSentEvents = serverSentEvents;
+        this.minScore = minScore;
+        this.crawl = crawl;
+    }
+
+    MediaType contentType() {
+        return serverSentEvents ? MediaType.TEXT_EVENT_STREAM : APPLICATION_NDJSON;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        CompletableFuture<CrawlSummary> crawled = crawl.apply(permits, this::enqueue);
+        crawled.whenComplete((summary, failure) -> pages.add(END_OF_CRAWL));
+        try {
+            List<RepositoriesPopularityScoreDTO> page;
+            while ((page = pages.take()) != END_OF_CRAWL) {
+                writePage(outputStream, page);
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming scored repositories");
+        } finally {
+            closed = true;
+            permits.close();
+        }
+
+        CrawlSummary summary;
+        try {
+            summary = crawled.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeCause) {
+                throw runtimeCause;
+            }
+            throw e;
+        }
+        if (serverSentEvents) {
+            writeEvent(outputStream, SUMMARY_EVENT, summary);
+            outputStream.flush();
+        }
+    }
+
+    /**
+     * Called by the crawl, one page at a time. Each page holds a permit, so the queue cannot overflow.
+     * Throwing aborts the crawl.
+     */
+    private void enqueue(List<RepositoriesPopularityScoreDTO> page) {
+        if (closed) {
+            throw new RepositoryServiceException("Streaming client went away, crawl aborted");
+        }
+        if (!pages.offer(page)) {
+            throw new IllegalStateException("More scored pages handed over than the crawl had permits for");
+        }
+    }
+
+    private void writePage(OutputStream outputStream, List<RepositoriesPopularityScoreDTO> page) throws IOException {
+        for (RepositoriesPopularityScoreDTO repository : page) {
+            if (repository.getPopularityScore() < minScore) {
+                continue;
+            }
+            if (serverSentEvents) {
+                writeEvent(outputStream, REPOSITORY_EVENT, repository);
+            } else {
+                outputStream.write(objectMapper.writeValueAsBytes(repository));
+                outputStream.write(NEWLINE);
+            }
+        }
+        outputStream.flush();
+    }
+
+    private void writeEvent(OutputStream outputStream, byte[] header, Object data) throws IOException {
+        outputStream.write(header);
+        outputStream.write(objectMapper.writeValueAsBytes(data));
+        outputStream.write(EVENT_END);
+    }
+}
@@ -0,0 +1,26 @@
+package com.popularity.scoring.exceptionhandling;
+
+/**
+ * Thrown when a batch would cost more rate-limit tokens than a client's bucket can ever hold, so that
+ * retrying the same batch cannot succeed.
+ */
+public class BatchCostExceededException extends RuntimeException {
+
+    private final int cost;
+    private final int burst;
+
+    public BatchCostExceededException(int cost, int burst) {
+        super("Batch costs " + cost + " rate-limit tokens, more than the client burst of " + burst
+                + "; split it into smaller batches");
+        this.cost = cost;
+        this.burst = burst;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
@@ -0,0 +1,20 @@
+package com.popularity.scoring.exceptionhandling;
+
+import java.time.Duration;
+
+/**
+ * Thrown without calling GitHub while the circuit breaker is open or the bulkhead is full.
+ */
+public class GitHubUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public GitHubUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -2,6 +2,7 @@ package com.popularity.scoring.exceptionhandling;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -34,6 +35,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Object> handleInvalidDateRangeException(InvalidDateRangeException ex, WebRequest request) {
+        logger.error("Invalid date range: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("documentation_url", "https://docs.github.com/v3/search/");
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(UnknownScoringModelException.class)
+    public ResponseEntity<Object> handleUnknownScoringModelException(UnknownScoringModelException ex, WebRequest request) {
+        logger.error("Unknown scoring model: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(BatchCostExceededException.class)
+    public ResponseEntity<Object> handleBatchCostExceededException(BatchCostExceededException ex, WebRequest request) {
+        logger.warn("Batch cost exceeded: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("cost", ex.getCost());
+        errorResponse.put("burst", ex.getBurst());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     @ExceptionHandler(RepositoryServiceException.class)
     public ResponseEntity<Object> handleRepositoryServiceException(RepositoryServiceException ex, WebRequest request) {
         logger.error("Repository service error: {}", ex.getMessage(), ex);
@@ -47,6 +81,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException ex, WebRequest request) {
+        logger.warn("Rate limit exceeded: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(ex.getRetryAfter().toSeconds(), 1)))
+                .body(body);
+    }
+
+    @ExceptionHandler(GitHubUnavailableException.class)
+    public ResponseEntity<Object> handleGitHubUnavailableException(GitHubUnavailableException ex, WebRequest request) {
+        logger.warn("GitHub unavailable: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(ex.getRetryAfter().toSeconds(), 1)))
+                .body(body);
+    }
+
+    @ExceptionHandler(SearchInterruptedException.class)
+    public ResponseEntity<Object> handleSearchInterruptedException(SearchInterruptedException ex, WebRequest request) {
+        logger.warn("Search interrupted: {}", ex.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+
+        // No Retry-After: an interrupt says nothing about when GitHub budget is back.
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
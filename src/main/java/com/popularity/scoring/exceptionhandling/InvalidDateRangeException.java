@@ -0,0 +1,7 @@
+package com.popularity.scoring.exceptionhandling;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
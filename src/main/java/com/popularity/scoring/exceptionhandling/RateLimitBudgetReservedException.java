@@ -0,0 +1,15 @@
+package com.popularity.scoring.exceptionhandling;
+
+import java.time.Duration;
+
+/**
+ * Thrown without calling GitHub when a background search is shed because the remaining budget is
+ * reserved for interactive searches, or GitHub asked to hold off. The budget is known to come back
+ * after {@link #getRetryAfter()}, so this is not a failure of the search itself.
+ */
+public class RateLimitBudgetReservedException extends RateLimitExceededException {
+
+    public RateLimitBudgetReservedException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
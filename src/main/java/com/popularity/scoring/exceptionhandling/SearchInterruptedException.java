@@ -0,0 +1,11 @@
+package com.popularity.scoring.exceptionhandling;
+
+/**
+ * Thrown when a thread is interrupted while its GitHub search waits for rate-limit budget. The search
+ * was never sent, and nothing about the rate limit suggests when to retry.
+ */
+public class SearchInterruptedException extends RuntimeException {
+    public SearchInterruptedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
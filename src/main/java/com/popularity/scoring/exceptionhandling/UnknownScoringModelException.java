@@ -0,0 +1,7 @@
+package com.popularity.scoring.exceptionhandling;
+
+public class UnknownScoringModelException extends RuntimeException {
+    public UnknownScoringModelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.popularity.scoring.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+
+import java.time.LocalDate;
+
+/**
+ * One query of a batch scoring request: the top repositories of a language across its first pages.
+ *
+ * @param language     The programming language filter.
+ * @param earliestDate The earliest creation date filter.
+ * @param pages        The number of pages to search, 1 to 10; defaults to 1.
+ * @param limit        The number of repositories to return, 1 to 1000; defaults to 100.
+ */
+public record BatchQuery(
+        @NotBlank(message = "Language is required") String language,
+        @NotNull(message = "Earliest date is required")
+        @PastOrPresent(message = "Earliest date must be in the past or present") LocalDate earliestDate,
+        @Min(value = 1, message = "Pages must be at least 1") @Max(value = 10, message = "Pages must be at most 10") Integer pages,
+        @Min(value = 1, message = "Limit must be at least 1") @Max(value = 1000, message = "Limit must be at most 1000") Integer limit) {
+
+    public BatchQuery {
+        if (pages == null) {
+            pages = 1;
+        }
+        if (limit == null) {
+            limit = 100;
+        }
+    }
+}
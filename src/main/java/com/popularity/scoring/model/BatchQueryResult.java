@@ -0,0 +1,35 @@
+package com.popularity.scoring.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one query of a batch. Exactly one of {@code response} and {@code error} is set.
+ *
+ * @param language          The programming language of the query.
+ * @param earliestDate      The earliest creation date of the query.
+ * @param pages             The number of pages searched.
+ * @param status            The HTTP status the query would have been answered with on its own.
+ * @param error             The error message of a failed query.
+ * @param retryAfterSeconds When a rate-limited or fast-failed query may be retried.
+ * @param response          The top repositories of a successful query, best first.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchQueryResult(String language, LocalDate earliestDate, int pages, int status, String error,
+                               Long retryAfterSeconds, GithubPopularityScoreResponse response) {
+
+    public static BatchQueryResult succeeded(BatchQuery query, GithubPopularityScoreResponse response) {
+        return new BatchQueryResult(query.language(), query.earliestDate(), query.pages(), 200, null, null, response);
+    }
+
+    public static BatchQueryResult failed(BatchQuery query, int status, String error, Long retryAfterSeconds) {
+        return new BatchQueryResult(query.language(), query.earliestDate(), query.pages(), status, error, retryAfterSeconds, null);
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
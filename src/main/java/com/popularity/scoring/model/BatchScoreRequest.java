@@ -0,0 +1,19 @@
+package com.popularity.scoring.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A batch of queries scored in one call.
+ *
+ * @param queries The queries, 1 to 100.
+ * @param model   The scoring model applied to every query (optional, default = the tenant's model, else "default").
+ */
+public record BatchScoreRequest(
+        @NotEmpty(message = "At least one query is required")
+        @Size(max = 100, message = "At most 100 queries are allowed") List<@Valid BatchQuery> queries,
+        String model) {
+}
@@ -0,0 +1,18 @@
+package com.popularity.scoring.model;
+
+import java.util.List;
+
+/**
+ * Combined outcome of a batch, with one result per query in request order.
+ *
+ * @param succeeded The number of queries that were answered.
+ * @param failed    The number of queries that failed.
+ * @param results   The result of each query.
+ */
+public record BatchScoreResponse(int succeeded, int failed, List<BatchQueryResult> results) {
+
+    public static BatchScoreResponse of(List<BatchQueryResult> results) {
+        int succeeded = (int) results.stream().filter(BatchQueryResult::isSuccessful).count();
+        return new BatchScoreResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -1,5 +1,7 @@
 package com.popularity.scoring.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigInteger;
 import java.util.List;
 
@@ -7,6 +9,10 @@ public class GithubPopularityScoreResponse {
 
     private int totalNumberOfRepositories;
     private List<RepositoriesPopularityScoreDTO>  repositoriesPopularityScoreDTO;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean stale;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean degraded;
 
     public GithubPopularityScoreResponse() {
     }
@@ -31,4 +37,48 @@ public class GithubPopularityScoreResponse {
     public void setRepositoriesPopularityScoreDTO(List<RepositoriesPopularityScoreDTO> repositoriesPopularityScoreDTO) {
         this.repositoriesPopularityScoreDTO = repositoriesPopularityScoreDTO;
     }
+
+    /**
+     * Whether the response was served from cache past its time-to-live while a refresh is pending.
+     * Only serialized when true.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    /**
+     * Whether the response is the last known good result, served because GitHub could not be reached.
+     * Only serialized when true.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
+    /**
+     * Returns a copy of this response marked as stale, leaving the cached original untouched.
+     */
+    public GithubPopularityScoreResponse asStale() {
+        GithubPopularityScoreResponse copy = new GithubPopularityScoreResponse(totalNumberOfRepositories, repositoriesPopularityScoreDTO);
+        copy.stale = true;
+        copy.degraded = degraded;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this response marked as degraded, leaving the original untouched.
+     */
+    public GithubPopularityScoreResponse asDegraded() {
+        GithubPopularityScoreResponse copy = new GithubPopularityScoreResponse(totalNumberOfRepositories, repositoriesPopularityScoreDTO);
+        copy.stale = stale;
+        copy.degraded = true;
+        return copy;
+    }
 }
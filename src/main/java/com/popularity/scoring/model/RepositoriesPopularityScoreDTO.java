@@ -1,81 +1,147 @@
 package com.popularity.scoring.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import java.time.LocalDateTime;
-
-public class RepositoriesPopularityScoreDTO {
-
-    private String fullName;
-    private int stars;
-    private int forks;
-    private LocalDateTime lastUpdated;
-    private LocalDateTime createdDate;
-    private double popularityScore;
-    private String repositoryURL;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A scored repository.
+ *
+ * Hundreds of thousands of these are held by the result cache and read back from snapshots, so the
+ * representation is kept compact: timestamps are stored as epoch seconds in UTC, the repository URL
+ * is derived from the full name, and the owner part of the full name is shared between all
+ * repositories of the same owner. Instances are immutable; scoring produces a copy through
+ * {@link #withPopularityScore(double)}. The JSON form is unchanged and still carries
+ * {@code lastUpdated}, {@code createdDate} and {@code repositoryURL}, and can be read back; the
+ * {@code repositoryURL} read is ignored in favour of the one derived from the full name.
+ */
+@JsonPropertyOrder({"fullName", "stars", "forks", "lastUpdated", "createdDate", "popularityScore", "repositoryURL"})
+@JsonIgnoreProperties(value = "repositoryURL", allowGetters = true)
+public final class RepositoriesPopularityScoreDTO {
+
+    /**
+     * Epoch second standing for an absent timestamp.
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final String GITHUB_URL = "https://github.com/";
+
+    private static final StringPool OWNERS = new StringPool(65_536);
+
+    /**
+     * Orders repositories by full name, comparing the owner and then the name so that no full name has
+     * to be built. Repositories without an owner or a name come last.
+     */
+    public static final Comparator<RepositoriesPopularityScoreDTO> BY_FULL_NAME =
+            Comparator.comparing((RepositoriesPopularityScoreDTO repository) -> repository.owner, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(repository -> repository.name, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String owner;
+    private final String name;
+    private final int stars;
+    private final int forks;
+    private final long lastUpdatedEpochSecond;
+    private final long createdEpochSecond;
+    private final double popularityScore;
 
     public static class Builder {
-        private final RepositoriesPopularityScoreDTO repositoriesPopularityScoreDTO;
-
-        public Builder() {
-            this.repositoriesPopularityScoreDTO = new RepositoriesPopularityScoreDTO();
-        }
-
-        public Builder repositoryURL(String repositoryURL) {
-            repositoriesPopularityScoreDTO.repositoryURL = repositoryURL;
-            return this;
-        }
+        private String fullName;
+        private int stars;
+        private int forks;
+        private long lastUpdatedEpochSecond = NO_TIMESTAMP;
+        private long createdEpochSecond = NO_TIMESTAMP;
+        private double popularityScore;
 
         public Builder fullName(String fullName) {
-            repositoriesPopularityScoreDTO.fullName = fullName;
+            this.fullName = fullName;
             return this;
         }
 
         public Builder stars(int stars) {
-            repositoriesPopularityScoreDTO.stars = stars;
+            this.stars = stars;
             return this;
         }
 
         public Builder forks(int forks) {
-            repositoriesPopularityScoreDTO.forks = forks;
+            this.forks = forks;
             return this;
         }
 
         public Builder lastUpdated(LocalDateTime lastUpdated) {
-            repositoriesPopularityScoreDTO.lastUpdated = lastUpdated;
+            this.lastUpdatedEpochSecond = toEpochSecond(lastUpdated);
+            return this;
+        }
+
+        public Builder lastUpdatedEpochSecond(long lastUpdatedEpochSecond) {
+            this.lastUpdatedEpochSecond = lastUpdatedEpochSecond;
             return this;
         }
 
         public Builder createdDate(LocalDateTime createdDate) {
-            repositoriesPopularityScoreDTO.createdDate = createdDate;
+            this.createdEpochSecond = toEpochSecond(createdDate);
+            return this;
+        }
+
+        public Builder createdEpochSecond(long createdEpochSecond) {
+            this.createdEpochSecond = createdEpochSecond;
             return this;
         }
 
         public Builder popularityScore(double popularityScore) {
-            repositoriesPopularityScoreDTO.popularityScore = popularityScore;
+            this.popularityScore = popularityScore;
             return this;
         }
 
         public RepositoriesPopularityScoreDTO build() {
-            return repositoriesPopularityScoreDTO;
+            return new RepositoriesPopularityScoreDTO(fullName, stars, forks, lastUpdatedEpochSecond, createdEpochSecond, popularityScore);
         }
     }
 
-    public RepositoriesPopularityScoreDTO(String fullName, int stars, int forks, LocalDateTime lastUpdated, LocalDateTime createdDate, double popularityScore) {
-        this.fullName = fullName;
+    @JsonCreator
+    public RepositoriesPopularityScoreDTO(@JsonProperty("fullName") String fullName, @JsonProperty("stars") int stars,
+                                          @JsonProperty("forks") int forks, @JsonProperty("lastUpdated") LocalDateTime lastUpdated,
+                                          @JsonProperty("createdDate") LocalDateTime createdDate,
+                                          @JsonProperty("popularityScore") double popularityScore) {
+        this(fullName, stars, forks, toEpochSecond(lastUpdated), toEpochSecond(createdDate), popularityScore);
+    }
+
+    private RepositoriesPopularityScoreDTO(String fullName, int stars, int forks, long lastUpdatedEpochSecond, long createdEpochSecond, double popularityScore) {
+        int separator = fullName == null ? -1 : fullName.indexOf('/');
+        this.owner = separator < 0 ? null : OWNERS.canonical(fullName.substring(0, separator));
+        this.name = separator < 0 ? fullName : fullName.substring(separator + 1);
         this.stars = stars;
         this.forks = forks;
-        this.lastUpdated = lastUpdated;
-        this.createdDate = createdDate;
+        this.lastUpdatedEpochSecond = lastUpdatedEpochSecond;
+        this.createdEpochSecond = createdEpochSecond;
         this.popularityScore = popularityScore;
     }
 
-    public RepositoriesPopularityScoreDTO(){
-
+    private RepositoriesPopularityScoreDTO(RepositoriesPopularityScoreDTO source, double popularityScore) {
+        this.owner = source.owner;
+        this.name = source.name;
+        this.stars = source.stars;
+        this.forks = source.forks;
+        this.lastUpdatedEpochSecond = source.lastUpdatedEpochSecond;
+        this.createdEpochSecond = source.createdEpochSecond;
+        this.popularityScore = popularityScore;
     }
 
+    /**
+     * Returns a copy of this repository with another popularity score, sharing all other state.
+     */
+    public RepositoriesPopularityScoreDTO withPopularityScore(double popularityScore) {
+        return new RepositoriesPopularityScoreDTO(this, popularityScore);
+    }
 
     public String getFullName() {
-        return fullName;
+        return owner == null ? name : owner + '/' + name;
     }
 
     public int getStars() {
@@ -87,46 +153,75 @@ public class RepositoriesPopularityScoreDTO {
     }
 
     public LocalDateTime getLastUpdated() {
-        return lastUpdated;
+        return toLocalDateTime(lastUpdatedEpochSecond);
     }
 
     public LocalDateTime getCreatedDate() {
-        return createdDate;
-    }
-
-    public double getPopularityScore() {
-        return popularityScore;
+        return toLocalDateTime(createdEpochSecond);
     }
 
-    public void setFullName(String fullName) {
-        this.fullName = fullName;
+    /**
+     * @return The last update as epoch second in UTC, or {@link #NO_TIMESTAMP}.
+     */
+    @JsonIgnore
+    public long getLastUpdatedEpochSecond() {
+        return lastUpdatedEpochSecond;
     }
 
-    public void setStars(int stars) {
-        this.stars = stars;
-    }
-
-    public void setForks(int forks) {
-        this.forks = forks;
+    /**
+     * @return The creation as epoch second in UTC, or {@link #NO_TIMESTAMP}.
+     */
+    @JsonIgnore
+    public long getCreatedEpochSecond() {
+        return createdEpochSecond;
     }
 
-    public void setLastUpdated(LocalDateTime lastUpdated) {
-        this.lastUpdated = lastUpdated;
+    public double getPopularityScore() {
+        return popularityScore;
     }
 
-    public void setCreatedDate(LocalDateTime createdDate) {
-        this.createdDate = createdDate;
+    public String getRepositoryURL() {
+        if (name == null) {
+            return null;
+        }
+        return owner == null ? GITHUB_URL + name : GITHUB_URL + owner + '/' + name;
     }
 
-    public void setPopularityScore(double popularityScore) {
-        this.popularityScore = popularityScore;
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.toEpochSecond(ZoneOffset.UTC);
     }
 
-    public String getRepositoryURL() {
-        return repositoryURL;
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return epochSecond == NO_TIMESTAMP ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
     }
 
-    public void setRepositoryURL(String repositoryURL) {
-        this.repositoryURL = repositoryURL;
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RepositoriesPopularityScoreDTO that)) {
+            return false;
+        }
+        return stars == that.stars
+                && forks == that.forks
+                && lastUpdatedEpochSecond == that.lastUpdatedEpochSecond
+                && createdEpochSecond == that.createdEpochSecond
+                && Double.compare(popularityScore, that.popularityScore) == 0
+                && Objects.equals(owner, that.owner)
+                && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(owner, name, stars, forks, lastUpdatedEpochSecond, createdEpochSecond, popularityScore);
+    }
+
+    @Override
+    public String toString() {
+        return "RepositoriesPopularityScoreDTO[fullName=" + (owner == null ? "" : owner) + (owner == null ? "" : "/") + name
+                + ", stars=" + stars + ", forks=" + forks
+                + ", lastUpdated=" + getLastUpdated() + ", createdDate=" + getCreatedDate()
+                + ", popularityScore=" + popularityScore + "]";
     }
 }
@@ -0,0 +1,30 @@
+package com.popularity.scoring.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded pool of canonical strings, so that equal values read from different responses share one
+ * instance. Once full, values are returned as given instead of being pooled.
+ */
+final class StringPool {
+
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    String canonical(String value) {
+        String canonical = strings.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (strings.size() >= maxSize) {
+            return value;
+        }
+        canonical = strings.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+}
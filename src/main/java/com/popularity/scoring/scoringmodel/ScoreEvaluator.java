@@ -0,0 +1,19 @@
+package com.popularity.scoring.scoringmodel;
+
+/**
+ * A compiled popularity formula. Implementations operate on primitives only and must not allocate.
+ */
+@FunctionalInterface
+public interface ScoreEvaluator {
+
+    /**
+     * Scores one repository.
+     *
+     * @param stars           The star count.
+     * @param forks           The fork count.
+     * @param daysSinceUpdate Whole days since the repository was last updated.
+     * @param ageDays         Whole days since the repository was created, or 0 if unknown.
+     * @return The popularity score.
+     */
+    double score(double stars, double forks, long daysSinceUpdate, long ageDays);
+}
@@ -0,0 +1,103 @@
+package com.popularity.scoring.scoringmodel;
+
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Decay;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.ModelDefinition;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Recency;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Shaping;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Term;
+
+import java.time.Duration;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongToDoubleFunction;
+
+/**
+ * A named popularity formula, compiled once into a {@link ScoreEvaluator}.
+ *
+ * Compilation resolves every configuration choice up front and composes small primitive lambdas,
+ * so scoring a repository involves no expression interpretation, reflection or allocation.
+ *
+ * @param name      The model name, as used in requests and cache keys.
+ * @param evaluator The compiled formula.
+ */
+public record ScoringModel(String name, ScoreEvaluator evaluator) {
+
+    public static final String DEFAULT_NAME = "default";
+
+    private static final double DAYS_PER_YEAR = 365.25;
+
+    private static final Term DEFAULT_STARS = new Term(50.0, Shaping.LOG10);
+    private static final Term DEFAULT_FORKS = new Term(30.0, Shaping.LOG10);
+    private static final Recency DEFAULT_RECENCY = new Recency(20.0, Decay.INVERSE_DAYS, Duration.ofDays(30));
+
+    /**
+     * The built-in formula: {@code 50 * log10(stars + 1) + 30 * log10(forks + 1) + 20 / (1 + days since update)}.
+     */
+    public static final ScoringModel DEFAULT = compile(DEFAULT_NAME, new ModelDefinition(null, null, null, false));
+
+    /**
+     * Compiles a model definition. Terms the definition leaves out fall back to those of the default model.
+     *
+     * @param name       The model name.
+     * @param definition The model definition.
+     * @return The compiled model.
+     * @throws IllegalArgumentException If the definition is inconsistent.
+     */
+    public static ScoringModel compile(String name, ModelDefinition definition) {
+        DoubleUnaryOperator starsTerm = compileTerm(merge(definition.stars(), DEFAULT_STARS));
+        DoubleUnaryOperator forksTerm = compileTerm(merge(definition.forks(), DEFAULT_FORKS));
+        LongToDoubleFunction recencyTerm = compileRecency(name, merge(definition.recency()));
+
+        ScoreEvaluator evaluator;
+        if (definition.normalizeByAge()) {
+            evaluator = (stars, forks, daysSinceUpdate, ageDays) -> {
+                double years = Math.max(1.0, ageDays / DAYS_PER_YEAR);
+                return starsTerm.applyAsDouble(stars / years) + forksTerm.applyAsDouble(forks / years)
+                        + recencyTerm.applyAsDouble(daysSinceUpdate);
+            };
+        } else {
+            evaluator = (stars, forks, daysSinceUpdate, ageDays) ->
+                    starsTerm.applyAsDouble(stars) + forksTerm.applyAsDouble(forks) + recencyTerm.applyAsDouble(daysSinceUpdate);
+        }
+        return new ScoringModel(name, evaluator);
+    }
+
+    private static Term merge(Term term, Term defaults) {
+        if (term == null) {
+            return defaults;
+        }
+        return new Term(term.weight() != null ? term.weight() : defaults.weight(),
+                term.shaping() != null ? term.shaping() : defaults.shaping());
+    }
+
+    private static Recency merge(Recency recency) {
+        if (recency == null) {
+            return DEFAULT_RECENCY;
+        }
+        return new Recency(recency.weight() != null ? recency.weight() : DEFAULT_RECENCY.weight(),
+                recency.decay() != null ? recency.decay() : DEFAULT_RECENCY.decay(),
+                recency.halfLife() != null ? recency.halfLife() : DEFAULT_RECENCY.halfLife());
+    }
+
+    private static DoubleUnaryOperator compileTerm(Term term) {
+        double weight = term.weight();
+        return switch (term.shaping()) {
+            case LOG10 -> count -> Math.log10(count + 1) * weight;
+            case SQRT -> count -> Math.sqrt(count) * weight;
+            case LINEAR -> count -> count * weight;
+        };
+    }
+
+    private static LongToDoubleFunction compileRecency(String name, Recency recency) {
+        double weight = recency.weight();
+        return switch (recency.decay()) {
+            case INVERSE_DAYS -> days -> (1.0 / (1.0 + days)) * weight;
+            case HALF_LIFE -> {
+                if (recency.halfLife().isNegative() || recency.halfLife().isZero()) {
+                    throw new IllegalArgumentException("Scoring model " + name + " needs a positive recency half-life");
+                }
+                double decayRate = Math.log(2) / (recency.halfLife().toSeconds() / 86_400.0);
+                yield days -> Math.exp(-decayRate * days) * weight;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.popularity.scoring.scoringmodel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Scoring models defined in configuration, and which model each tenant uses by default.
+ *
+ * <pre>
+ * scoring.models.half-life.recency.decay=half-life
+ * scoring.models.half-life.recency.half-life=30d
+ * scoring.tenant-models.dashboards=half-life
+ * </pre>
+ *
+ * Any term a model leaves out keeps the value of the built-in {@code default} model.
+ *
+ * @param models       Model definitions by name.
+ * @param tenantModels Model names by tenant id.
+ */
+@ConfigurationProperties(prefix = "scoring")
+public record ScoringModelProperties(Map<String, ModelDefinition> models, Map<String, String> tenantModels) {
+
+    public ScoringModelProperties {
+        models = models == null ? Map.of() : models;
+        tenantModels = tenantModels == null ? Map.of() : tenantModels;
+    }
+
+    /**
+     * @param stars          How star counts contribute to the score.
+     * @param forks          How fork counts contribute to the score.
+     * @param recency        How the time since the last update contributes to the score.
+     * @param normalizeByAge Whether stars and forks are taken per year of repository age.
+     */
+    public record ModelDefinition(Term stars, Term forks, Recency recency, boolean normalizeByAge) {
+    }
+
+    /**
+     * @param weight  Multiplier of the shaped count.
+     * @param shaping How the raw count is shaped before weighting.
+     */
+    public record Term(Double weight, Shaping shaping) {
+    }
+
+    /**
+     * @param weight   Multiplier of the decay factor.
+     * @param decay    How the contribution decays with the days since the last update.
+     * @param halfLife Time after which a {@link Decay#HALF_LIFE} contribution has halved.
+     */
+    public record Recency(Double weight, Decay decay, Duration halfLife) {
+    }
+
+    public enum Shaping {
+        /** {@code log10(count + 1)} */
+        LOG10,
+        /** {@code sqrt(count)} */
+        SQRT,
+        /** {@code count} */
+        LINEAR
+    }
+
+    public enum Decay {
+        /** {@code 1 / (1 + days)} */
+        INVERSE_DAYS,
+        /** {@code 0.5 ^ (days / halfLife)} */
+        HALF_LIFE
+    }
+}
@@ -0,0 +1,90 @@
+package com.popularity.scoring.scoringmodel;
+
+import com.popularity.scoring.exceptionhandling.UnknownScoringModelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the compiled scoring models and picks the one a request should be scored with.
+ */
+@Component
+@EnableConfigurationProperties(ScoringModelProperties.class)
+public class ScoringModelRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringModelRegistry.class);
+
+    private final Map<String, ScoringModel> models = new HashMap<>();
+
+    private final Map<String, String> tenantModels = new HashMap<>();
+
+    public ScoringModelRegistry(ScoringModelProperties properties) {
+        models.put(ScoringModel.DEFAULT_NAME, ScoringModel.DEFAULT);
+        properties.models().forEach((name, definition) -> {
+            String normalizedName = normalize(name);
+            if (ScoringModel.DEFAULT_NAME.equals(normalizedName)) {
+                throw new IllegalStateException("The default scoring model is built in and cannot be redefined");
+            }
+            models.put(normalizedName, ScoringModel.compile(normalizedName, definition));
+        });
+        properties.tenantModels().forEach((tenant, model) -> {
+            String normalizedModel = normalize(model);
+            if (!models.containsKey(normalizedModel)) {
+                throw new IllegalStateException("Tenant " + tenant + " is assigned unknown scoring model " + model);
+            }
+            tenantModels.put(tenant, normalizedModel);
+        });
+        logger.info("Compiled scoring models: {}", models.keySet());
+    }
+
+    /**
+     * Resolves the model to score a request with: the explicitly requested model, else the tenant's
+     * model, else the default model.
+     *
+     * @param requestedModel The model named in the request, or {@code null}.
+     * @param tenant         The tenant issuing the request, or {@code null}.
+     * @return The compiled model.
+     * @throws UnknownScoringModelException If the requested model does not exist.
+     */
+    public ScoringModel resolve(String requestedModel, String tenant) {
+        if (requestedModel != null && !requestedModel.isBlank()) {
+            return get(requestedModel);
+        }
+        if (tenant != null) {
+            String tenantModel = tenantModels.get(tenant);
+            if (tenantModel != null) {
+                return models.get(tenantModel);
+            }
+        }
+        return ScoringModel.DEFAULT;
+    }
+
+    /**
+     * Returns a model by name.
+     *
+     * @param name The model name.
+     * @return The compiled model.
+     * @throws UnknownScoringModelException If no model has that name.
+     */
+    public ScoringModel get(String name) {
+        ScoringModel model = models.get(normalize(name));
+        if (model == null) {
+            throw new UnknownScoringModelException("Unknown scoring model: " + name);
+        }
+        return model;
+    }
+
+    public Set<String> modelNames() {
+        return Set.copyOf(models.keySet());
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,181 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.cache.CacheLookup;
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.RequestCoalescer;
+import com.popularity.scoring.cache.ScoreResultCache;
+import com.popularity.scoring.client.GitHubAsyncClient;
+import com.popularity.scoring.client.RequestPriority;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.snapshot.RepositorySnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking counterpart of {@link ScoreCalculatorService}.
+ *
+ * Serves queries from the same cache, snapshot store and in-flight calls as the blocking service,
+ * but returns futures: a cache miss is fetched with {@link GitHubAsyncClient} and scored as a stage
+ * of the returned future, so no request thread waits for GitHub. Snapshot reads and writes are
+ * blocking JDBC calls and run on the snapshot executor.
+ */
+@Service
+public class AsyncScoreCalculatorService {
+
+    private final GitHubAsyncClient gitHubAsyncClient;
+
+    private final ScoreCalculatorService scoreCalculatorService;
+
+    private final ScoreResultCache resultCache;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final RepositorySnapshotStore snapshotStore;
+
+    private final Executor snapshotExecutor;
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncScoreCalculatorService.class);
+
+    public AsyncScoreCalculatorService(GitHubAsyncClient gitHubAsyncClient, ScoreCalculatorService scoreCalculatorService,
+                                       ScoreResultCache resultCache, RequestCoalescer requestCoalescer,
+                                       RepositorySnapshotStore snapshotStore, @Qualifier("snapshotExecutor") Executor snapshotExecutor) {
+        this.gitHubAsyncClient = gitHubAsyncClient;
+        this.scoreCalculatorService = scoreCalculatorService;
+        this.resultCache = resultCache;
+        this.requestCoalescer = requestCoalescer;
+        this.snapshotStore = snapshotStore;
+        this.snapshotExecutor = snapshotExecutor;
+    }
+
+    /**
+     * Fetches and scores a page of repositories and returns them ranked by popularity score, best first.
+     *
+     * @param language     The programming language filter.
+     * @param earliestDate The earliest creation date filter.
+     * @param pageNumber   The page number for pagination.
+     * @param model        The scoring model to apply.
+     * @param limit        The maximum number of repositories to return.
+     * @param minScore     The minimum popularity score of returned repositories.
+     * @return A future of the response containing the selected repositories, ranked by popularity score.
+     * @see ScoreCalculatorService#fetchRankedRepositories(String, LocalDate, int, ScoringModel, int, double)
+     */
+    public CompletableFuture<GithubPopularityScoreResponse> fetchRankedRepositories(final String language, final LocalDate earliestDate,
+                                                                                    final int pageNumber, final ScoringModel model,
+                                                                                    final int limit, final double minScore) {
+        return fetchAndScoreRepositories(language, earliestDate, pageNumber, model)
+                .thenApply(response -> ScoreCalculatorService.rank(response, limit, minScore));
+    }
+
+    /**
+     * Fetches repositories from GitHub and calculates their popularity scores, without blocking.
+     * Fresh and stale cache entries are served as by the blocking service; misses share in-flight
+     * calls with it.
+     *
+     * @param language     The programming language filter.
+     * @param earliestDate The earliest creation date filter.
+     * @param pageNumber   The page number for pagination.
+     * @param model        The scoring model to apply.
+     * @return A future of the response containing the scored repositories.
+     * @see ScoreCalculatorService#fetchAndScoreRepositories(String, LocalDate, int, ScoringModel)
+     */
+    public CompletableFuture<GithubPopularityScoreResponse> fetchAndScoreRepositories(final String language, final LocalDate earliestDate,
+                                                                                      final int pageNumber, final ScoringModel model) {
+        QueryKey key = QueryKey.of(language, earliestDate, pageNumber, model.name());
+
+        CacheLookup cached = resultCache.lookup(key);
+        if (cached.isFresh()) {
+            logger.debug("Serving cached scores for {}", key);
+            return CompletableFuture.completedFuture(cached.value());
+        }
+        if (cached.isHit()) {
+            logger.debug("Serving stale scores for {} while refreshing", key);
+            scoreCalculatorService.refreshAsync(key);
+            return CompletableFuture.completedFuture(cached.value().asStale());
+        }
+
+        return requestCoalescer.executeAsync(key, () -> serveCacheMiss(key, language, earliestDate, pageNumber, model));
+    }
+
+    /**
+     * Serves a query that missed the cache from a recent snapshot, or fetches and scores it from GitHub.
+     * If GitHub fails, an older snapshot is served rather than failing the request.
+     */
+    private CompletableFuture<GithubPopularityScoreResponse> serveCacheMiss(final QueryKey key, final String language,
+                                                                            final LocalDate earliestDate, final int pageNumber,
+                                                                            final ScoringModel model) {
+        return CompletableFuture.supplyAsync(() -> snapshotStore.findFresh(key), snapshotExecutor)
+                .thenCompose(snapshot -> {
+                    if (snapshot.isPresent()) {
+                        logger.debug("Serving stored snapshot for {} fetched at {}", key, snapshot.get().fetchedAt());
+                        GithubPopularityScoreResponse response = scoreCalculatorService.scoredWith(snapshot.get(), model);
+                        resultCache.put(key, response);
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    return fetchScoreAndStore(key, language, earliestDate, pageNumber, model)
+                            .exceptionallyCompose(failure -> serveFallback(key, model, unwrap(failure)));
+                });
+    }
+
+    /**
+     * Fetches repositories from GitHub and scores them as a stage of the fetch, then caches the result
+     * and persists it in the background.
+     */
+    private CompletableFuture<GithubPopularityScoreResponse> fetchScoreAndStore(final QueryKey key, final String language,
+                                                                                final LocalDate earliestDate, final int pageNumber,
+                                                                                final ScoringModel model) {
+        logger.info("Fetching repositories asynchronously for language: {}, earliestDate: {}, pageNumber: {}", language, earliestDate, pageNumber);
+
+        return gitHubAsyncClient.searchAllRepositories(language, earliestDate, pageNumber, RequestPriority.INTERACTIVE)
+                .thenApply(response -> {
+                    if (response.getRepositoriesPopularityScoreDTO().isEmpty()) {
+                        logger.warn("No repositories found for language: {} with earliestDate: {}", language, earliestDate);
+                        return response;
+                    }
+                    return scoreCalculatorService.calculateScores(response, model);
+                })
+                .thenApply(scoredResponse -> {
+                    resultCache.put(key, scoredResponse);
+                    storeSnapshot(key, scoredResponse);
+                    return scoredResponse;
+                });
+    }
+
+    /**
+     * Serves an older snapshot, marked as degraded, after a failed fetch, or fails with the original failure if there is none.
+     */
+    private CompletableFuture<GithubPopularityScoreResponse> serveFallback(final QueryKey key, final ScoringModel model, final Throwable failure) {
+        return CompletableFuture.supplyAsync(() -> snapshotStore.findForFallback(key), snapshotExecutor)
+                .thenApply(fallback -> {
+                    if (fallback.isEmpty()) {
+                        throw failure instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(failure);
+                    }
+                    logger.warn("Serving stored snapshot for {} fetched at {} after GitHub failure: {}", key, fallback.get().fetchedAt(),
+                            failure.getMessage());
+                    return scoreCalculatorService.scoredWith(fallback.get(), model).asDegraded();
+                });
+    }
+
+    /**
+     * Persists a scored response on the snapshot executor. Failures are logged, not propagated.
+     */
+    private void storeSnapshot(final QueryKey key, final GithubPopularityScoreResponse response) {
+        try {
+            snapshotExecutor.execute(() -> scoreCalculatorService.storeSnapshot(key, response));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Failed to store snapshot for {}: executor rejected the task", key);
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
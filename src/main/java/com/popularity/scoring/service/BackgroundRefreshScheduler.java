@@ -0,0 +1,72 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.ScoreResultCache;
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Periodically refreshes the most frequently requested queries shortly before their cache entries
+ * expire, so that hot queries are rarely served stale and never miss. Refreshes run as background
+ * searches and therefore only spend rate-limit budget above the scheduler's reserve.
+ */
+@Component
+@ConditionalOnProperty(name = "scoring.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class BackgroundRefreshScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundRefreshScheduler.class);
+
+    private final ScoreResultCache resultCache;
+
+    private final ScoreCalculatorService scoreCalculatorService;
+
+    private final int topN;
+
+    private final Duration refreshAhead;
+
+    public BackgroundRefreshScheduler(ScoreResultCache resultCache, ScoreCalculatorService scoreCalculatorService,
+                                      @Value("${scoring.refresh.top-n:20}") int topN,
+                                      @Value("${scoring.refresh.refresh-ahead:1m}") Duration refreshAhead) {
+        this.resultCache = resultCache;
+        this.scoreCalculatorService = scoreCalculatorService;
+        this.topN = topN;
+        this.refreshAhead = refreshAhead;
+    }
+
+    /**
+     * Refreshes the hottest queries that are about to expire. A round stops at the first search
+     * shed by the rate-limit scheduler, leaving the remaining budget to interactive requests, and
+     * when GitHub is unavailable.
+     */
+    @Scheduled(fixedDelayString = "${scoring.refresh.interval:30s}")
+    public void refreshHotQueries() {
+        List<QueryKey> candidates = resultCache.refreshCandidates(topN, refreshAhead);
+        int refreshed = 0;
+        for (QueryKey key : candidates) {
+            try {
+                scoreCalculatorService.refresh(key);
+                refreshed++;
+            } catch (RateLimitExceededException e) {
+                logger.info("Background refresh paused for {}: rate limit budget reserved", e.getRetryAfter());
+                break;
+            } catch (GitHubUnavailableException e) {
+                logger.info("Background refresh paused: {}", e.getMessage());
+                break;
+            } catch (RuntimeException e) {
+                logger.warn("Background refresh failed for {}: {}", key, e.getMessage());
+            }
+        }
+        if (!candidates.isEmpty()) {
+            logger.debug("Refreshed {} of {} hot queries", refreshed, candidates.size());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.exceptionhandling.SearchInterruptedException;
+import com.popularity.scoring.model.BatchQuery;
+import com.popularity.scoring.model.BatchQueryResult;
+import com.popularity.scoring.model.BatchScoreResponse;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Scores many queries in one call.
+ *
+ * Every page of every query is served by {@link AsyncScoreCalculatorService}, so it goes through the
+ * cache, request coalescing and the rate-limit scheduler like a single request would. At most
+ * {@code parallelism} pages of a batch are in flight at once, so a large batch does not flood the
+ * scheduler queue and get shed. A failed query is reported in its result and does not fail the batch.
+ */
+@Service
+public class BatchScoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchScoringService.class);
+
+    private final AsyncScoreCalculatorService asyncScoreCalculatorService;
+
+    private final int parallelism;
+
+    public BatchScoringService(AsyncScoreCalculatorService asyncScoreCalculatorService,
+                               @Value("${scoring.batch.parallelism:8}") int parallelism) {
+        this.asyncScoreCalculatorService = asyncScoreCalculatorService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Scores a batch of queries concurrently.
+     *
+     * @param queries The queries of the batch.
+     * @param model   The scoring model applied to every query.
+     * @return A future of the combined response, with one result per query in request order. It
+     *         completes once every query has succeeded or failed, and never fails itself.
+     */
+    public CompletableFuture<BatchScoreResponse> score(final List<BatchQuery> queries, final ScoringModel model) {
+        logger.info("Scoring batch of {} queries", queries.size());
+
+        List<Supplier<CompletableFuture<GithubPopularityScoreResponse>>> pageFetches = new ArrayList<>();
+        List<CompletableFuture<BatchQueryResult>> results = new ArrayList<>(queries.size());
+        for (BatchQuery query : queries) {
+            List<CompletableFuture<GithubPopularityScoreResponse>> pages = new ArrayList<>(query.pages());
+            for (int page = 1; page <= query.pages(); page++) {
+                int pageNumber = page;
+                CompletableFuture<GithubPopularityScoreResponse> result = new CompletableFuture<>();
+                pages.add(result);
+                pageFetches.add(() -> asyncScoreCalculatorService
+                        .fetchAndScoreRepositories(query.language(), query.earliestDate(), pageNumber, model)
+                        .whenComplete((response, failure) -> {
+                            if (failure != null) {
+                                result.completeExceptionally(failure);
+                            } else {
+                                result.complete(response);
+                            }
+                        }));
+            }
+            results.add(CompletableFuture.allOf(pages.toArray(CompletableFuture[]::new))
+                    .handle((done, failure) -> failure == null
+                            ? BatchQueryResult.succeeded(query, merge(pages, query.limit()))
+                            : failed(query, unwrap(failure))));
+        }
+
+        AtomicInteger nextFetch = new AtomicInteger();
+        for (int lane = 0; lane < Math.min(parallelism, pageFetches.size()); lane++) {
+            startNext(pageFetches, nextFetch);
+        }
+
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    BatchScoreResponse response = BatchScoreResponse.of(results.stream().map(CompletableFuture::join).toList());
+                    logger.info("Scored batch of {} queries - Succeeded: {}, Failed: {}", queries.size(), response.succeeded(), response.failed());
+                    return response;
+                });
+    }
+
+    /**
+     * Starts page fetches one after another until one has to wait, then continues once it completes.
+     * Pages served from the cache complete immediately and do not hold a slot.
+     */
+    private static void startNext(List<Supplier<CompletableFuture<GithubPopularityScoreResponse>>> pageFetches, AtomicInteger nextFetch) {
+        while (true) {
+            int index = nextFetch.getAndIncrement();
+            if (index >= pageFetches.size()) {
+                return;
+            }
+            CompletableFuture<GithubPopularityScoreResponse> fetch;
+            try {
+                fetch = pageFetches.get(index).get();
+            } catch (RuntimeException e) {
+                fetch = CompletableFuture.failedFuture(e);
+            }
+            if (!fetch.isDone()) {
+                fetch.whenComplete((response, failure) -> startNext(pageFetches, nextFetch));
+                return;
+            }
+        }
+    }
+
+    private static GithubPopularityScoreResponse merge(List<CompletableFuture<GithubPopularityScoreResponse>> pages, int limit) {
+        TopKSelector<RepositoriesPopularityScoreDTO> topRepositories = new TopKSelector<>(limit, TopRepositoriesService.BY_POPULARITY_SCORE);
+        int totalNumberOfRepositories = 0;
+        boolean stale = false;
+        boolean degraded = false;
+        for (CompletableFuture<GithubPopularityScoreResponse> page : pages) {
+            GithubPopularityScoreResponse response = page.join();
+            totalNumberOfRepositories = Math.max(totalNumberOfRepositories, response.getTotalNumberOfRepositories());
+            topRepositories.offerAll(response.getRepositoriesPopularityScoreDTO());
+            stale |= response.isStale();
+            degraded |= response.isDegraded();
+        }
+
+        GithubPopularityScoreResponse merged = new GithubPopularityScoreResponse(totalNumberOfRepositories, topRepositories.toSortedList());
+        merged.setStale(stale);
+        merged.setDegraded(degraded);
+        return merged;
+    }
+
+    /**
+     * Reports a failed query with the status its exception maps to in {@code GlobalExceptionHandler}.
+     */
+    private static BatchQueryResult failed(BatchQuery query, Throwable failure) {
+        if (failure instanceof RateLimitExceededException rateLimited) {
+            logger.warn("Batch query for language: {} was rate limited: {}", query.language(), failure.getMessage());
+            return BatchQueryResult.failed(query, 429, failure.getMessage(), Math.max(rateLimited.getRetryAfter().toSeconds(), 1));
+        }
+        if (failure instanceof GitHubUnavailableException unavailable) {
+            logger.warn("Batch query for language: {} failed fast, GitHub unavailable: {}", query.language(), failure.getMessage());
+            return BatchQueryResult.failed(query, 503, failure.getMessage(), Math.max(unavailable.getRetryAfter().toSeconds(), 1));
+        }
+        if (failure instanceof SearchInterruptedException) {
+            logger.warn("Batch query for language: {} was interrupted: {}", query.language(), failure.getMessage());
+            return BatchQueryResult.failed(query, 503, failure.getMessage(), null);
+        }
+        if (failure instanceof RepositoryServiceException) {
+            logger.warn("Batch query for language: {} failed: {}", query.language(), failure.getMessage());
+            return BatchQueryResult.failed(query, 500, failure.getMessage(), null);
+        }
+        logger.error("Batch query for language: {} failed", query.language(), failure);
+        return BatchQueryResult.failed(query, 500, "Failed to score query", null);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
@@ -0,0 +1,103 @@
+package com.popularity.scoring.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the pages of one crawl that are being fetched or waiting to be consumed.
+ *
+ * The crawl takes a permit before it schedules a page fetch. A page handed to the sink keeps its
+ * permit until the consumer releases it, so a slow consumer holds back further fetches instead of
+ * letting pages pile up. Permits are granted through futures, so a crawl waiting for one does not
+ * block a crawl thread.
+ */
+public final class CrawlPermits {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int available;
+    private boolean closed;
+
+    /**
+     * @param permits The number of pages that may be in flight or unconsumed at once.
+     */
+    public CrawlPermits(int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Permits for a crawl whose sink consumes every page as it is handed over.
+     */
+    static CrawlPermits unlimited() {
+        return new CrawlPermits(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Takes a permit.
+     *
+     * @return A future completed once the permit is granted, or failed with a {@link CancellationException}
+     *         if the permits are closed first.
+     */
+    CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new CancellationException("Crawl permits closed"));
+            }
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiting.add(permit);
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit, handing it to the longest waiting fetch if there is one.
+     */
+    public void release() {
+        CompletableFuture<Void> next;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            next = waiting.poll();
+            if (next == null) {
+                available++;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Outside the lock: completing the permit starts the waiting fetch on this thread.
+        next.complete(null);
+    }
+
+    /**
+     * Fails every waiting and future acquisition, once the consumer has gone away.
+     */
+    public void close() {
+        List<CompletableFuture<Void>> abandoned;
+        lock.lock();
+        try {
+            closed = true;
+            abandoned = new ArrayList<>(waiting);
+            waiting.clear();
+        } finally {
+            lock.unlock();
+        }
+        abandoned.forEach(permit -> permit.completeExceptionally(new CancellationException("Crawl permits closed")));
+    }
+}
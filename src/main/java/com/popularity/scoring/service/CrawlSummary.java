@@ -0,0 +1,14 @@
+package com.popularity.scoring.service;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a date-range partitioned crawl.
+ *
+ * @param partitions   Number of date ranges small enough to be paged through completely.
+ * @param pages        Number of search pages fetched, including pages used only to size a range.
+ * @param repositories Number of repositories scored and handed to the sink.
+ * @param duration     Wall-clock duration of the crawl.
+ */
+public record CrawlSummary(int partitions, int pages, long repositories, Duration duration) {
+}
@@ -0,0 +1,97 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.scoringmodel.ScoreEvaluator;
+
+import java.util.stream.IntStream;
+
+/**
+ * Computes popularity scores over primitive column arrays with a compiled scoring model.
+ *
+ * Inputs are laid out as one array per attribute so that the scoring loop reads memory
+ * sequentially and allocates nothing. Batches of at least the caller's parallel threshold are split
+ * into chunks scored on the common fork-join pool; smaller batches are scored on the calling thread.
+ */
+final class PopularityScoringKernel {
+
+    /**
+     * Marks a missing timestamp. Repositories without a last-updated timestamp are assigned the minimum
+     * score; those without a creation timestamp are treated as new.
+     */
+    static final long MISSING_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * The parallel threshold used unless {@code scoring.parallel-threshold} says otherwise. It keeps
+     * every 100-item search page on the calling thread; it has not been tuned beyond that, and
+     * {@code ScoringBenchmark} compares both paths around it.
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
+    static final int CHUNK_SIZE = 2048;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private PopularityScoringKernel() {
+    }
+
+    /**
+     * Scores a batch of repositories.
+     *
+     * @param evaluator              The compiled scoring model.
+     * @param stars                  Star counts.
+     * @param forks                  Fork counts.
+     * @param lastUpdatedEpochSecond Last-updated timestamps in epoch seconds, or {@link #MISSING_TIMESTAMP}.
+     * @param createdEpochSecond     Creation timestamps in epoch seconds, or {@link #MISSING_TIMESTAMP}.
+     * @param nowEpochSecond         The reference time of the whole batch, in epoch seconds.
+     * @param scores                 Receives the scores.
+     * @param length                 Number of repositories in the batch.
+     * @param parallelThreshold      The batch size from which the batch is scored in parallel.
+     */
+    static void score(ScoreEvaluator evaluator, int[] stars, int[] forks, long[] lastUpdatedEpochSecond, long[] createdEpochSecond,
+                      long nowEpochSecond, double[] scores, int length, int parallelThreshold) {
+        if (length < parallelThreshold) {
+            scoreSequential(evaluator, stars, forks, lastUpdatedEpochSecond, createdEpochSecond, nowEpochSecond, scores, length);
+        } else {
+            scoreParallel(evaluator, stars, forks, lastUpdatedEpochSecond, createdEpochSecond, nowEpochSecond, scores, length);
+        }
+    }
+
+    /**
+     * Scores a batch on the calling thread, whatever its size.
+     *
+     * @see #score
+     */
+    static void scoreSequential(ScoreEvaluator evaluator, int[] stars, int[] forks, long[] lastUpdatedEpochSecond,
+                                long[] createdEpochSecond, long nowEpochSecond, double[] scores, int length) {
+        scoreRange(evaluator, stars, forks, lastUpdatedEpochSecond, createdEpochSecond, nowEpochSecond, scores, 0, length);
+    }
+
+    /**
+     * Scores a batch in chunks on the common fork-join pool, whatever its size.
+     *
+     * @see #score
+     */
+    static void scoreParallel(ScoreEvaluator evaluator, int[] stars, int[] forks, long[] lastUpdatedEpochSecond,
+                              long[] createdEpochSecond, long nowEpochSecond, double[] scores, int length) {
+        int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> scoreRange(evaluator, stars, forks, lastUpdatedEpochSecond,
+                createdEpochSecond, nowEpochSecond, scores, chunk * CHUNK_SIZE, Math.min(length, (chunk + 1) * CHUNK_SIZE)));
+    }
+
+    private static void scoreRange(ScoreEvaluator evaluator, int[] stars, int[] forks, long[] lastUpdatedEpochSecond,
+                                   long[] createdEpochSecond, long nowEpochSecond, double[] scores, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long lastUpdated = lastUpdatedEpochSecond[i];
+            if (lastUpdated == MISSING_TIMESTAMP) {
+                scores[i] = 0.0;
+                continue;
+            }
+
+            // Whole days elapsed, truncated towards zero like ChronoUnit.DAYS.between.
+            long daysSinceLastUpdate = (nowEpochSecond - lastUpdated) / SECONDS_PER_DAY;
+            long created = createdEpochSecond[i];
+            long ageDays = created == MISSING_TIMESTAMP ? 0 : (nowEpochSecond - created) / SECONDS_PER_DAY;
+
+            scores[i] = evaluator.score(stars[i], forks[i], daysSinceLastUpdate, ageDays);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.client.GitHubClient;
+import com.popularity.scoring.client.RequestPriority;
+import com.popularity.scoring.exceptionhandling.RateLimitBudgetReservedException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Crawls every repository of a language created within a date range.
+ *
+ * GitHub serves at most 1000 results per search, so the creation date range is split into
+ * sub-ranges until each one reports at most 1000 hits, and every sub-range is then paged through.
+ * Pages are fetched concurrently as background work on the shared rate-limit budget and each
+ * scored page is handed to the caller's sink as soon as it arrives. The sink is called on the crawl
+ * executor, which all crawls share, so a sink that blocks holds back further fetches and keeps at
+ * most one page per crawl thread in memory. A sink that hands pages on to a slower consumer passes
+ * {@link CrawlPermits} instead, and the crawl fetches no further than the consumer allows. If the
+ * sink or a fetch fails, the remaining pages are not fetched.
+ */
+@Service
+public class RepositoryCrawlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryCrawlService.class);
+
+    static final int SEARCH_RESULT_CAP = 1000;
+    static final int PAGE_SIZE = 100;
+
+    private final GitHubClient gitHubClient;
+
+    private final ScoringUtil scoringUtil;
+
+    private final ExecutorService crawlExecutor;
+
+    private final int maxRateLimitRetries;
+
+    public RepositoryCrawlService(GitHubClient gitHubClient, ScoringUtil scoringUtil,
+                                  @Qualifier("crawlExecutor") ExecutorService crawlExecutor,
+                                  @Value("${scoring.crawl.max-rate-limit-retries:5}") int maxRateLimitRetries) {
+        this.gitHubClient = gitHubClient;
+        this.scoringUtil = scoringUtil;
+        this.crawlExecutor = crawlExecutor;
+        this.maxRateLimitRetries = maxRateLimitRetries;
+    }
+
+    /**
+     * Crawls all repositories of a language created between two dates and streams them, scored with the
+     * default scoring model, into a sink.
+     *
+     * @param language The programming language filter.
+     * @param from     The first creation date, inclusive.
+     * @param to       The last creation date, inclusive.
+     * @param sink     Receives each scored page; calls are serialized, so the sink need not be thread-safe.
+     * @return A summary of the crawl.
+     */
+    public CrawlSummary crawl(final String language, final LocalDate from, final LocalDate to,
+                              final Consumer<List<RepositoriesPopularityScoreDTO>> sink) {
+        return crawl(language, from, to, ScoringModel.DEFAULT, sink);
+    }
+
+    /**
+     * Crawls all repositories of a language created between two dates and streams them, scored, into a sink.
+     *
+     * @param language The programming language filter.
+     * @param from     The first creation date, inclusive.
+     * @param to       The last creation date, inclusive.
+     * @param model    The scoring model to apply.
+     * @param sink     Receives each scored page; calls are serialized, so the sink need not be thread-safe.
+     *                 An exception thrown by the sink aborts the crawl and is rethrown.
+     * @return A summary of the crawl.
+     */
+    public CrawlSummary crawl(final String language, final LocalDate from, final LocalDate to, final ScoringModel model,
+                              final Consumer<List<RepositoriesPopularityScoreDTO>> sink) {
+        try {
+            return crawlAsync(language, from, to, model, CrawlPermits.unlimited(), sink).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeCause) {
+                throw runtimeCause;
+            }
+            throw new RepositoryServiceException("Crawl failed for language " + language, e.getCause());
+        }
+    }
+
+    /**
+     * Starts crawling all repositories of a language created between two dates, streaming them, scored,
+     * into a sink. Returns without waiting; the sink is called on the crawl executor.
+     *
+     * @param language The programming language filter.
+     * @param from     The first creation date, inclusive.
+     * @param to       The last creation date, inclusive.
+     * @param model    The scoring model to apply.
+     * @param permits  Taken for every page fetch. The permit of a page handed to the sink is released by
+     *                 whoever consumes the page; closing the permits aborts the crawl.
+     * @param sink     Receives each scored page; calls are serialized, so the sink need not be thread-safe.
+     *                 An exception thrown by the sink aborts the crawl and fails the returned future.
+     * @return A summary of the crawl once all pages have been passed to the sink, or a future failed
+     *         with the first failure of the crawl.
+     */
+    public CompletableFuture<CrawlSummary> crawlAsync(final String language, final LocalDate from, final LocalDate to,
+                                                      final ScoringModel model, final CrawlPermits permits,
+                                                      final Consumer<List<RepositoriesPopularityScoreDTO>> sink) {
+        logger.info("Starting crawl for language: {}, created: {}..{}, model: {}", language, from, to, model.name());
+
+        Crawl crawl = new Crawl(language, model, permits, sink);
+        return crawlRange(crawl, from, to).handle((ignored, e) -> {
+            if (e != null) {
+                Throwable failure = crawl.failure.get();
+                throw new CompletionException(failure != null ? failure : e instanceof CompletionException ? e.getCause() : e);
+            }
+            CrawlSummary summary = new CrawlSummary(crawl.partitions.get(), crawl.pages.get(), crawl.repositories.get(),
+                    Duration.ofNanos(System.nanoTime() - crawl.startedAt));
+            logger.info("Finished crawl for language: {} - {}", language, summary);
+            return summary;
+        });
+    }
+
+    /**
+     * Fetches the first page of a range and, depending on its total count, either splits the range
+     * or pages through the rest of it. Never blocks an executor thread on another task.
+     */
+    private CompletableFuture<Void> crawlRange(Crawl crawl, LocalDate from, LocalDate to) {
+        return fetchPage(crawl, from, to, 1).thenCompose(firstPage -> {
+            int totalCount = firstPage.getTotalNumberOfRepositories();
+            long days = ChronoUnit.DAYS.between(from, to) + 1;
+
+            if (totalCount > SEARCH_RESULT_CAP && days > 1) {
+                crawl.permits.release();
+                return splitRange(crawl, from, days, totalCount);
+            }
+            if (totalCount > SEARCH_RESULT_CAP) {
+                logger.warn("{} repositories created on {} exceed the search cap; only the first {} are crawled",
+                        totalCount, from, SEARCH_RESULT_CAP);
+            }
+
+            crawl.partitions.incrementAndGet();
+            crawl.emit(firstPage);
+
+            int pages = (int) Math.ceil(Math.min(totalCount, SEARCH_RESULT_CAP) / (double) PAGE_SIZE);
+            List<CompletableFuture<Void>> remainingPages = new ArrayList<>();
+            for (int page = 2; page <= pages; page++) {
+                remainingPages.add(fetchPage(crawl, from, to, page).thenAccept(crawl::emit));
+            }
+            return CompletableFuture.allOf(remainingPages.toArray(CompletableFuture[]::new));
+        });
+    }
+
+    /**
+     * Splits a range into as many equal parts as its total count suggests, at least two.
+     * Parts that still turn out to be too large are split again when crawled.
+     */
+    private CompletableFuture<Void> splitRange(Crawl crawl, LocalDate from, long days, int totalCount) {
+        long parts = Math.min(days, Math.max(2, (long) Math.ceil(totalCount / (double) SEARCH_RESULT_CAP)));
+        logger.debug("Splitting {} day range from {} with {} repositories into {} parts", days, from, totalCount, parts);
+
+        List<CompletableFuture<Void>> subRanges = new ArrayList<>();
+        LocalDate partStart = from;
+        for (long part = 0; part < parts; part++) {
+            long partEndOffset = (days * (part + 1)) / parts - 1;
+            LocalDate partEnd = from.plusDays(partEndOffset);
+            subRanges.add(crawlRange(crawl, partStart, partEnd));
+            partStart = partEnd.plusDays(1);
+        }
+        return CompletableFuture.allOf(subRanges.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Takes a permit, then fetches and scores one page. The permit is released if the fetch fails, and
+     * otherwise travels with the page.
+     */
+    private CompletableFuture<GithubPopularityScoreResponse> fetchPage(Crawl crawl, LocalDate from, LocalDate to, int page) {
+        return crawl.permits.acquire()
+                .whenComplete((ignored, closed) -> {
+                    if (closed != null) {
+                        crawl.abort(closed);
+                    }
+                })
+                .thenCompose(ignored -> fetchPage(crawl, from, to, page, 0));
+    }
+
+    /**
+     * Fetches and scores one page. Searches held back by the rate-limit scheduler's reserve wait until
+     * the budget is expected back, as often as it takes. Searches rejected by GitHub's rate limit are
+     * retried up to {@code maxRateLimitRetries} times; any other failure aborts the crawl.
+     */
+    private CompletableFuture<GithubPopularityScoreResponse> fetchPage(Crawl crawl, LocalDate from, LocalDate to, int page, int attempt) {
+        return CompletableFuture.supplyAsync(() -> {
+                    if (crawl.failure.get() != null) {
+                        throw new CancellationException("Crawl aborted");
+                    }
+                    GithubPopularityScoreResponse response = gitHubClient.searchRepositoriesCreatedBetween(
+                            crawl.language, from, to, page, RequestPriority.BACKGROUND);
+                    crawl.pages.incrementAndGet();
+                    return scoringUtil.calculatePopularityScores(response, crawl.model);
+                }, crawlExecutor)
+                .handle((response, failure) -> {
+                    if (failure == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    if (crawl.failure.get() == null && cause instanceof RateLimitExceededException rateLimited) {
+                        // Waiting for the reserve to be released is not a failed attempt.
+                        int nextAttempt = rateLimited instanceof RateLimitBudgetReservedException ? attempt : attempt + 1;
+                        if (nextAttempt <= maxRateLimitRetries) {
+                            logger.info("Crawl page {} of {}..{} deferred for {}", page, from, to, rateLimited.getRetryAfter());
+                            Executor delayed = CompletableFuture.delayedExecutor(
+                                    rateLimited.getRetryAfter().toMillis(), TimeUnit.MILLISECONDS, crawlExecutor);
+                            return CompletableFuture.supplyAsync(() -> null, delayed)
+                                    .thenCompose(ignored -> fetchPage(crawl, from, to, page, nextAttempt));
+                        }
+                    }
+                    crawl.abort(cause);
+                    crawl.permits.release();
+                    return CompletableFuture.<GithubPopularityScoreResponse>failedFuture(cause);
+                })
+                .thenCompose(future -> future);
+    }
+
+    private static final class Crawl {
+        private final String language;
+        private final ScoringModel model;
+        private final CrawlPermits permits;
+        private final Consumer<List<RepositoriesPopularityScoreDTO>> sink;
+        private final long startedAt = System.nanoTime();
+        private final AtomicInteger partitions = new AtomicInteger();
+        private final AtomicInteger pages = new AtomicInteger();
+        private final AtomicLong repositories = new AtomicLong();
+        private final ReentrantLock sinkLock = new ReentrantLock();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Crawl(String language, ScoringModel model, CrawlPermits permits, Consumer<List<RepositoriesPopularityScoreDTO>> sink) {
+            this.language = language;
+            this.model = model;
+            this.permits = permits;
+            this.sink = sink;
+        }
+
+        /**
+         * Hands a page to the sink along with its permit. Pages not handed over release their permit here.
+         */
+        private void emit(GithubPopularityScoreResponse page) {
+            List<RepositoriesPopularityScoreDTO> repositoriesOfPage = page.getRepositoriesPopularityScoreDTO();
+            boolean handedOver = false;
+            // A lock rather than a monitor: a virtual thread blocked in the sink must not pin its carrier.
+            sinkLock.lock();
+            try {
+                if (!repositoriesOfPage.isEmpty() && failure.get() == null) {
+                    sink.accept(repositoriesOfPage);
+                    handedOver = true;
+                }
+            } catch (RuntimeException e) {
+                abort(e);
+                throw e;
+            } finally {
+                sinkLock.unlock();
+                if (!handedOver) {
+                    permits.release();
+                }
+            }
+            if (handedOver) {
+                repositories.addAndGet(repositoriesOfPage.size());
+            }
+        }
+
+        /**
+         * Records the first failure of the crawl; pages not yet fetched are then skipped.
+         */
+        private void abort(Throwable cause) {
+            failure.compareAndSet(null, cause);
+        }
+    }
+}
@@ -1,13 +1,34 @@
 package com.popularity.scoring.service;
 
+import com.popularity.scoring.cache.CacheLookup;
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.RequestCoalescer;
+import com.popularity.scoring.cache.ScoreResultCache;
 import com.popularity.scoring.client.GitHubClient;
+import com.popularity.scoring.client.RequestPriority;
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
 import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.exceptionhandling.SearchInterruptedException;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.scoringmodel.ScoringModelRegistry;
+import com.popularity.scoring.snapshot.RepositorySnapshotStore;
+import com.popularity.scoring.snapshot.StoredSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class ScoreCalculatorService {
@@ -16,15 +37,37 @@ public class ScoreCalculatorService {
 
     private final GitHubClient gitHubClient;
 
+    private final ScoreResultCache resultCache;
+
+    private final RequestCoalescer requestCoalescer;
+
+    // Refreshes run at background priority, so interactive misses must not join their flights.
+    private final RequestCoalescer refreshCoalescer = new RequestCoalescer();
+
+    private final RepositorySnapshotStore snapshotStore;
+
+    private final Executor refreshExecutor;
+
+    private final ScoringModelRegistry scoringModels;
+
+    private final Set<QueryKey> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
     private static final Logger logger = LoggerFactory.getLogger(ScoreCalculatorService.class);
 
-    public ScoreCalculatorService(GitHubClient gitHubClient, ScoringUtil scoringUtil) {
+    public ScoreCalculatorService(GitHubClient gitHubClient, ScoringUtil scoringUtil, ScoreResultCache resultCache,
+                                  RequestCoalescer requestCoalescer, RepositorySnapshotStore snapshotStore,
+                                  @Qualifier("refreshExecutor") Executor refreshExecutor, ScoringModelRegistry scoringModels) {
         this.gitHubClient = gitHubClient;
         this.scoringUtil = scoringUtil;
+        this.resultCache = resultCache;
+        this.requestCoalescer = requestCoalescer;
+        this.snapshotStore = snapshotStore;
+        this.refreshExecutor = refreshExecutor;
+        this.scoringModels = scoringModels;
     }
 
     /**
-     * Fetches repositories from GitHub and calculates their popularity scores.
+     * Fetches repositories from GitHub and calculates their popularity scores with the default scoring model.
      *
      * @param language     The programming language filter.
      * @param earliestDate The earliest creation date filter.
@@ -32,16 +75,182 @@ public class ScoreCalculatorService {
      * @return A response containing the scored repositories.
      */
     public GithubPopularityScoreResponse fetchAndScoreRepositories(final String language, final LocalDate earliestDate, final int pageNumber) {
+        return fetchAndScoreRepositories(language, earliestDate, pageNumber, ScoringModel.DEFAULT);
+    }
+
+    /**
+     * Fetches repositories from GitHub and calculates their popularity scores.
+     * Results are served from the in-process cache when a fresh entry exists for the query,
+     * then from the persistent snapshot store, and concurrent misses for the same query share
+     * a single upstream call. A stale cache entry is served, marked as stale, while it is
+     * refreshed in the background. If GitHub cannot be reached, the last stored snapshot is
+     * served, marked as degraded.
+     *
+     * @param language     The programming language filter.
+     * @param earliestDate The earliest creation date filter.
+     * @param pageNumber   The page number for pagination.
+     * @param model        The scoring model to apply.
+     * @return A response containing the scored repositories.
+     */
+    public GithubPopularityScoreResponse fetchAndScoreRepositories(final String language, final LocalDate earliestDate, final int pageNumber,
+                                                                   final ScoringModel model) {
+        QueryKey key = QueryKey.of(language, earliestDate, pageNumber, model.name());
+
+        CacheLookup cached = resultCache.lookup(key);
+        if (cached.isFresh()) {
+            logger.debug("Serving cached scores for {}", key);
+            return cached.value();
+        }
+        if (cached.isHit()) {
+            logger.debug("Serving stale scores for {} while refreshing", key);
+            refreshAsync(key);
+            return cached.value().asStale();
+        }
+
+        return requestCoalescer.execute(key, () -> serveCacheMiss(key, language, earliestDate, pageNumber, model));
+    }
+
+    /**
+     * Fetches and scores a page of repositories and returns them ranked by popularity score, best first.
+     *
+     * The ranking keeps only the best {@code limit} repositories at or above {@code minScore} in a
+     * bounded heap instead of sorting the whole page. The selected repositories are the cached
+     * instances; nothing below the cutoff is copied.
+     *
+     * @param language     The programming language filter.
+     * @param earliestDate The earliest creation date filter.
+     * @param pageNumber   The page number for pagination.
+     * @param model        The scoring model to apply.
+     * @param limit        The maximum number of repositories to return.
+     * @param minScore     The minimum popularity score of returned repositories.
+     * @return A response containing the selected repositories, ranked by popularity score.
+     */
+    public GithubPopularityScoreResponse fetchRankedRepositories(final String language, final LocalDate earliestDate, final int pageNumber,
+                                                                 final ScoringModel model, final int limit, final double minScore) {
+        return rank(fetchAndScoreRepositories(language, earliestDate, pageNumber, model), limit, minScore);
+    }
+
+    /**
+     * Selects the best {@code limit} repositories of a response at or above {@code minScore}, best first.
+     */
+    static GithubPopularityScoreResponse rank(final GithubPopularityScoreResponse response, final int limit, final double minScore) {
+        TopKSelector<RepositoriesPopularityScoreDTO> topRepositories = new TopKSelector<>(limit, TopRepositoriesService.BY_POPULARITY_SCORE);
+        for (RepositoriesPopularityScoreDTO repository : response.getRepositoriesPopularityScoreDTO()) {
+            if (repository.getPopularityScore() >= minScore) {
+                topRepositories.offer(repository);
+            }
+        }
+
+        GithubPopularityScoreResponse ranked = new GithubPopularityScoreResponse(response.getTotalNumberOfRepositories(), topRepositories.toSortedList());
+        ranked.setStale(response.isStale());
+        ranked.setDegraded(response.isDegraded());
+        return ranked;
+    }
+
+    /**
+     * Refreshes a query from GitHub as background work and updates the cache and snapshot store.
+     *
+     * @param key The normalized query.
+     * @throws RateLimitExceededException If the rate-limit scheduler sheds the background search.
+     */
+    public void refresh(final QueryKey key) {
+        ScoringModel model = scoringModels.get(key.scoringModel());
+        refreshCoalescer.execute(key, () -> fetchScoreAndStore(key, key.language(), key.earliestDate(), key.pageNumber(), model,
+                RequestPriority.BACKGROUND));
+    }
+
+    /**
+     * Schedules a background refresh of a query unless one is already pending.
+     *
+     * @param key The normalized query.
+     */
+    public void refreshAsync(final QueryKey key) {
+        if (!pendingRefreshes.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh(key);
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh failed for {}: {}", key, e.getMessage());
+                } finally {
+                    pendingRefreshes.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingRefreshes.remove(key);
+            logger.warn("Background refresh rejected for {}", key);
+        }
+    }
+
+    /**
+     * Serves a query that missed the cache from a recent snapshot, or fetches and scores it from GitHub.
+     * If GitHub fails, an older snapshot is served rather than failing the request.
+     */
+    private GithubPopularityScoreResponse serveCacheMiss(final QueryKey key, final String language, final LocalDate earliestDate,
+                                                         final int pageNumber, final ScoringModel model) {
+        Optional<StoredSnapshot> snapshot = snapshotStore.findFresh(key);
+        if (snapshot.isPresent()) {
+            logger.debug("Serving stored snapshot for {} fetched at {}", key, snapshot.get().fetchedAt());
+            GithubPopularityScoreResponse response = scoredWith(snapshot.get(), model);
+            resultCache.put(key, response);
+            return response;
+        }
+
+        try {
+            return fetchScoreAndStore(key, language, earliestDate, pageNumber, model, RequestPriority.INTERACTIVE);
+        } catch (RuntimeException e) {
+            Optional<StoredSnapshot> fallback = snapshotStore.findForFallback(key);
+            if (fallback.isEmpty()) {
+                throw e;
+            }
+            logger.warn("Serving stored snapshot for {} fetched at {} after GitHub failure: {}", key, fallback.get().fetchedAt(), e.getMessage());
+            return scoredWith(fallback.get(), model).asDegraded();
+        }
+    }
+
+    /**
+     * Returns the scores of a stored snapshot, recomputing them if they were stored by another scoring model.
+     */
+    GithubPopularityScoreResponse scoredWith(final StoredSnapshot snapshot, final ScoringModel model) {
+        if (model.name().equals(snapshot.scoringModel())) {
+            return snapshot.response();
+        }
+        return calculateScores(snapshot.response(), model);
+    }
+
+    /**
+     * Fetches and scores repositories from GitHub, then caches and persists the result.
+     */
+    private GithubPopularityScoreResponse fetchScoreAndStore(final QueryKey key, final String language, final LocalDate earliestDate,
+                                                             final int pageNumber, final ScoringModel model, final RequestPriority priority) {
         logger.info("Fetching repositories for language: {}, earliestDate: {}, pageNumber: {}", language, earliestDate, pageNumber);
 
-        GithubPopularityScoreResponse response = fetchRepositories(language, earliestDate, pageNumber);
+        GithubPopularityScoreResponse response = fetchRepositories(language, earliestDate, pageNumber, priority);
 
         if (response.getRepositoriesPopularityScoreDTO().isEmpty()) {
             logger.warn("No repositories found for language: {} with earliestDate: {}", language, earliestDate);
+            resultCache.put(key, response);
+            storeSnapshot(key, response);
             return response;
         }
 
-        return calculateScores(response);
+        GithubPopularityScoreResponse scoredResponse = calculateScores(response, model);
+        resultCache.put(key, scoredResponse);
+        storeSnapshot(key, scoredResponse);
+        return scoredResponse;
+    }
+
+    /**
+     * Persists a scored response. Failures are logged, not propagated: the response is still valid.
+     */
+    void storeSnapshot(final QueryKey key, final GithubPopularityScoreResponse response) {
+        try {
+            snapshotStore.save(key, response, Instant.now());
+        } catch (DataAccessException e) {
+            logger.warn("Failed to store snapshot for {}: {}", key, e.getMessage());
+        }
     }
 
     /**
@@ -50,11 +259,22 @@ public class ScoreCalculatorService {
      * @param language     The programming language filter.
      * @param earliestDate The earliest creation date filter.
      * @param pageNumber   The page number for pagination.
+     * @param priority     The dispatch priority of the search.
      * @return A response containing repositories.
      */
-    private GithubPopularityScoreResponse fetchRepositories(final String language, final LocalDate earliestDate, final int pageNumber) {
+    private GithubPopularityScoreResponse fetchRepositories(final String language, final LocalDate earliestDate, final int pageNumber,
+                                                            final RequestPriority priority) {
         try {
-            return gitHubClient.searchAllRepositories(language, earliestDate, pageNumber);
+            return gitHubClient.searchAllRepositories(language, earliestDate, pageNumber, priority);
+        } catch (RateLimitExceededException e) {
+            logger.warn("GitHub rate limit budget exhausted for language: {}, earliestDate: {}, pageNumber: {}", language, earliestDate, pageNumber);
+            throw e;
+        } catch (GitHubUnavailableException e) {
+            logger.warn("GitHub unavailable for language: {}, earliestDate: {}, pageNumber: {}: {}", language, earliestDate, pageNumber, e.getMessage());
+            throw e;
+        } catch (SearchInterruptedException e) {
+            logger.warn("Interrupted before searching GitHub for language: {}, earliestDate: {}, pageNumber: {}", language, earliestDate, pageNumber);
+            throw e;
         } catch (Exception e) {
             logger.error("Error fetching repositories from GitHub for language: {}, earliestDate: {}, pageNumber: {}", language, earliestDate, pageNumber, e);
             throw new RepositoryServiceException("Failed to fetch repositories from GitHub", e);
@@ -65,11 +285,12 @@ public class ScoreCalculatorService {
      * Calculates popularity scores for the fetched repositories.
      *
      * @param response The initial response containing repositories.
+     * @param model    The scoring model to apply.
      * @return A response with calculated scores.
      */
-    private GithubPopularityScoreResponse calculateScores(final GithubPopularityScoreResponse response) {
+    GithubPopularityScoreResponse calculateScores(final GithubPopularityScoreResponse response, final ScoringModel model) {
         try {
-            GithubPopularityScoreResponse scoredResponse = scoringUtil.calculatePopularityScores(response);
+            GithubPopularityScoreResponse scoredResponse = scoringUtil.calculatePopularityScores(response, model);
             logger.info("Successfully calculated scores for {} repositories", scoredResponse.getRepositoriesPopularityScoreDTO().size());
             return scoredResponse;
         } catch (Exception e) {
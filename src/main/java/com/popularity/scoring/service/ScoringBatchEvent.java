@@ -0,0 +1,29 @@
+package com.popularity.scoring.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one batch of repositories scored by {@link ScoringUtil}.
+ */
+@Name("com.popularity.scoring.ScoringBatch")
+@Label("Scoring Batch")
+@Category({"Popularity Scoring", "Scoring"})
+@Description("A batch of repositories scored with one scoring model")
+@StackTrace(false)
+final class ScoringBatchEvent extends jdk.jfr.Event {
+
+    @Label("Size")
+    @Description("Number of repositories in the batch")
+    int size;
+
+    @Label("Model")
+    String model;
+
+    @Label("Parallel")
+    @Description("Whether the batch was large enough to be scored in parallel")
+    boolean parallel;
+}
@@ -3,89 +3,154 @@ package com.popularity.scoring.service;
 import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
 import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ScoringUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(ScoringUtil.class);
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Batches of at least this many repositories are scored in parallel.
+     */
+    private final int parallelThreshold;
+
     /**
-     * Calculates the popularity scores for a list of repositories.
+     * The {@code scoring.score} timer of each scoring model, by model name.
+     */
+    private final Map<String, Timer> scoringTimers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ScoringUtil(MeterRegistry meterRegistry,
+                       @Value("${scoring.parallel-threshold:8192}") int parallelThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public ScoringUtil(MeterRegistry meterRegistry) {
+        this(meterRegistry, PopularityScoringKernel.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Calculates the popularity scores for a list of repositories with the default scoring model.
      *
      * @param response The response containing repositories to calculate scores for.
      * @return A response with updated popularity scores.
      * @throws RepositoryServiceException If an error occurs during score calculation.
      */
     public GithubPopularityScoreResponse calculatePopularityScores(final GithubPopularityScoreResponse response) {
+        return calculatePopularityScores(response, ScoringModel.DEFAULT);
+    }
+
+    /**
+     * Calculates the popularity scores for a list of repositories. The time spent scoring is recorded
+     * by the {@code scoring.score} timer, tagged with the model, and as a {@link ScoringBatchEvent}.
+     *
+     * @param response The response containing repositories to calculate scores for.
+     * @param model    The scoring model to apply.
+     * @return A new response holding scored copies of the repositories, in the same order.
+     * @throws RepositoryServiceException If an error occurs during score calculation.
+     */
+    public GithubPopularityScoreResponse calculatePopularityScores(final GithubPopularityScoreResponse response, final ScoringModel model) {
         if (response == null || response.getRepositoriesPopularityScoreDTO() == null) {
             logger.warn("Received null or empty repository list for score calculation.");
             return new GithubPopularityScoreResponse(0, Collections.emptyList());
         }
 
         List<RepositoriesPopularityScoreDTO> repositories = response.getRepositoriesPopularityScoreDTO();
-        logger.info("Calculating popularity scores for {} repositories", repositories.size());
+        logger.info("Calculating popularity scores for {} repositories with model {}", repositories.size(), model.name());
 
+        ScoringBatchEvent event = new ScoringBatchEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            repositories.parallelStream().forEachOrdered(this::computeAndSetScore);
+            return new GithubPopularityScoreResponse(response.getTotalNumberOfRepositories(),
+                    scoreBatch(repositories, model, LocalDateTime.now()));
         } catch (RuntimeException e) {
             logger.error("Failed to calculate popularity scores", e);
             throw new RepositoryServiceException("An error occurred while calculating repository scores.", e);
+        } finally {
+            sample.stop(scoringTimers.computeIfAbsent(model.name(), this::scoringTimer));
+            event.end();
+            if (event.shouldCommit()) {
+                event.size = repositories.size();
+                event.model = model.name();
+                event.parallel = repositories.size() >= parallelThreshold;
+                event.commit();
+            }
         }
-
-        return response;
     }
 
-    /**
-     * Computes and sets the popularity score for a repository.
-     *
-     * @param repository The repository to calculate the score for.
-     */
-    private void computeAndSetScore(RepositoriesPopularityScoreDTO repository) {
-        if (repository == null) {
-            logger.warn("Encountered a null repository while calculating scores.");
-            return;
-        }
-
-        double score = calculateScore(repository);
-        repository.setPopularityScore(score);
+    private Timer scoringTimer(String modelName) {
+        return Timer.builder("scoring.score")
+                .description("Time spent scoring a page of repositories")
+                .tag("model", modelName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     /**
-     * Calculates the popularity score for a single repository.
+     * Scores a batch of repositories against a single reference time. The attributes used for scoring
+     * are copied into primitive arrays and scored by {@link PopularityScoringKernel}.
      *
-     * The score is based on:
-     * - **Stars**: Logarithmic scaling to prioritize repositories with high star counts.
-     * - **Forks**: Logarithmic scaling to prioritize repositories with high fork counts.
-     * - **Recency**: Inverse exponential decay to prioritize recently updated repositories.
-     *
-     * @param repository The repository to calculate the score for.
-     * @return The calculated popularity score.
+     * @param repositories The repositories to score; {@code null} elements are skipped.
+     * @param model        The scoring model to apply.
+     * @param now          The reference time of the batch.
+     * @return Copies of the repositories carrying their scores; {@code null} elements stay {@code null}.
      */
-    private double calculateScore(final RepositoriesPopularityScoreDTO repository) {
-        if (repository.getLastUpdated() == null) {
-            logger.warn("Repository {} has no last updated date. Assigning minimum score.", repository.getFullName());
-            return 0.0;
-        }
+    private List<RepositoriesPopularityScoreDTO> scoreBatch(final List<RepositoriesPopularityScoreDTO> repositories, final ScoringModel model, final LocalDateTime now) {
+        int length = repositories.size();
+        int[] stars = new int[length];
+        int[] forks = new int[length];
+        long[] lastUpdated = new long[length];
+        long[] created = new long[length];
+        double[] scores = new double[length];
 
-        // Stars Score
-        double starsScore = Math.log10(repository.getStars() + 1) * 50;
-
-        // Forks Score
-        double forksScore = Math.log10(repository.getForks() + 1) * 30;
+        for (int i = 0; i < length; i++) {
+            RepositoriesPopularityScoreDTO repository = repositories.get(i);
+            if (repository == null) {
+                logger.warn("Encountered a null repository while calculating scores.");
+                lastUpdated[i] = PopularityScoringKernel.MISSING_TIMESTAMP;
+                continue;
+            }
+            if (repository.getLastUpdatedEpochSecond() == RepositoriesPopularityScoreDTO.NO_TIMESTAMP) {
+                logger.warn("Repository {} has no last updated date. Assigning minimum score.", repository.getFullName());
+                lastUpdated[i] = PopularityScoringKernel.MISSING_TIMESTAMP;
+                continue;
+            }
+            stars[i] = repository.getStars();
+            forks[i] = repository.getForks();
+            lastUpdated[i] = repository.getLastUpdatedEpochSecond();
+            created[i] = repository.getCreatedEpochSecond() != RepositoriesPopularityScoreDTO.NO_TIMESTAMP
+                    ? repository.getCreatedEpochSecond()
+                    : PopularityScoringKernel.MISSING_TIMESTAMP;
+        }
 
-        // Recency Score
-        long daysSinceLastUpdate = ChronoUnit.DAYS.between(repository.getLastUpdated(), LocalDateTime.now());
-        double recencyScore = (1.0 / (1.0 + daysSinceLastUpdate)) * 20;
+        PopularityScoringKernel.score(model.evaluator(), stars, forks, lastUpdated, created, now.toEpochSecond(ZoneOffset.UTC), scores, length,
+                parallelThreshold);
 
-        // Total Score
-        return starsScore + forksScore + recencyScore;
+        List<RepositoriesPopularityScoreDTO> scored = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            RepositoriesPopularityScoreDTO repository = repositories.get(i);
+            scored.add(repository == null ? null : repository.withPopularityScore(scores[i]));
+        }
+        return scored;
     }
 }
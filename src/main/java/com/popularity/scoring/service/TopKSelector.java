@@ -0,0 +1,71 @@
+package com.popularity.scoring.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code k} items offered to it using a bounded min-heap.
+ *
+ * Offering n items costs O(n log k) and never holds more than k items, so large inputs can be
+ * ranked as they arrive without being collected and fully sorted first. Not thread-safe.
+ *
+ * @param <T> The type of the ranked items.
+ */
+public class TopKSelector<T> {
+
+    private final int k;
+    private final Comparator<? super T> ranking;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k       The number of items to keep.
+     * @param ranking Orders items from worst to best.
+     */
+    public TopKSelector(int k, Comparator<? super T> ranking) {
+        this.k = k;
+        this.ranking = ranking;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), ranking);
+    }
+
+    /**
+     * Offers an item, keeping it only if it ranks among the best {@code k} seen so far.
+     *
+     * @return true if the item was kept.
+     */
+    public boolean offer(T item) {
+        if (k <= 0) {
+            return false;
+        }
+        if (heap.size() < k) {
+            heap.add(item);
+            return true;
+        }
+        if (ranking.compare(item, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(item);
+            return true;
+        }
+        return false;
+    }
+
+    public void offerAll(Iterable<? extends T> items) {
+        for (T item : items) {
+            offer(item);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the kept items, best first.
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(ranking.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+@Service
+public class TopRepositoriesService {
+
+    /**
+     * Orders repositories from lowest to highest popularity score, ties broken by name.
+     */
+    public static final Comparator<RepositoriesPopularityScoreDTO> BY_POPULARITY_SCORE =
+            Comparator.comparingDouble(RepositoriesPopularityScoreDTO::getPopularityScore)
+                    .thenComparing(RepositoriesPopularityScoreDTO.BY_FULL_NAME.reversed());
+
+    private static final Logger logger = LoggerFactory.getLogger(TopRepositoriesService.class);
+
+    private final ScoreCalculatorService scoreCalculatorService;
+
+    private final ExecutorService fanOutExecutor;
+
+    private final int parallelism;
+
+    public TopRepositoriesService(ScoreCalculatorService scoreCalculatorService,
+                                  @Qualifier("fanOutExecutor") ExecutorService fanOutExecutor,
+                                  @Value("${scoring.fan-out.parallelism-per-request:4}") int parallelism) {
+        this.scoreCalculatorService = scoreCalculatorService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Fetches pages 1..pages concurrently and returns the repositories with the highest popularity scores
+     * under the default scoring model.
+     *
+     * @param language     The programming language filter.
+     * @param earliestDate The earliest creation date filter.
+     * @param pages        The number of pages to fetch, starting at page 1.
+     * @param limit        The number of top-scoring repositories to return.
+     * @return The top repositories ranked by popularity score, best first.
+     */
+    public GithubPopularityScoreResponse fetchTopRepositories(final String language, final LocalDate earliestDate, final int pages, final int limit) {
+        return fetchTopRepositories(language, earliestDate, pages, limit, ScoringModel.DEFAULT);
+    }
+
+    /**
+     * Fetches pages 1..pages concurrently and returns the repositories with the highest popularity scores.
+     *
+     * At most {@code parallelism} pages are in flight for one request. Each page is merged into a
+     * bounded heap as soon as it arrives, so the response is ready shortly after the slowest page.
+     *
+     * @param language     The programming language filter.
+     * @param earliestDate The earliest creation date filter.
+     * @param pages        The number of pages to fetch, starting at page 1.
+     * @param limit        The number of top-scoring repositories to return.
+     * @param model        The scoring model to apply.
+     * @return The top repositories ranked by popularity score, best first, marked as degraded if any
+     *         page was served from a stored snapshot because GitHub could not be reached, and as stale
+     *         if any page was served from the cache while being refreshed.
+     */
+    public GithubPopularityScoreResponse fetchTopRepositories(final String language, final LocalDate earliestDate, final int pages, final int limit,
+                                                              final ScoringModel model) {
+        logger.info("Fetching top {} repositories across {} pages for language: {}, earliestDate: {}", limit, pages, language, earliestDate);
+
+        CompletionService<GithubPopularityScoreResponse> completionService = new ExecutorCompletionService<>(fanOutExecutor);
+        List<Future<GithubPopularityScoreResponse>> futures = new ArrayList<>(pages);
+        TopKSelector<RepositoriesPopularityScoreDTO> topRepositories = new TopKSelector<>(limit, BY_POPULARITY_SCORE);
+
+        int nextPage = 1;
+        int totalNumberOfRepositories = 0;
+        boolean degraded = false;
+        boolean stale = false;
+        try {
+            while (nextPage <= pages && nextPage <= parallelism) {
+                futures.add(submitPage(completionService, language, earliestDate, nextPage++, model));
+            }
+
+            for (int received = 0; received < pages; received++) {
+                GithubPopularityScoreResponse page = completionService.take().get();
+                if (nextPage <= pages) {
+                    futures.add(submitPage(completionService, language, earliestDate, nextPage++, model));
+                }
+
+                totalNumberOfRepositories = Math.max(totalNumberOfRepositories, page.getTotalNumberOfRepositories());
+                topRepositories.offerAll(page.getRepositoriesPopularityScoreDTO());
+                degraded |= page.isDegraded();
+                stale |= page.isStale();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RepositoryServiceException("Interrupted while fetching repositories from GitHub", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RepositoryServiceException("Failed to fetch repositories from GitHub", e.getCause());
+        } finally {
+            // Only pages not yet started are dropped; a running page may be a flight other requests have joined.
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        logger.info("Selected top {} of {} repositories", topRepositories.size(), totalNumberOfRepositories);
+        GithubPopularityScoreResponse response = new GithubPopularityScoreResponse(totalNumberOfRepositories, topRepositories.toSortedList());
+        response.setDegraded(degraded);
+        response.setStale(stale);
+        return response;
+    }
+
+    private Future<GithubPopularityScoreResponse> submitPage(CompletionService<GithubPopularityScoreResponse> completionService,
+                                                             String language, LocalDate earliestDate, int page, ScoringModel model) {
+        return completionService.submit(() -> scoreCalculatorService.fetchAndScoreRepositories(language, earliestDate, page, model));
+    }
+}
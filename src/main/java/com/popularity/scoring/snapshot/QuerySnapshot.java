@@ -0,0 +1,78 @@
+package com.popularity.scoring.snapshot;
+
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * When a search query was last fetched from GitHub, how many repositories it reported and which
+ * scoring model the stored scores were computed with.
+ */
+@Entity
+@Table(name = "query_snapshot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_query_snapshot_query", columnNames = {"language", "earliest_date", "page_number"}),
+        indexes = @Index(name = "idx_query_snapshot_fetched_at", columnList = "fetched_at"))
+public class QuerySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String language;
+
+    @Column(name = "earliest_date", nullable = false)
+    private LocalDate earliestDate;
+
+    @Column(name = "page_number", nullable = false)
+    private int pageNumber;
+
+    @Column(name = "total_count", nullable = false)
+    private int totalCount;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    @Column(name = "scoring_model", length = 64)
+    private String scoringModel;
+
+    protected QuerySnapshot() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public LocalDate getEarliestDate() {
+        return earliestDate;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public String getScoringModel() {
+        return scoringModel != null ? scoringModel : ScoringModel.DEFAULT_NAME;
+    }
+}
@@ -0,0 +1,16 @@
+package com.popularity.scoring.snapshot;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface QuerySnapshotRepository extends JpaRepository<QuerySnapshot, Long> {
+
+    Optional<QuerySnapshot> findByLanguageAndEarliestDateAndPageNumber(String language, LocalDate earliestDate, int pageNumber);
+
+    List<QuerySnapshot> findByFetchedAtAfterOrderByFetchedAtDesc(Instant fetchedAfter, Limit limit);
+}
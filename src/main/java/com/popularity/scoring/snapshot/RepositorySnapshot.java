@@ -0,0 +1,112 @@
+package com.popularity.scoring.snapshot;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A scored repository as returned for a search query, in the order GitHub returned it.
+ */
+@Entity
+@Table(name = "repository_snapshot", indexes = {
+        @Index(name = "idx_repository_snapshot_query", columnList = "language, earliest_date, page_number, item_index"),
+        @Index(name = "idx_repository_snapshot_full_name", columnList = "full_name")
+})
+public class RepositorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String language;
+
+    @Column(name = "earliest_date", nullable = false)
+    private LocalDate earliestDate;
+
+    @Column(name = "page_number", nullable = false)
+    private int pageNumber;
+
+    @Column(name = "item_index", nullable = false)
+    private int itemIndex;
+
+    @Column(name = "full_name", nullable = false)
+    private String fullName;
+
+    @Column(nullable = false)
+    private int stars;
+
+    @Column(nullable = false)
+    private int forks;
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    @Column(name = "created_date")
+    private LocalDateTime createdDate;
+
+    @Column(name = "popularity_score", nullable = false)
+    private double popularityScore;
+
+    @Column(name = "fetched_at", nullable = false)
+    private Instant fetchedAt;
+
+    protected RepositorySnapshot() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public LocalDate getEarliestDate() {
+        return earliestDate;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getItemIndex() {
+        return itemIndex;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public int getStars() {
+        return stars;
+    }
+
+    public int getForks() {
+        return forks;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public double getPopularityScore() {
+        return popularityScore;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.popularity.scoring.snapshot;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RepositorySnapshotRepository extends JpaRepository<RepositorySnapshot, Long> {
+
+    List<RepositorySnapshot> findByLanguageAndEarliestDateAndPageNumberOrderByItemIndex(String language, LocalDate earliestDate, int pageNumber);
+}
@@ -0,0 +1,183 @@
+package com.popularity.scoring.snapshot;
+
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists scored search results so they survive restarts and GitHub outages.
+ *
+ * Reads go through Spring Data JPA; writes replace a whole page with JDBC batch statements,
+ * which avoids loading and dirty-checking up to 100 entities per page. A page is stored once for
+ * all scoring models, together with the model its scores were computed with, so that readers using
+ * another model can rescore it.
+ */
+@Component
+public class RepositorySnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositorySnapshotStore.class);
+
+    private static final String UPSERT_QUERY_SQL =
+            "MERGE INTO query_snapshot (language, earliest_date, page_number, total_count, fetched_at, scoring_model) "
+                    + "KEY (language, earliest_date, page_number) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_REPOSITORIES_SQL =
+            "DELETE FROM repository_snapshot WHERE language = ? AND earliest_date = ? AND page_number = ?";
+
+    private static final String INSERT_REPOSITORY_SQL =
+            "INSERT INTO repository_snapshot (language, earliest_date, page_number, item_index, full_name, stars, forks, "
+                    + "last_updated, created_date, popularity_score, fetched_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final QuerySnapshotRepository querySnapshotRepository;
+
+    private final RepositorySnapshotRepository repositorySnapshotRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Duration maxAge;
+
+    private final Duration maxStale;
+
+    public RepositorySnapshotStore(QuerySnapshotRepository querySnapshotRepository,
+                                   RepositorySnapshotRepository repositorySnapshotRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${scoring.snapshot.max-age:15m}") Duration maxAge,
+                                   @Value("${scoring.snapshot.max-stale:7d}") Duration maxStale) {
+        this.querySnapshotRepository = querySnapshotRepository;
+        this.repositorySnapshotRepository = repositorySnapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAge = maxAge;
+        this.maxStale = maxStale;
+    }
+
+    /**
+     * Reads the stored result of a query if it is recent enough to be served instead of calling GitHub.
+     *
+     * @param key The normalized query.
+     * @return The stored result, or empty if absent or older than {@code scoring.snapshot.max-age}.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StoredSnapshot> findFresh(QueryKey key) {
+        return find(key, maxAge);
+    }
+
+    /**
+     * Reads the stored result of a query to fall back on when GitHub cannot be reached.
+     *
+     * @param key The normalized query.
+     * @return The stored result, or empty if absent or older than {@code scoring.snapshot.max-stale}.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StoredSnapshot> findForFallback(QueryKey key) {
+        return find(key, maxStale);
+    }
+
+    /**
+     * Reads the most recently stored results that are still recent enough to be served, newest first.
+     * Used to warm the in-process cache after a restart.
+     *
+     * @param limit Maximum number of queries to read.
+     * @return The stored results by query.
+     */
+    @Transactional(readOnly = true)
+    public Map<QueryKey, StoredSnapshot> findRecent(int limit) {
+        Map<QueryKey, StoredSnapshot> snapshots = new LinkedHashMap<>();
+        querySnapshotRepository.findByFetchedAtAfterOrderByFetchedAtDesc(Instant.now().minus(maxAge), Limit.of(limit))
+                .forEach(query -> {
+                    QueryKey key = new QueryKey(query.getLanguage(), query.getEarliestDate(), query.getPageNumber(), query.getScoringModel());
+                    snapshots.put(key, new StoredSnapshot(toResponse(key, query), query.getFetchedAt(), query.getScoringModel()));
+                });
+        return snapshots;
+    }
+
+    private Optional<StoredSnapshot> find(QueryKey key, Duration notOlderThan) {
+        Instant now = Instant.now();
+        return querySnapshotRepository
+                .findByLanguageAndEarliestDateAndPageNumber(key.language(), key.earliestDate(), key.pageNumber())
+                .filter(query -> query.getFetchedAt().plus(notOlderThan).isAfter(now))
+                .map(query -> new StoredSnapshot(toResponse(key, query), query.getFetchedAt(), query.getScoringModel()));
+    }
+
+    /**
+     * Replaces the stored result of a query.
+     *
+     * @param key       The normalized query.
+     * @param response  The scored response.
+     * @param fetchedAt When the response was fetched from GitHub.
+     */
+    @Transactional
+    public void save(QueryKey key, GithubPopularityScoreResponse response, Instant fetchedAt) {
+        Timestamp fetchedAtTimestamp = Timestamp.from(fetchedAt);
+        List<RepositoriesPopularityScoreDTO> repositories = response.getRepositoriesPopularityScoreDTO();
+
+        jdbcTemplate.update(UPSERT_QUERY_SQL, key.language(), key.earliestDate(), key.pageNumber(),
+                response.getTotalNumberOfRepositories(), fetchedAtTimestamp, key.scoringModel());
+        jdbcTemplate.update(DELETE_REPOSITORIES_SQL, key.language(), key.earliestDate(), key.pageNumber());
+        if (repositories.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_REPOSITORY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                RepositoriesPopularityScoreDTO repository = repositories.get(index);
+                statement.setString(1, key.language());
+                statement.setObject(2, key.earliestDate());
+                statement.setInt(3, key.pageNumber());
+                statement.setInt(4, index);
+                statement.setString(5, repository.getFullName());
+                statement.setInt(6, repository.getStars());
+                statement.setInt(7, repository.getForks());
+                statement.setObject(8, repository.getLastUpdated());
+                statement.setObject(9, repository.getCreatedDate());
+                statement.setDouble(10, repository.getPopularityScore());
+                statement.setTimestamp(11, fetchedAtTimestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return repositories.size();
+            }
+        });
+
+        logger.debug("Stored snapshot of {} repositories for {}", repositories.size(), key);
+    }
+
+    private GithubPopularityScoreResponse toResponse(QueryKey key, QuerySnapshot query) {
+        List<RepositoriesPopularityScoreDTO> repositories = repositorySnapshotRepository
+                .findByLanguageAndEarliestDateAndPageNumberOrderByItemIndex(key.language(), key.earliestDate(), key.pageNumber())
+                .stream()
+                .map(RepositorySnapshotStore::toDto)
+                .toList();
+        return new GithubPopularityScoreResponse(query.getTotalCount(), repositories);
+    }
+
+    private static RepositoriesPopularityScoreDTO toDto(RepositorySnapshot snapshot) {
+        return new RepositoriesPopularityScoreDTO.Builder()
+                .fullName(snapshot.getFullName())
+                .stars(snapshot.getStars())
+                .forks(snapshot.getForks())
+                .lastUpdated(snapshot.getLastUpdated())
+                .createdDate(snapshot.getCreatedDate())
+                .popularityScore(snapshot.getPopularityScore())
+                .build();
+    }
+}
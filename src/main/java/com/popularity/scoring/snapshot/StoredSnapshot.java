@@ -0,0 +1,15 @@
+package com.popularity.scoring.snapshot;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+
+import java.time.Instant;
+
+/**
+ * A scored response read back from the snapshot store.
+ *
+ * @param response     The scored response.
+ * @param fetchedAt    When the response was fetched from GitHub.
+ * @param scoringModel The name of the scoring model the stored scores were computed with.
+ */
+public record StoredSnapshot(GithubPopularityScoreResponse response, Instant fetchedAt, String scoringModel) {
+}
@@ -0,0 +1,186 @@
+package com.popularity.scoring.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.ScoreResultCache;
+import com.popularity.scoring.client.GitHubSearchResponseReader;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.service.ScoreCalculatorService;
+import com.popularity.scoring.service.ScoringUtil;
+import com.popularity.scoring.snapshot.RepositorySnapshotStore;
+import com.popularity.scoring.snapshot.StoredSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Warms the service up after a deploy, before it reports ready.
+ *
+ * Spring Boot only switches readiness to accepting traffic once all application runners have
+ * completed, so load balancers keep routing to the previous instance while this runs. The warm-up
+ * loads the most recent stored snapshots into the result cache, fetches a configured list of hot
+ * queries, and exercises the scoring and JSON paths often enough for the JIT to compile them.
+ */
+@Component
+@ConditionalOnProperty(name = "scoring.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final int SYNTHETIC_PAGE_SIZE = 100;
+
+    private final ScoreCalculatorService scoreCalculatorService;
+
+    private final ScoringUtil scoringUtil;
+
+    private final ScoreResultCache resultCache;
+
+    private final RepositorySnapshotStore snapshotStore;
+
+    private final ObjectMapper objectMapper;
+
+    private final List<String> queries;
+
+    private final int snapshotLimit;
+
+    private final int jitIterations;
+
+    public WarmUpRunner(ScoreCalculatorService scoreCalculatorService, ScoringUtil scoringUtil,
+                        ScoreResultCache resultCache, RepositorySnapshotStore snapshotStore, ObjectMapper objectMapper,
+                        @Value("${scoring.warm-up.queries:}") List<String> queries,
+                        @Value("${scoring.warm-up.snapshot-limit:100}") int snapshotLimit,
+                        @Value("${scoring.warm-up.jit-iterations:200}") int jitIterations) {
+        this.scoreCalculatorService = scoreCalculatorService;
+        this.scoringUtil = scoringUtil;
+        this.resultCache = resultCache;
+        this.snapshotStore = snapshotStore;
+        this.objectMapper = objectMapper;
+        this.queries = queries;
+        this.snapshotLimit = snapshotLimit;
+        this.jitIterations = jitIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        WarmUpSummary summary = warmUp();
+        logger.info("Warm-up finished in {} ms: {}", summary.duration().toMillis(), summary);
+    }
+
+    /**
+     * Runs all warm-up phases. Failures are logged and never prevent the application from starting.
+     *
+     * @return A summary of the warm-up.
+     */
+    public WarmUpSummary warmUp() {
+        long startedAt = System.nanoTime();
+
+        int snapshotsLoaded = loadRecentSnapshots();
+
+        int fetched = 0;
+        int failed = 0;
+        for (String query : queries) {
+            if (fetchHotQuery(query.trim())) {
+                fetched++;
+            } else {
+                failed++;
+            }
+        }
+
+        int iterations = exerciseHotPaths();
+
+        return new WarmUpSummary(snapshotsLoaded, fetched, failed, iterations, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private int loadRecentSnapshots() {
+        if (snapshotLimit <= 0) {
+            return 0;
+        }
+        try {
+            Map<QueryKey, StoredSnapshot> snapshots = snapshotStore.findRecent(snapshotLimit);
+            snapshots.forEach((key, snapshot) -> resultCache.put(key, snapshot.response()));
+            return snapshots.size();
+        } catch (RuntimeException e) {
+            logger.warn("Could not load stored snapshots during warm-up: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Fetches one configured query, given as {@code language:yyyy-MM-dd} or {@code language:yyyy-MM-dd:page}.
+     */
+    private boolean fetchHotQuery(String query) {
+        String[] parts = query.split(":");
+        try {
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("expected language:yyyy-MM-dd[:page]");
+            }
+            int page = parts.length == 3 ? Integer.parseInt(parts[2]) : 1;
+            scoreCalculatorService.fetchAndScoreRepositories(parts[0], LocalDate.parse(parts[1]), page);
+            return true;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            logger.warn("Ignoring malformed warm-up query '{}': {}", query, e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up query '{}' failed: {}", query, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Scores, serializes and deserializes a synthetic full page repeatedly so that the hot paths are
+     * compiled before the first real request arrives.
+     */
+    private int exerciseHotPaths() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).withNano(0);
+        DateTimeFormatter timestampFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        List<Map<String, Object>> items = new ArrayList<>(SYNTHETIC_PAGE_SIZE);
+        List<RepositoriesPopularityScoreDTO> repositories = new ArrayList<>(SYNTHETIC_PAGE_SIZE);
+        for (int i = 0; i < SYNTHETIC_PAGE_SIZE; i++) {
+            String fullName = "warm-up/repository-" + i;
+            items.add(Map.of(
+                    "full_name", fullName,
+                    "stargazers_count", i * 10,
+                    "forks_count", i,
+                    "updated_at", now.minusDays(i).format(timestampFormat),
+                    "created_at", now.minusYears(1).format(timestampFormat),
+                    "html_url", "https://github.com/" + fullName));
+            repositories.add(new RepositoriesPopularityScoreDTO.Builder()
+                    .fullName(fullName)
+                    .stars(i * 10)
+                    .forks(i)
+                    .lastUpdated(now.minusDays(i))
+                    .createdDate(now.minusYears(1))
+                    .build());
+        }
+        GithubPopularityScoreResponse page = new GithubPopularityScoreResponse(SYNTHETIC_PAGE_SIZE, repositories);
+
+        int iteration = 0;
+        try {
+            GitHubSearchResponseReader searchResponseReader = new GitHubSearchResponseReader(objectMapper.getFactory());
+            byte[] upstreamJson = objectMapper.writeValueAsBytes(Map.of("total_count", SYNTHETIC_PAGE_SIZE, "items", items));
+            for (; iteration < jitIterations; iteration++) {
+                searchResponseReader.read(upstreamJson);
+                objectMapper.writeValueAsBytes(scoringUtil.calculatePopularityScores(page));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Stopped exercising hot paths after {} iterations: {}", iteration, e.getMessage());
+        }
+        return iteration;
+    }
+}
@@ -0,0 +1,15 @@
+package com.popularity.scoring.warmup;
+
+import java.time.Duration;
+
+/**
+ * Outcome of the startup warm-up.
+ *
+ * @param snapshotsLoaded Number of stored snapshots loaded into the result cache.
+ * @param queriesFetched  Number of configured hot queries fetched and scored.
+ * @param queriesFailed   Number of configured hot queries that could not be fetched.
+ * @param jitIterations   Number of times the scoring and serialization paths were exercised.
+ * @param duration        Wall-clock time spent warming up.
+ */
+public record WarmUpSummary(int snapshotsLoaded, int queriesFetched, int queriesFailed, int jitIterations, Duration duration) {
+}
@@ -0,0 +1,196 @@
+package com.popularity.scoring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and p99 latency of the scoring endpoint on platform and on virtual threads.
+ *
+ * A local stub stands in for GitHub and answers every search after a fixed delay. Every request
+ * asks for a distinct language, so none is served from the cache or coalesced, and each one holds
+ * its request thread for a full upstream round trip. On platform threads the service is capped by
+ * Tomcat's 200 worker threads; on virtual threads by the GitHub concurrency limit.
+ *
+ * Excluded from the regular build; run with {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CLIENTS = 1_000;
+
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    private static final int WARM_UP_REQUESTS = 500;
+
+    private static final int GITHUB_CONCURRENCY = 512;
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(200);
+
+    private static final AtomicInteger languages = new AtomicInteger();
+
+    private static HttpServer gitHubStub;
+
+    private static ExecutorService gitHubStubExecutor;
+
+    @BeforeAll
+    static void startGitHubStub() throws IOException {
+        byte[] page = searchPage();
+        gitHubStubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        gitHubStub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), CLIENTS);
+        gitHubStub.setExecutor(gitHubStubExecutor);
+        gitHubStub.createContext("/", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        gitHubStub.start();
+    }
+
+    @AfterAll
+    static void stopGitHubStub() {
+        gitHubStub.stop(0);
+        gitHubStubExecutor.shutdownNow();
+    }
+
+    @Test
+    void virtualThreads_shouldOutperformPlatformThreads_atOneThousandConcurrentClients() throws Exception {
+        LoadResult platform = runLoad(false);
+        LoadResult virtual = runLoad(true);
+
+        logger.info("Platform threads: {}", platform);
+        logger.info("Virtual threads:  {}", virtual);
+
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+        assertThat(virtual.p99()).isLessThan(platform.p99());
+    }
+
+    private LoadResult runLoad(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GithubRepositoryPopularityScoringServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "github.api.base-url=http://localhost:" + gitHubStub.getAddress().getPort(),
+                        "github.rate-limit.max-concurrent=" + GITHUB_CONCURRENCY,
+                        "github.rate-limit.max-wait=1m",
+                        "scoring.refresh.enabled=false",
+                        "logging.level.com.popularity.scoring=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI endpoint = URI.create("http://localhost:" + port + "/api/v1/calculateGithubRepositoryPopularityScore");
+
+            try (HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                drive(client, endpoint, WARM_UP_REQUESTS / REQUESTS_PER_CLIENT);
+                return drive(client, endpoint, CLIENTS);
+            }
+        }
+    }
+
+    /**
+     * Lets each client send its requests one after another and collects the latencies of all of them.
+     */
+    private static LoadResult drive(HttpClient client, URI endpoint, int clients) throws Exception {
+        long startedAt = System.nanoTime();
+        List<Future<long[]>> clientLatencies = new ArrayList<>(clients);
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                clientLatencies.add(clientThreads.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int request = 0; request < REQUESTS_PER_CLIENT; request++) {
+                        HttpRequest search = HttpRequest.newBuilder(URI.create(endpoint
+                                        + "?language=lang" + languages.incrementAndGet() + "&earliestDate=2024-01-01"))
+                                .timeout(Duration.ofMinutes(1))
+                                .build();
+                        long sentAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(search, HttpResponse.BodyHandlers.discarding());
+                        latencies[request] = System.nanoTime() - sentAt;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        long[] latencies = new long[clients * REQUESTS_PER_CLIENT];
+        for (int i = 0; i < clients; i++) {
+            System.arraycopy(clientLatencies.get(i).get(), 0, latencies, i * REQUESTS_PER_CLIENT, REQUESTS_PER_CLIENT);
+        }
+        Arrays.sort(latencies);
+        Duration p99 = Duration.ofNanos(latencies[(int) Math.ceil(latencies.length * 0.99) - 1]);
+        return new LoadResult(latencies.length, failures.get(), elapsed, p99);
+    }
+
+    private static byte[] searchPage() {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"full_name\":\"owner/repository-").append(i)
+                    .append("\",\"stargazers_count\":").append(1000 - i)
+                    .append(",\"forks_count\":").append(100 - i)
+                    .append(",\"created_at\":\"2024-01-02T00:00:00Z\",\"updated_at\":\"2024-06-01T12:00:00Z\"}");
+        }
+        return ("{\"total_count\":10,\"incomplete_results\":false,\"items\":[" + items + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record LoadResult(int requests, int failures, Duration elapsed, Duration p99) {
+
+        double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests in %d ms, %.0f requests/s, p99 %d ms, %d failures",
+                    requests, elapsed.toMillis(), throughput(), p99.toMillis(), failures);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.popularity.scoring.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 0.2, 1.5, Duration.ofSeconds(1), clock::get);
+
+    @Test
+    void shouldRejectRequests_beyondTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onDropped();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldGrowLimit_whileLatencyIsSteadyUnderLoad() {
+        runWindow(20, FAST);
+        int initial = limiter.limit();
+
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter.limit(), FAST);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(initial);
+    }
+
+    @Test
+    void shouldShrinkLimit_whenLatencyRises() {
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter.limit(), FAST);
+        }
+        int beforeOverload = limiter.limit();
+
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter.limit(), SLOW);
+        }
+
+        assertThat(limiter.limit()).isLessThan(beforeOverload);
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldNotGrowLimit_whileMostlyIdle() {
+        for (int window = 0; window < 5; window++) {
+            runWindow(2, FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    /**
+     * Runs one window in which {@code concurrency} requests are in flight together, repeated until
+     * the window has enough samples, then moves the clock past its end.
+     */
+    private void runWindow(int concurrency, long rttNanos) {
+        int samples = 0;
+        while (samples < AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES) {
+            int admitted = 0;
+            while (admitted < concurrency && limiter.tryAcquire()) {
+                admitted++;
+            }
+            if (samples + admitted >= AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES) {
+                clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+            samples += admitted;
+        }
+    }
+}
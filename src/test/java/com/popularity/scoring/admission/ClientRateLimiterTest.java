@@ -0,0 +1,102 @@
+package com.popularity.scoring.admission;
+
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ClientRateLimiter clientRateLimiter = new ClientRateLimiter(true, 10, 5, 2, Set.of("abc"), clock::get);
+
+    @Test
+    void shouldAdmitBurst_thenRejectWithRetryAfter() {
+        for (int i = 0; i < 5; i++) {
+            clientRateLimiter.acquire("ip:10.0.0.1", 1);
+        }
+
+        assertThatThrownBy(() -> clientRateLimiter.acquire("ip:10.0.0.1", 1))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter()).isEqualTo(Duration.ofMillis(100)));
+    }
+
+    @Test
+    void shouldReportBurst_asMostTokensOneRequestMayCost() {
+        assertThat(clientRateLimiter.burst()).isEqualTo(5);
+        assertThat(new ClientRateLimiter(false, 10, 5, 2, Set.of(), clock::get).burst()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        for (int i = 0; i < 5; i++) {
+            clientRateLimiter.acquire("ip:10.0.0.1", 1);
+        }
+
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        clientRateLimiter.acquire("ip:10.0.0.1", 1);
+
+        assertThatThrownBy(() -> clientRateLimiter.acquire("ip:10.0.0.1", 1)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldLimitClientsIndependently() {
+        for (int i = 0; i < 5; i++) {
+            clientRateLimiter.acquire("ip:10.0.0.1", 1);
+        }
+
+        clientRateLimiter.acquire("ip:10.0.0.2", 1);
+    }
+
+    @Test
+    void shouldAdmitLargeRequest_andMakeClientPayForIt() {
+        clientRateLimiter.acquire("key:batch", 20);
+
+        assertThatThrownBy(() -> clientRateLimiter.acquire("key:batch", 1))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter()).isEqualTo(Duration.ofMillis(1600)));
+    }
+
+    @Test
+    void shouldPruneIdleClients_onceOverCapacity() {
+        clientRateLimiter.acquire("ip:10.0.0.1", 1);
+        clientRateLimiter.acquire("ip:10.0.0.2", 1);
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        clientRateLimiter.acquire("ip:10.0.0.3", 1);
+
+        assertThat(clientRateLimiter.clients()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAdmitEverything_whenDisabled() {
+        ClientRateLimiter disabled = new ClientRateLimiter(false, 10, 5, 2, Set.of(), clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            disabled.acquire("ip:10.0.0.1", 1);
+        }
+        assertThat(disabled.clients()).isZero();
+    }
+
+    @Test
+    void shouldIdentifyClientByKnownApiKey_elseRemoteAddress() {
+        MockHttpServletRequest withKey = new MockHttpServletRequest();
+        withKey.addHeader(ClientRateLimiter.API_KEY_HEADER, "abc");
+        MockHttpServletRequest withUnknownKey = new MockHttpServletRequest();
+        withUnknownKey.addHeader(ClientRateLimiter.API_KEY_HEADER, "made-up");
+        withUnknownKey.setRemoteAddr("10.0.0.8");
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        anonymous.setRemoteAddr("10.0.0.7");
+
+        assertThat(clientRateLimiter.clientKey(withKey)).isEqualTo("key:abc");
+        assertThat(clientRateLimiter.clientKey(withUnknownKey)).isEqualTo("ip:10.0.0.8");
+        assertThat(clientRateLimiter.clientKey(anonymous)).isEqualTo("ip:10.0.0.7");
+    }
+}
@@ -0,0 +1,54 @@
+package com.popularity.scoring.admission;
+
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.2, 1.5, Duration.ofSeconds(1), System::nanoTime);
+
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiter);
+
+    @Test
+    void shouldRejectWith429_onceLimitIsReached() {
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object());
+
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("Too many concurrent requests");
+    }
+
+    @Test
+    void shouldReleaseSlot_afterCompletion() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    void shouldHoldSlot_untilAsyncDispatchCompletes() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertThat(limiter.inFlight()).isZero();
+    }
+}
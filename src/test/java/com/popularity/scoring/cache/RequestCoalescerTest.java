@@ -0,0 +1,149 @@
+package com.popularity.scoring.cache;
+
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private static final QueryKey KEY = QueryKey.of("java", LocalDate.of(2024, 1, 1), 1);
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    void shouldShareOneUpstreamCall_betweenConcurrentIdenticalQueries() throws Exception {
+        int callers = 8;
+        GithubPopularityScoreResponse response = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<GithubPopularityScoreResponse>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.execute(KEY, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return response;
+                })));
+            }
+
+            while (coalescer.stats().coalescedCalls() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<GithubPopularityScoreResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CoalescingStats stats = coalescer.stats();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(stats.upstreamCalls()).isEqualTo(1);
+        assertThat(stats.maxCallersPerCall()).isEqualTo(callers);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldPropagateFailure_andAllowRetryAfterwards() {
+        assertThatThrownBy(() -> coalescer.execute(KEY, () -> {
+            throw new RepositoryServiceException("GitHub unavailable");
+        })).isInstanceOf(RepositoryServiceException.class);
+
+        GithubPopularityScoreResponse response = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        assertThat(coalescer.execute(KEY, () -> response)).isSameAs(response);
+        assertThat(coalescer.stats().upstreamCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseJoinedCallers_whenLoaderThrowsError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<GithubPopularityScoreResponse> leader = executor.submit(() -> coalescer.execute(KEY, () -> {
+                await(release);
+                throw new StackOverflowError();
+            }));
+            while (coalescer.stats().inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<GithubPopularityScoreResponse> joined = executor.submit(() -> coalescer.execute(KEY, () -> {
+                throw new AssertionError("joined caller must not load");
+            }));
+            while (coalescer.stats().coalescedCalls() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> joined.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(coalescer.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldShareOneAsyncUpstreamCall_withBlockingAndAsyncCallers() throws Exception {
+        GithubPopularityScoreResponse response = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        CompletableFuture<GithubPopularityScoreResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<GithubPopularityScoreResponse> first = coalescer.executeAsync(KEY, () -> upstream);
+        CompletableFuture<GithubPopularityScoreResponse> second = coalescer.executeAsync(KEY, CompletableFuture::new);
+        CompletableFuture<GithubPopularityScoreResponse> blocking = CompletableFuture.supplyAsync(
+                () -> coalescer.execute(KEY, () -> new GithubPopularityScoreResponse(1, Collections.emptyList())));
+        while (coalescer.stats().coalescedCalls() < 2) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(first).isNotDone();
+        upstream.complete(response);
+
+        assertThat(first.join()).isSameAs(response);
+        assertThat(second.join()).isSameAs(response);
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(coalescer.stats().upstreamCalls()).isEqualTo(1);
+        assertThat(coalescer.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldPropagateAsyncFailure_andAllowRetryAfterwards() {
+        CompletableFuture<GithubPopularityScoreResponse> failed = coalescer.executeAsync(KEY,
+                () -> CompletableFuture.failedFuture(new RepositoryServiceException("GitHub unavailable")));
+
+        assertThatThrownBy(failed::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RepositoryServiceException.class);
+
+        GithubPopularityScoreResponse response = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        assertThat(coalescer.executeAsync(KEY, () -> CompletableFuture.completedFuture(response)).join()).isSameAs(response);
+        assertThat(coalescer.stats().upstreamCalls()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.popularity.scoring.cache;
+
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreResultCacheTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    private ScoreResultCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new ScoreResultCache(2, Duration.ofMinutes(5), Duration.ofMinutes(1), ticker::get);
+    }
+
+    @Test
+    void shouldReturnCachedResponse_forNormalizedKey() {
+        GithubPopularityScoreResponse response = response();
+        cache.put(QueryKey.of("Java", TEST_DATE, 1), response);
+
+        assertThat(cache.get(QueryKey.of(" java ", TEST_DATE, 1))).isSameAs(response);
+        assertThat(cache.get(QueryKey.of("java", TEST_DATE, 2))).isNull();
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeStaleEntries_untilStaleWindowEnds() {
+        QueryKey key = QueryKey.of("java", TEST_DATE, 1);
+        GithubPopularityScoreResponse response = response();
+        cache.put(key, response);
+
+        ticker.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertThat(cache.get(key)).isNull();
+        CacheLookup lookup = cache.lookup(key);
+        assertThat(lookup.stale()).isTrue();
+        assertThat(lookup.value()).isSameAs(response);
+
+        ticker.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertThat(cache.lookup(key).isHit()).isFalse();
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void shouldOfferHottestEntriesNearExpiry_asRefreshCandidates() {
+        QueryKey hot = QueryKey.of("java", TEST_DATE, 1);
+        QueryKey warm = QueryKey.of("python", TEST_DATE, 1);
+        cache.put(hot, response());
+        cache.put(warm, response());
+        cache.get(hot);
+        cache.get(hot);
+        cache.get(warm);
+
+        assertThat(cache.refreshCandidates(10, Duration.ofSeconds(30))).isEmpty();
+
+        ticker.addAndGet(Duration.ofMinutes(4).plusSeconds(40).toNanos());
+
+        assertThat(cache.refreshCandidates(10, Duration.ofSeconds(30))).containsExactly(hot, warm);
+        assertThat(cache.refreshCandidates(1, Duration.ofSeconds(30))).containsExactly(hot);
+    }
+
+    @Test
+    void shouldNotOfferEntriesAgain_untilReadSinceTheirLastRefresh() {
+        QueryKey formerlyHot = QueryKey.of("java", TEST_DATE, 1);
+        QueryKey warm = QueryKey.of("python", TEST_DATE, 1);
+        cache.put(formerlyHot, response());
+        cache.put(warm, response());
+        for (int i = 0; i < 10; i++) {
+            cache.get(formerlyHot);
+        }
+        ticker.addAndGet(Duration.ofMinutes(4).plusSeconds(40).toNanos());
+        cache.put(formerlyHot, response());
+        cache.put(warm, response());
+        cache.get(warm);
+
+        ticker.addAndGet(Duration.ofMinutes(4).plusSeconds(40).toNanos());
+
+        assertThat(cache.refreshCandidates(10, Duration.ofSeconds(30))).containsExactly(warm);
+    }
+
+    @Test
+    void shouldEvictLeastFrequentlyUsedEntry_whenFull() {
+        QueryKey hot = QueryKey.of("java", TEST_DATE, 1);
+        QueryKey cold = QueryKey.of("python", TEST_DATE, 1);
+        QueryKey fresh = QueryKey.of("go", TEST_DATE, 1);
+
+        cache.put(hot, response());
+        ticker.incrementAndGet();
+        cache.put(cold, response());
+        cache.get(hot);
+        cache.get(hot);
+
+        cache.put(fresh, response());
+
+        assertThat(cache.get(hot)).isNotNull();
+        assertThat(cache.get(fresh)).isNotNull();
+        assertThat(cache.get(cold)).isNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordFlightRecorderEvents_forHitsMissesAndEvictions(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("cache.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.popularity.scoring.CacheOperation");
+            recording.start();
+
+            cache.put(QueryKey.of("java", TEST_DATE, 1), response());
+            cache.get(QueryKey.of("java", TEST_DATE, 1));
+            cache.get(QueryKey.of("java", TEST_DATE, 2));
+            cache.put(QueryKey.of("java", TEST_DATE, 2), response());
+            cache.put(QueryKey.of("java", TEST_DATE, 3), response());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+                .extracting(event -> event.getString("operation"))
+                .containsExactlyInAnyOrder("hit", "miss", "eviction");
+        assertThat(RecordingFile.readAllEvents(file))
+                .filteredOn(event -> event.getString("operation").equals("eviction"))
+                .extracting((RecordedEvent event) -> event.getString("query"))
+                .containsExactly(QueryKey.of("java", TEST_DATE, 2).toString());
+    }
+
+    private static GithubPopularityScoreResponse response() {
+        return new GithubPopularityScoreResponse(0, Collections.emptyList());
+    }
+}
@@ -0,0 +1,222 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubAsyncClientTest {
+
+    private static final String SEARCH_RESPONSE = "{\"total_count\":1,\"items\":[{\"full_name\":\"test/repo\",\"stargazers_count\":100,"
+            + "\"forks_count\":50,\"created_at\":\"2023-01-02T00:00:00Z\",\"updated_at\":\"2024-06-01T12:00:00Z\"}]}";
+
+    @Mock
+    private HttpClient httpClient;
+
+    private final GitHubRateLimitScheduler rateLimitScheduler = new GitHubRateLimitScheduler(4, 0.1, Duration.ofSeconds(1));
+
+    private final GitHubRetryExecutor retryExecutor = new GitHubRetryExecutor(3, Duration.ofMillis(1), Duration.ofMillis(10), false,
+            Duration.ofMillis(50), Runnable::run, new RetryBudget(0.1, 1, System::nanoTime));
+
+    private final GitHubCircuitBreaker circuitBreaker = new GitHubCircuitBreaker(4, 4, 0.5, Duration.ofSeconds(5), 0.8,
+            Duration.ofSeconds(30), 1, System::nanoTime);
+
+    private final GitHubBulkhead bulkhead = new GitHubBulkhead(2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GitHubAsyncClient gitHubAsyncClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gitHubAsyncClient = new GitHubAsyncClient(httpClient, rateLimitScheduler, retryExecutor, circuitBreaker, bulkhead,
+                new GitHubSearchMetrics(meterRegistry), Duration.ofSeconds(10));
+        Field field = GitHubAsyncClient.class.getDeclaredField("githubApiBaseUrl");
+        field.setAccessible(true);
+        field.set(gitHubAsyncClient, "https://api.github.com");
+    }
+
+    @Test
+    void shouldFetchAndReadRepositories_andTrackQuota() {
+        stubResponse(200, Map.of("X-RateLimit-Remaining", List.of("29"), "X-RateLimit-Reset", List.of("4102444800")),
+                SEARCH_RESPONSE.getBytes(StandardCharsets.UTF_8));
+
+        GithubPopularityScoreResponse result = search().join();
+
+        assertThat(result.getTotalNumberOfRepositories()).isEqualTo(1);
+        assertThat(result.getRepositoriesPopularityScoreDTO().get(0).getFullName()).isEqualTo("test/repo");
+        assertThat(rateLimitScheduler.stats().remaining()).isEqualTo(29);
+        assertThat(rateLimitScheduler.stats().inFlight()).isZero();
+
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any());
+        assertThat(request.getValue().uri().toString()).isEqualTo("https://api.github.com/search/repositories"
+                + "?q=created:%3E2023-01-01+language:java&sort=stars&order=desc&per_page=100&page=1");
+        assertThat(request.getValue().headers().firstValue("Accept-Encoding")).contains("gzip");
+    }
+
+    @Test
+    void shouldDecompressGzipResponses() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(SEARCH_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        }
+        stubResponse(200, Map.of("Content-Encoding", List.of("gzip")), compressed.toByteArray());
+
+        assertThat(search().join().getRepositoriesPopularityScoreDTO()).hasSize(1);
+    }
+
+    @Test
+    void shouldFailWithRateLimitExceeded_whenGitHubReportsRateLimit() {
+        stubResponse(403, Map.of("X-RateLimit-Remaining", List.of("0"), "X-RateLimit-Reset", List.of("4102444800")), new byte[0]);
+
+        assertThatThrownBy(() -> search().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldRetryServerErrors_thenFailWithRepositoryServiceException() {
+        stubResponse(502, Map.of(), new byte[0]);
+
+        assertThatThrownBy(() -> search().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RepositoryServiceException.class)
+                .hasMessageContaining("Status: 502");
+        verify(httpClient, times(3)).sendAsync(any(HttpRequest.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRetryServerError_andReturnLaterSuccess() {
+        HttpResponse<byte[]> unavailable = response(503, Map.of(), new byte[0]);
+        HttpResponse<byte[]> ok = response(200, Map.of(), SEARCH_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(unavailable), CompletableFuture.completedFuture(ok));
+
+        assertThat(search().join().getRepositoriesPopularityScoreDTO()).hasSize(1);
+        assertThat(rateLimitScheduler.stats().inFlight()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordStatusCodes_parseTimeAndItemsPerPage() {
+        HttpResponse<byte[]> unavailable = response(503, Map.of(), new byte[0]);
+        HttpResponse<byte[]> ok = response(200, Map.of(), SEARCH_RESPONSE.getBytes(StandardCharsets.UTF_8));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(unavailable), CompletableFuture.completedFuture(ok));
+
+        search().join();
+
+        assertThat(meterRegistry.get("github.search.requests").tags("client", "async", "status", "503").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.search.requests").tags("client", "async", "status", "200").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.search.parse").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.search.page.items").summary().totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        stubResponse(422, Map.of(), new byte[0]);
+
+        assertThatThrownBy(() -> search().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RepositoryServiceException.class)
+                .hasMessageContaining("Status: 422");
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFailWithRepositoryServiceException_onPersistentTransportError() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException("request timed out")));
+
+        assertThatThrownBy(() -> search().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RepositoryServiceException.class);
+        verify(httpClient, times(3)).sendAsync(any(HttpRequest.class), any());
+        assertThat(rateLimitScheduler.stats().inFlight()).isZero();
+        assertThat(meterRegistry.get("github.search.requests").tags("client", "async", "status", "IO_ERROR").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFailFast_onceCircuitOpens() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException("request timed out")));
+
+        assertThatThrownBy(() -> search().join()).hasCauseInstanceOf(RepositoryServiceException.class);
+        assertThatThrownBy(() -> search().join()).hasCauseInstanceOf(GitHubUnavailableException.class);
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+        verify(httpClient, times(4)).sendAsync(any(HttpRequest.class), any());
+        assertThat(bulkhead.inUse()).isZero();
+    }
+
+    @Test
+    void shouldRejectSearch_whenBulkheadIsFull() {
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        assertThatThrownBy(() -> search().join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(GitHubUnavailableException.class);
+        verifyNoInteractions(httpClient);
+    }
+
+    private CompletableFuture<GithubPopularityScoreResponse> search() {
+        return gitHubAsyncClient.searchAllRepositories("java", LocalDate.of(2023, 1, 1), 1, RequestPriority.INTERACTIVE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubResponse(int status, Map<String, List<String>> headers, byte[] body) {
+        HttpResponse<byte[]> response = response(status, headers, body);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> response(int status, Map<String, List<String>> headers, byte[] body) {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        if (status == 200) {
+            when(response.body()).thenReturn(body);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,129 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubCircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(100).toNanos();
+    private static final long SLOW = Duration.ofSeconds(6).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final GitHubCircuitBreaker circuitBreaker = new GitHubCircuitBreaker(10, 4, 0.5, Duration.ofSeconds(5), 0.8,
+            Duration.ofSeconds(30), 2, clock::get);
+
+    @Test
+    void shouldStayClosed_belowMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure(circuitBreaker.acquirePermission(), FAST);
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldOpen_whenFailureRateReachesThreshold() {
+        circuitBreaker.onSuccess(circuitBreaker.acquirePermission(), FAST);
+        circuitBreaker.onSuccess(circuitBreaker.acquirePermission(), FAST);
+        circuitBreaker.onFailure(circuitBreaker.acquirePermission(), FAST);
+        circuitBreaker.onFailure(circuitBreaker.acquirePermission(), FAST);
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission)
+                .isInstanceOf(GitHubUnavailableException.class)
+                .satisfies(e -> assertThat(((GitHubUnavailableException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void shouldOpen_whenSlowCallRateReachesThreshold() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess(circuitBreaker.acquirePermission(), SLOW);
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldJudgeOnlyTheLastWindowOfCalls() {
+        GitHubCircuitBreaker smallWindow = new GitHubCircuitBreaker(4, 4, 0.5, Duration.ofSeconds(5), 0.8, Duration.ofSeconds(30), 2, clock::get);
+        smallWindow.onFailure(smallWindow.acquirePermission(), FAST);
+        for (int i = 0; i < 4; i++) {
+            smallWindow.onSuccess(smallWindow.acquirePermission(), FAST);
+        }
+        smallWindow.onFailure(smallWindow.acquirePermission(), FAST);
+        assertThat(smallWindow.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+
+        smallWindow.onFailure(smallWindow.acquirePermission(), FAST);
+
+        assertThat(smallWindow.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldClose_whenTrialCallsSucceedAfterOpenDuration() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        long first = circuitBreaker.acquirePermission();
+        long second = circuitBreaker.acquirePermission();
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(circuitBreaker::acquirePermission).isInstanceOf(GitHubUnavailableException.class);
+
+        circuitBreaker.onSuccess(first, FAST);
+        circuitBreaker.onSuccess(second, FAST);
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopen_whenTrialCallsFail() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        long first = circuitBreaker.acquirePermission();
+        long second = circuitBreaker.acquirePermission();
+        circuitBreaker.onFailure(first, FAST);
+        circuitBreaker.onFailure(second, FAST);
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldReleaseTrialPermit_ofIgnoredCall() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        long shed = circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onIgnored(shed);
+
+        circuitBreaker.acquirePermission();
+    }
+
+    @Test
+    void shouldIgnoreOutcomes_ofCallsAdmittedBeforeTransition() {
+        long late = circuitBreaker.acquirePermission();
+        open();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        long trial = circuitBreaker.acquirePermission();
+
+        circuitBreaker.onFailure(late, FAST);
+        circuitBreaker.onSuccess(trial, FAST);
+        circuitBreaker.onSuccess(circuitBreaker.acquirePermission(), FAST);
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure(circuitBreaker.acquirePermission(), FAST);
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+    }
+}
@@ -1,30 +1,46 @@
 package com.popularity.scoring.client;
 
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
 import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
-import com.popularity.scoring.model.GitHubApiResponse;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
 import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
-import com.popularity.scoring.model.RepositoryItems;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +49,25 @@ public class GitHubClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private GitHubRateLimitScheduler rateLimitScheduler = new GitHubRateLimitScheduler(4, 0.1, Duration.ofSeconds(1));
+
+    @Spy
+    private GitHubRetryExecutor retryExecutor = new GitHubRetryExecutor(3, Duration.ofMillis(1), Duration.ofMillis(10), false,
+            Duration.ofMillis(50), Runnable::run, new RetryBudget(0.1, 1, System::nanoTime));
+
+    @Spy
+    private GitHubCircuitBreaker circuitBreaker = new GitHubCircuitBreaker(4, 4, 0.5, Duration.ofSeconds(5), 0.8,
+            Duration.ofSeconds(30), 1, System::nanoTime);
+
+    @Spy
+    private GitHubBulkhead bulkhead = new GitHubBulkhead(2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private GitHubSearchMetrics searchMetrics = new GitHubSearchMetrics(meterRegistry);
+
     @InjectMocks
     private GitHubClient gitHubClient;
 
@@ -52,21 +87,11 @@ public class GitHubClientTest {
         LocalDate earliestDate = LocalDate.of(2023, 1, 1);
         int page = 1;
 
-        RepositoryItems repositoryItem = new RepositoryItems();
-        repositoryItem.setFullName("test/repo");
-        repositoryItem.setStars(100);
-        repositoryItem.setForks(50);
-        repositoryItem.setLastUpdated(LocalDateTime.now());
-        repositoryItem.setCreatedDate(LocalDateTime.now());
-        repositoryItem.setRepoURL("https://github.com/test/repo");
+        GithubPopularityScoreResponse gitHubApiResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(repository()));
 
-        GitHubApiResponse gitHubApiResponse = new GitHubApiResponse();
-        gitHubApiResponse.setTotalCount(1);
-        gitHubApiResponse.setItems(Collections.singletonList(repositoryItem));
+        ResponseEntity<GithubPopularityScoreResponse> responseEntity = new ResponseEntity<>(gitHubApiResponse, HttpStatus.OK);
 
-        ResponseEntity<GitHubApiResponse> responseEntity = new ResponseEntity<>(gitHubApiResponse, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(anyString(), eq(GitHubApiResponse.class))).thenReturn(responseEntity);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class))).thenReturn(responseEntity);
 
         GithubPopularityScoreResponse result = gitHubClient.searchAllRepositories(language, earliestDate, page);
 
@@ -77,6 +102,7 @@ public class GitHubClientTest {
         assertThat(dto.getFullName()).isEqualTo("test/repo");
         assertThat(dto.getStars()).isEqualTo(100);
         assertThat(dto.getForks()).isEqualTo(50);
+        verify(retryExecutor).recordLatency(anyLong());
     }
 
     @Test
@@ -86,13 +112,11 @@ public class GitHubClientTest {
         LocalDate earliestDate = LocalDate.of(2023, 1, 1);
         int page = 1;
 
-        GitHubApiResponse gitHubApiResponse = new GitHubApiResponse();
-        gitHubApiResponse.setTotalCount(0);
-        gitHubApiResponse.setItems(Collections.emptyList());
+        GithubPopularityScoreResponse gitHubApiResponse = new GithubPopularityScoreResponse(0, Collections.emptyList());
 
-        ResponseEntity<GitHubApiResponse> responseEntity = new ResponseEntity<>(gitHubApiResponse, HttpStatus.OK);
+        ResponseEntity<GithubPopularityScoreResponse> responseEntity = new ResponseEntity<>(gitHubApiResponse, HttpStatus.OK);
 
-        when(restTemplate.getForEntity(anyString(), eq(GitHubApiResponse.class))).thenReturn(responseEntity);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class))).thenReturn(responseEntity);
 
         GithubPopularityScoreResponse result = gitHubClient.searchAllRepositories(language, earliestDate, page);
 
@@ -100,18 +124,50 @@ public class GitHubClientTest {
         assertThat(result.getRepositoriesPopularityScoreDTO()).isEmpty();
     }
 
+    @Test
+    void testSearchRepositoriesCreatedBetween_UsesCreatedRangeQualifier() {
+        GithubPopularityScoreResponse gitHubApiResponse = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        ResponseEntity<GithubPopularityScoreResponse> responseEntity = new ResponseEntity<>(gitHubApiResponse, HttpStatus.OK);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class))).thenReturn(responseEntity);
+
+        gitHubClient.searchRepositoriesCreatedBetween("java", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 2, RequestPriority.BACKGROUND);
+
+        verify(restTemplate).exchange(eq(githubApiBaseUrl + "/search/repositories?q=created:2024-01-01..2024-01-31+language:java&sort=stars&order=desc&per_page=100&page=2"),
+                eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class));
+    }
+
     @Test
     void testSearchAllRepositories_ApiFailure() {
         String language = "java";
         LocalDate earliestDate = LocalDate.of(2023, 1, 1);
         int page = 1;
 
-        when(restTemplate.getForEntity(anyString(), eq(GitHubApiResponse.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
                 .thenThrow(new RestClientException("API call failed"));
 
         assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
                 .isInstanceOf(RepositoryServiceException.class)
                 .hasMessageContaining("Error fetching repositories from GitHub");
+        verify(circuitBreaker).onFailure(anyLong(), anyLong());
+        verify(circuitBreaker, never()).onSuccess(anyLong(), anyLong());
+    }
+
+    @Test
+    void testSearchAllRepositories_SecondaryRateLimit() {
+        String language = "java";
+        LocalDate earliestDate = LocalDate.of(2023, 1, 1);
+        int page = 1;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", headers, new byte[0], null));
+
+        assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("GitHub rate limit exceeded");
     }
 
     @Test
@@ -120,12 +176,139 @@ public class GitHubClientTest {
         LocalDate earliestDate = LocalDate.of(2023, 1, 1);
         int page = 1;
 
-        ResponseEntity<GitHubApiResponse> responseEntity = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        ResponseEntity<GithubPopularityScoreResponse> responseEntity = new ResponseEntity<>(HttpStatus.BAD_REQUEST);
 
-        when(restTemplate.getForEntity(anyString(), eq(GitHubApiResponse.class))).thenReturn(responseEntity);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class))).thenReturn(responseEntity);
 
         assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
                 .isInstanceOf(RepositoryServiceException.class)
                 .hasMessageContaining("Failed to fetch repositories. Status: 400 BAD_REQUEST");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchAllRepositories_ServerErrorIsRetried() {
+        String language = "java";
+        LocalDate earliestDate = LocalDate.of(2023, 1, 1);
+        int page = 1;
+
+        GithubPopularityScoreResponse gitHubApiResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(repository()));
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", new HttpHeaders(), new byte[0], null))
+                .thenReturn(new ResponseEntity<>(gitHubApiResponse, HttpStatus.OK));
+
+        GithubPopularityScoreResponse result = gitHubClient.searchAllRepositories(language, earliestDate, page);
+
+        assertThat(result.getRepositoriesPopularityScoreDTO()).hasSize(1);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class));
+        assertThat(meterRegistry.get("github.search.requests").tags("client", "blocking", "status", "502").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.search.requests").tags("client", "blocking", "status", "200").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchAllRepositories_RetryAfterBeyondMaxDelayIsNotRetried() {
+        String language = "java";
+        LocalDate earliestDate = LocalDate.of(2023, 1, 1);
+        int page = 1;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", headers, new byte[0], null));
+
+        assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
+                .isInstanceOf(RepositoryServiceException.class)
+                .hasMessageContaining("Error fetching repositories from GitHub");
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class));
+    }
+
+    @Test
+    void testSearchAllRepositories_OpenCircuitFailsFast() {
+        String language = "java";
+        LocalDate earliestDate = LocalDate.of(2023, 1, 1);
+        int page = 1;
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
+                .isInstanceOf(RepositoryServiceException.class);
+        assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
+                .isInstanceOf(GitHubUnavailableException.class)
+                .hasMessageContaining("GitHub is unavailable");
+        assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
+                .isInstanceOf(GitHubUnavailableException.class);
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+        assertThat(bulkhead.inUse()).isZero();
+        verify(restTemplate, times(4)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class));
+    }
+
+    @Test
+    void testSearchAllRepositories_ClientErrorsDoNotOpenCircuit() {
+        String language = "java";
+        LocalDate earliestDate = LocalDate.of(2023, 1, 1);
+        int page = 1;
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", new HttpHeaders(), new byte[0], null));
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> gitHubClient.searchAllRepositories(language, earliestDate, page))
+                    .isInstanceOf(RepositoryServiceException.class);
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void testSearchAllRepositories_FullBulkheadRejectsSearch() {
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        assertThatThrownBy(() -> gitHubClient.searchAllRepositories("java", LocalDate.of(2023, 1, 1), 1))
+                .isInstanceOf(GitHubUnavailableException.class);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testSearchAllRepositories_NotModifiedReusesStoredResponse() {
+        String language = "java";
+        LocalDate earliestDate = LocalDate.of(2023, 1, 1);
+        int page = 1;
+
+        GithubPopularityScoreResponse gitHubApiResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(repository()));
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setETag("\"abc123\"");
+        ResponseEntity<GithubPopularityScoreResponse> okResponse = new ResponseEntity<>(gitHubApiResponse, responseHeaders, HttpStatus.OK);
+        ResponseEntity<GithubPopularityScoreResponse> notModifiedResponse = new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(GithubPopularityScoreResponse.class)))
+                .thenReturn(okResponse, notModifiedResponse);
+
+        gitHubClient.searchAllRepositories(language, earliestDate, page);
+        GithubPopularityScoreResponse result = gitHubClient.searchAllRepositories(language, earliestDate, page);
+
+        assertThat(result.getTotalNumberOfRepositories()).isEqualTo(1);
+        assertThat(result.getRepositoriesPopularityScoreDTO()).hasSize(1);
+        assertThat(result.getRepositoriesPopularityScoreDTO().get(0).getFullName()).isEqualTo("test/repo");
+
+        @SuppressWarnings("rawtypes")
+        ArgumentCaptor<HttpEntity> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), requests.capture(), eq(GithubPopularityScoreResponse.class));
+        assertThat(requests.getAllValues().get(0).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(requests.getAllValues().get(1).getHeaders().getIfNoneMatch()).containsExactly("\"abc123\"");
+    }
+
+    private static RepositoriesPopularityScoreDTO repository() {
+        return new RepositoriesPopularityScoreDTO.Builder()
+                .fullName("test/repo")
+                .stars(100)
+                .forks(50)
+                .lastUpdated(LocalDateTime.now())
+                .createdDate(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.RateLimitBudgetReservedException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.SearchInterruptedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubRateLimitSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    private final GitHubRateLimitScheduler scheduler = new GitHubRateLimitScheduler(2, 0.1, Duration.ofMillis(200), clock::get);
+
+    @Test
+    void shouldRunCalls_whenQuotaIsUnknown() {
+        assertThat(scheduler.execute(RequestPriority.BACKGROUND, () -> "ok")).isEqualTo("ok");
+        assertThat(scheduler.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldTrackRemainingQuota_fromResponseHeaders() {
+        scheduler.updateFromHeaders(headers(42, resetInSeconds(60)));
+
+        scheduler.execute(RequestPriority.INTERACTIVE, () -> "ok");
+
+        assertThat(scheduler.stats().remaining()).isEqualTo(41);
+    }
+
+    @Test
+    void shouldShedBackgroundSearches_whenQuotaFallsToReserve() {
+        scheduler.updateFromHeaders(headers(10, resetInSeconds(60)));
+
+        assertThatThrownBy(() -> scheduler.execute(RequestPriority.BACKGROUND, () -> "ok"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(scheduler.execute(RequestPriority.INTERACTIVE, () -> "ok")).isEqualTo("ok");
+        assertThat(scheduler.stats().shedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAskReserveShedCallers_toRetryOnceWindowResets() {
+        scheduler.updateFromHeaders(headers(10, resetInSeconds(60)));
+
+        assertThatThrownBy(() -> scheduler.execute(RequestPriority.BACKGROUND, () -> "ok"))
+                .isInstanceOf(RateLimitBudgetReservedException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void shouldScaleReserve_withReportedLimit() {
+        HttpHeaders unauthenticated = headers(2, resetInSeconds(60));
+        unauthenticated.set(GitHubRateLimitScheduler.LIMIT_HEADER, "10");
+        scheduler.updateFromHeaders(unauthenticated);
+
+        assertThat(scheduler.execute(RequestPriority.BACKGROUND, () -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> scheduler.execute(RequestPriority.BACKGROUND, () -> "ok"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void shouldNotReserveBudget_untilLimitIsReported() {
+        HttpHeaders headers = headers(1, resetInSeconds(60));
+        headers.remove(GitHubRateLimitScheduler.LIMIT_HEADER);
+        scheduler.updateFromHeaders(headers);
+
+        assertThat(scheduler.execute(RequestPriority.BACKGROUND, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void shouldFailWithoutRetryAfter_andKeepInterruptFlag_whenInterruptedWhileQueued() {
+        scheduler.executeAsync(RequestPriority.INTERACTIVE, CompletableFuture::new);
+        scheduler.executeAsync(RequestPriority.INTERACTIVE, CompletableFuture::new);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> scheduler.execute(RequestPriority.INTERACTIVE, () -> "ok"))
+                    .isInstanceOf(SearchInterruptedException.class)
+                    .isNotInstanceOf(RateLimitExceededException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void shouldShedInteractiveSearches_whenResetIsBeyondMaxWait() {
+        scheduler.updateFromHeaders(headers(0, resetInSeconds(60)));
+
+        assertThatThrownBy(() -> scheduler.execute(RequestPriority.INTERACTIVE, () -> "ok"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void shouldDispatchAgain_onceWindowHasReset() {
+        scheduler.updateFromHeaders(headers(0, resetInSeconds(60)));
+
+        clock.addAndGet(TimeUnit.SECONDS.toMillis(61));
+
+        assertThat(scheduler.execute(RequestPriority.BACKGROUND, () -> "ok")).isEqualTo("ok");
+        assertThat(scheduler.stats().remaining()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldHoldAsyncCallsInFlight_untilTheirFutureCompletes() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> result = scheduler.executeAsync(RequestPriority.INTERACTIVE, () -> call);
+
+        assertThat(scheduler.stats().inFlight()).isEqualTo(1);
+        call.complete("ok");
+        assertThat(result.join()).isEqualTo("ok");
+        assertThat(scheduler.stats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldQueueAsyncCalls_withoutBlocking_untilASlotIsReleased() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        scheduler.executeAsync(RequestPriority.INTERACTIVE, () -> first);
+        scheduler.executeAsync(RequestPriority.INTERACTIVE, () -> second);
+
+        CompletableFuture<String> queued = scheduler.executeAsync(RequestPriority.INTERACTIVE, () -> CompletableFuture.completedFuture("queued"));
+
+        assertThat(queued).isNotDone();
+        assertThat(scheduler.stats().queueDepth()).isEqualTo(1);
+        first.complete("first");
+        assertThat(queued.join()).isEqualTo("queued");
+        assertThat(scheduler.stats().queueDepth()).isZero();
+    }
+
+    @Test
+    void shouldShedQueuedAsyncCalls_afterMaxWait() {
+        scheduler.executeAsync(RequestPriority.INTERACTIVE, CompletableFuture::new);
+        scheduler.executeAsync(RequestPriority.INTERACTIVE, CompletableFuture::new);
+
+        CompletableFuture<String> queued = scheduler.executeAsync(RequestPriority.INTERACTIVE, () -> CompletableFuture.completedFuture("ok"));
+
+        assertThatThrownBy(queued::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RateLimitExceededException.class);
+        assertThat(scheduler.stats().shedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShedAsyncBackgroundCalls_whenQuotaFallsToReserve() {
+        scheduler.updateFromHeaders(headers(10, resetInSeconds(60)));
+
+        CompletableFuture<String> result = scheduler.executeAsync(RequestPriority.BACKGROUND, () -> CompletableFuture.completedFuture("ok"));
+
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(result::join).hasCauseInstanceOf(RateLimitExceededException.class);
+        assertThat(scheduler.stats().inFlight()).isZero();
+    }
+
+    private long resetInSeconds(long seconds) {
+        return TimeUnit.MILLISECONDS.toSeconds(clock.get()) + seconds;
+    }
+
+    private static HttpHeaders headers(long remaining, long resetEpochSecond) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(GitHubRateLimitScheduler.LIMIT_HEADER, "100");
+        headers.set(GitHubRateLimitScheduler.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(GitHubRateLimitScheduler.RESET_HEADER, String.valueOf(resetEpochSecond));
+        return headers;
+    }
+}
@@ -0,0 +1,179 @@
+package com.popularity.scoring.client;
+
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubRetryExecutorTest {
+
+    @Test
+    void shouldRetryTransientFailures_untilAnAttemptSucceeds() {
+        GitHubRetryExecutor retryExecutor = retryExecutor(false, new RetryBudget(0.1, 1, System::nanoTime));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryExecutor.execute(RequestPriority.INTERACTIVE, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new TransientGitHubException("Status: 502", null, null);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldGiveUp_afterMaxAttempts() {
+        GitHubRetryExecutor retryExecutor = retryExecutor(false, new RetryBudget(0.1, 1, System::nanoTime));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute(RequestPriority.INTERACTIVE, () -> {
+            attempts.incrementAndGet();
+            throw new TransientGitHubException("Status: 502", null, null);
+        }))
+                .isInstanceOf(RepositoryServiceException.class)
+                .hasMessageContaining("Status: 502");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldNotRetryOtherFailures() {
+        GitHubRetryExecutor retryExecutor = retryExecutor(false, new RetryBudget(0.1, 1, System::nanoTime));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute(RequestPriority.INTERACTIVE, () -> {
+            attempts.incrementAndGet();
+            throw new RepositoryServiceException("Status: 422");
+        })).isInstanceOf(RepositoryServiceException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldNotRetry_whenRetryAfterExceedsMaxDelay() {
+        GitHubRetryExecutor retryExecutor = retryExecutor(false, new RetryBudget(0.1, 1, System::nanoTime));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute(RequestPriority.INTERACTIVE, () -> {
+            attempts.incrementAndGet();
+            throw new TransientGitHubException("Status: 503", Duration.ofMinutes(1), null);
+        })).isInstanceOf(RepositoryServiceException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldStopRetrying_whenBudgetIsExhausted() {
+        RetryBudget budget = new RetryBudget(0, 0, () -> 0L);
+        while (budget.tryWithdraw()) {
+            // Drain the initial balance
+        }
+        GitHubRetryExecutor retryExecutor = retryExecutor(false, budget);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retryExecutor.execute(RequestPriority.INTERACTIVE, () -> {
+            attempts.incrementAndGet();
+            throw new TransientGitHubException("Status: 502", null, null);
+        })).isInstanceOf(RepositoryServiceException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldRetryAsynchronousAttempts() {
+        GitHubRetryExecutor retryExecutor = retryExecutor(false, new RetryBudget(0.1, 1, System::nanoTime));
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = retryExecutor.executeAsync(RequestPriority.BACKGROUND, () -> attempts.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new TransientGitHubException("Status: 502", null, null))
+                : CompletableFuture.completedFuture("ok"));
+
+        assertThat(result.join()).isEqualTo("ok");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void shouldAnswerWithHedge_whenPrimaryAttemptIsSlow() throws Exception {
+        GitHubRetryExecutor retryExecutor = retryExecutor(true, new RetryBudget(0.1, 1, System::nanoTime));
+        recordFastSearches(retryExecutor);
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> slowPrimary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = retryExecutor.executeAsync(RequestPriority.INTERACTIVE,
+                () -> attempts.incrementAndGet() == 1 ? slowPrimary : CompletableFuture.completedFuture("hedge"));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("hedge");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void shouldNotHedge_untilClientsReportedLatencies() throws Exception {
+        GitHubRetryExecutor retryExecutor = retryExecutor(true, new RetryBudget(0.1, 1, System::nanoTime));
+        for (int i = 0; i < 20; i++) {
+            retryExecutor.executeAsync(RequestPriority.INTERACTIVE, () -> CompletableFuture.completedFuture("unreported")).join();
+        }
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> slowPrimary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = retryExecutor.executeAsync(RequestPriority.INTERACTIVE, () -> {
+            attempts.incrementAndGet();
+            return slowPrimary;
+        });
+
+        Thread.sleep(50);
+        assertThat(attempts).hasValue(1);
+        slowPrimary.complete("primary");
+        assertThat(result.join()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldNotHedgeBackgroundSearches() throws Exception {
+        GitHubRetryExecutor retryExecutor = retryExecutor(true, new RetryBudget(0.1, 1, System::nanoTime));
+        recordFastSearches(retryExecutor);
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> slowPrimary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = retryExecutor.executeAsync(RequestPriority.BACKGROUND, () -> {
+            attempts.incrementAndGet();
+            return slowPrimary;
+        });
+
+        Thread.sleep(50);
+        assertThat(result).isNotDone();
+        assertThat(attempts).hasValue(1);
+        slowPrimary.complete("primary");
+        assertThat(result.join()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldFailHedgedSearch_onlyOnceEveryAttemptFailed() {
+        GitHubRetryExecutor retryExecutor = retryExecutor(true, new RetryBudget(0.1, 1, System::nanoTime));
+        recordFastSearches(retryExecutor);
+
+        CompletableFuture<String> result = retryExecutor.executeAsync(RequestPriority.INTERACTIVE,
+                () -> CompletableFuture.failedFuture(new RepositoryServiceException("Status: 422")));
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RepositoryServiceException.class);
+    }
+
+    private static GitHubRetryExecutor retryExecutor(boolean hedgingEnabled, RetryBudget budget) {
+        return new GitHubRetryExecutor(3, Duration.ofMillis(1), Duration.ofMillis(10), hedgingEnabled, Duration.ofMillis(1),
+                Runnable::run, budget);
+    }
+
+    /**
+     * Gives the executor enough latency samples to derive a hedge delay.
+     */
+    private static void recordFastSearches(GitHubRetryExecutor retryExecutor) {
+        for (int i = 0; i < 20; i++) {
+            retryExecutor.recordLatency(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+}
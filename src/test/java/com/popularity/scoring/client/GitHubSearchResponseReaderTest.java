@@ -0,0 +1,103 @@
+package com.popularity.scoring.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubSearchResponseReaderTest {
+
+    private static final String SEARCH_RESPONSE = """
+            {
+              "total_count": 2,
+              "incomplete_results": false,
+              "items": [
+                {
+                  "id": 1,
+                  "name": "repo",
+                  "full_name": "test/repo",
+                  "owner": {"login": "test", "id": 7, "site_admin": false},
+                  "html_url": "https://github.com/test/repo",
+                  "topics": ["java", ["nested"]],
+                  "created_at": "2023-02-28T23:59:59Z",
+                  "updated_at": "2024-02-29T12:30:00Z",
+                  "stargazers_count": 100,
+                  "forks_count": 50,
+                  "license": null
+                },
+                {
+                  "full_name": "test/other",
+                  "stargazers_count": 1,
+                  "forks_count": 0,
+                  "created_at": "2024-01-01T00:00:00+02:00",
+                  "updated_at": null
+                }
+              ]
+            }
+            """;
+
+    private final GitHubSearchResponseReader reader = new GitHubSearchResponseReader(new JsonFactory());
+
+    @Test
+    void shouldReadUsedFields_andSkipEverythingElse() throws IOException {
+        GithubPopularityScoreResponse response = reader.read(
+                new ByteArrayInputStream(SEARCH_RESPONSE.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getTotalNumberOfRepositories()).isEqualTo(2);
+        assertThat(response.getRepositoriesPopularityScoreDTO()).hasSize(2);
+
+        RepositoriesPopularityScoreDTO first = response.getRepositoriesPopularityScoreDTO().get(0);
+        assertThat(first.getFullName()).isEqualTo("test/repo");
+        assertThat(first.getStars()).isEqualTo(100);
+        assertThat(first.getForks()).isEqualTo(50);
+        assertThat(first.getRepositoryURL()).isEqualTo("https://github.com/test/repo");
+        assertThat(first.getCreatedDate()).isEqualTo(LocalDateTime.of(2023, 2, 28, 23, 59, 59));
+        assertThat(first.getLastUpdated()).isEqualTo(LocalDateTime.of(2024, 2, 29, 12, 30));
+
+        RepositoriesPopularityScoreDTO second = response.getRepositoriesPopularityScoreDTO().get(1);
+        assertThat(second.getCreatedDate()).isEqualTo(LocalDateTime.of(2023, 12, 31, 22, 0));
+        assertThat(second.getLastUpdated()).isNull();
+        assertThat(second.getRepositoryURL()).isEqualTo("https://github.com/test/other");
+    }
+
+    @Test
+    void shouldReadEmptyResponse() throws IOException {
+        GithubPopularityScoreResponse response = reader.read(
+                "{\"total_count\":0,\"incomplete_results\":false,\"items\":[]}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getTotalNumberOfRepositories()).isZero();
+        assertThat(response.getRepositoriesPopularityScoreDTO()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectMalformedResponses() {
+        assertThatThrownBy(() -> reader.read("[]".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> reader.read("{\"items\":[{\"created_at\":\"yesterday\"}]}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("Invalid timestamp");
+    }
+
+    @Test
+    void shouldConvertTimestampsLikeInstantParsing() {
+        for (String timestamp : new String[]{"1970-01-01T00:00:00Z", "1969-12-31T23:59:59Z", "2000-02-29T06:07:08Z",
+                "2100-03-01T00:00:00Z", "2024-12-31T23:59:59Z"}) {
+            char[] text = ("\"" + timestamp + "\"").toCharArray();
+
+            assertThat(GitHubSearchResponseReader.toEpochSecond(text, 1, timestamp.length()))
+                    .as(timestamp)
+                    .isEqualTo(Instant.parse(timestamp).getEpochSecond());
+        }
+        assertThat(GitHubSearchResponseReader.toEpochSecond("2024-01-01 00:00:00Z".toCharArray(), 0, 20)).isEqualTo(Long.MIN_VALUE);
+    }
+}
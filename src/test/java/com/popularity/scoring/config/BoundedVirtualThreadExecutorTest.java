@@ -0,0 +1,48 @@
+package com.popularity.scoring.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    void shouldRunTasksOnVirtualThreads_withBoundedConcurrency() throws Exception {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 3);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Future<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return Thread.currentThread().isVirtual();
+            }));
+        }
+
+        Thread.sleep(100);
+        assertThat(running.get()).isEqualTo(3);
+        release.countDown();
+
+        for (Future<Boolean> task : tasks) {
+            assertThat(task.get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(maxRunning.get()).isEqualTo(3);
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,31 @@
+package com.popularity.scoring.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedJacksonHttpMessageConverterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper(), meterRegistry);
+
+    @Test
+    void shouldWriteJson_andTimeSerializationByResponseType() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(new GithubPopularityScoreResponse(0, List.of()), MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsString()).contains("\"totalNumberOfRepositories\":0");
+        assertThat(meterRegistry.get("http.server.serialization").tag("type", "GithubPopularityScoreResponse").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -1,20 +1,59 @@
 package com.popularity.scoring.controller;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.popularity.scoring.admission.ClientRateLimiter;
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
+import com.popularity.scoring.exceptionhandling.GlobalExceptionHandler;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.model.BatchQuery;
+import com.popularity.scoring.model.BatchQueryResult;
+import com.popularity.scoring.model.BatchScoreResponse;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.service.CrawlSummary;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties;
+import com.popularity.scoring.scoringmodel.ScoringModelRegistry;
+import com.popularity.scoring.service.AsyncScoreCalculatorService;
+import com.popularity.scoring.service.BatchScoringService;
+import com.popularity.scoring.service.RepositoryCrawlService;
 import com.popularity.scoring.service.ScoreCalculatorService;
+import com.popularity.scoring.service.TopRepositoriesService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -24,6 +63,30 @@ public class GithubRepositoriesDataControllerTest {
     @Mock
     private ScoreCalculatorService scoreCalculatorService;
 
+    @Mock
+    private AsyncScoreCalculatorService asyncScoreCalculatorService;
+
+    @Mock
+    private TopRepositoriesService topRepositoriesService;
+
+    @Mock
+    private BatchScoringService batchScoringService;
+
+    @Mock
+    private RepositoryCrawlService repositoryCrawlService;
+
+    @Mock
+    private ClientRateLimiter clientRateLimiter;
+
+    @Spy
+    private ScoringModelRegistry scoringModels = new ScoringModelRegistry(new ScoringModelProperties(
+            Map.of("half-life", new ScoringModelProperties.ModelDefinition(null, null,
+                    new ScoringModelProperties.Recency(null, ScoringModelProperties.Decay.HALF_LIFE, Duration.ofDays(30)), false)),
+            Map.of("dashboards", "half-life")));
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private GithubRepositoriesDataController githubRepositoriesDataController;
 
@@ -40,7 +103,7 @@ public class GithubRepositoriesDataControllerTest {
         LocalDate earliestDate = LocalDate.now().minusDays(10);
         int pageNumber = 1;
 
-        Mockito.when(scoreCalculatorService.fetchAndScoreRepositories(language, earliestDate, pageNumber))
+        Mockito.when(scoreCalculatorService.fetchRankedRepositories(language, earliestDate, pageNumber, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY))
                 .thenReturn(new GithubPopularityScoreResponse());
 
         mockMvc.perform(get("/api/v1/calculateGithubRepositoryPopularityScore")
@@ -51,6 +114,76 @@ public class GithubRepositoriesDataControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testCalculateGithubRepositoryScore_DegradedResponse_IsMarked() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        GithubPopularityScoreResponse degraded = new GithubPopularityScoreResponse(1, List.of(repository("owner/first", 30))).asDegraded();
+
+        Mockito.when(scoreCalculatorService.fetchRankedRepositories(language, earliestDate, 1, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY))
+                .thenReturn(degraded);
+
+        mockMvc.perform(get("/api/v1/calculateGithubRepositoryPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.degraded").value(true));
+    }
+
+    @Test
+    public void testCalculateGithubRepositoryScore_GitHubUnavailable_Returns503() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(githubRepositoriesDataController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        Mockito.when(scoreCalculatorService.fetchRankedRepositories(language, earliestDate, 1, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY))
+                .thenThrow(new GitHubUnavailableException("GitHub is unavailable, please retry later", Duration.ofSeconds(12)));
+
+        mockMvcWithAdvice.perform(get("/api/v1/calculateGithubRepositoryPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "12"));
+    }
+
+    @Test
+    public void testCalculateGithubRepositoryScore_TenantHeader_UsesTenantScoringModel() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        ScoringModel halfLife = scoringModels.get("half-life");
+
+        Mockito.when(scoreCalculatorService.fetchRankedRepositories(language, earliestDate, 1, halfLife, 100, Double.NEGATIVE_INFINITY))
+                .thenReturn(new GithubPopularityScoreResponse());
+
+        mockMvc.perform(get("/api/v1/calculateGithubRepositoryPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .header("X-Tenant-Id", "dashboards")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testCalculateGithubRepositoryScore_LimitAndMinScore_ArePassedToRanking() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+
+        Mockito.when(scoreCalculatorService.fetchRankedRepositories(language, earliestDate, 1, ScoringModel.DEFAULT, 10, 150.0))
+                .thenReturn(new GithubPopularityScoreResponse());
+
+        mockMvc.perform(get("/api/v1/calculateGithubRepositoryPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .param("limit", "10")
+                        .param("minScore", "150")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void testCalculateGithubRepositoryScore_MissingLanguage_Returns400() throws Exception {
         LocalDate earliestDate = LocalDate.now().minusDays(10);
@@ -88,4 +221,241 @@ public class GithubRepositoriesDataControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCalculateGithubRepositoryScoreAsync_ValidRequest_Returns200() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+
+        Mockito.when(asyncScoreCalculatorService.fetchRankedRepositories(language, earliestDate, 1, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY))
+                .thenReturn(CompletableFuture.completedFuture(new GithubPopularityScoreResponse(1, List.of(repository("owner/first", 30)))));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/calculateGithubRepositoryPopularityScoreAsync")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"fullName\":\"owner/first\"")));
+    }
+
+    @Test
+    public void testCalculateGithubRepositoryScoreAsync_RateLimitExceeded_Returns429() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(githubRepositoriesDataController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        Mockito.when(asyncScoreCalculatorService.fetchRankedRepositories(language, earliestDate, 1, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new RateLimitExceededException("GitHub rate limit exceeded, please retry later", Duration.ofSeconds(30))));
+
+        MvcResult result = mockMvcWithAdvice.perform(get("/api/v1/calculateGithubRepositoryPopularityScoreAsync")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvcWithAdvice.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+    }
+
+    @Test
+    public void testTopGithubRepositoriesByPopularityScore_ValidRequest_Returns200() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+
+        Mockito.when(topRepositoriesService.fetchTopRepositories(language, earliestDate, 5, 20, ScoringModel.DEFAULT))
+                .thenReturn(new GithubPopularityScoreResponse());
+
+        mockMvc.perform(get("/api/v1/topGithubRepositoriesByPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .param("pages", "5")
+                        .param("limit", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testTopGithubRepositoriesByPopularityScore_InvalidLimit_Returns400() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+
+        mockMvc.perform(get("/api/v1/topGithubRepositoriesByPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testBatchGithubRepositoryPopularityScore_PartialFailure_Returns200WithPerQueryStatus() throws Exception {
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        BatchQuery java = new BatchQuery("Java", earliestDate, 2, null);
+        BatchQuery go = new BatchQuery("Go", earliestDate, null, null);
+
+        Mockito.when(clientRateLimiter.burst()).thenReturn(20);
+        Mockito.when(batchScoringService.score(List.of(java, go), ScoringModel.DEFAULT))
+                .thenReturn(CompletableFuture.completedFuture(BatchScoreResponse.of(List.of(
+                        BatchQueryResult.succeeded(java, new GithubPopularityScoreResponse(1, List.of(repository("owner/first", 30)))),
+                        BatchQueryResult.failed(go, 429, "GitHub rate limit exceeded, please retry later", 30L)))));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/batchGithubRepositoryPopularityScore")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queries\":[{\"language\":\"Java\",\"earliestDate\":\"" + earliestDate + "\",\"pages\":2},"
+                                + "{\"language\":\"Go\",\"earliestDate\":\"" + earliestDate + "\"}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].response.repositoriesPopularityScoreDTO[0].fullName").value("owner/first"))
+                .andExpect(jsonPath("$.results[1].status").value(429))
+                .andExpect(jsonPath("$.results[1].retryAfterSeconds").value(30));
+    }
+
+    @Test
+    public void testBatchGithubRepositoryPopularityScore_ChargesOneTokenPerPage() throws Exception {
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+
+        Mockito.when(clientRateLimiter.burst()).thenReturn(20);
+        Mockito.when(clientRateLimiter.clientKey(any())).thenReturn("key:batch-client");
+        Mockito.when(batchScoringService.score(any(), eq(ScoringModel.DEFAULT)))
+                .thenReturn(CompletableFuture.completedFuture(BatchScoreResponse.of(List.of())));
+
+        mockMvc.perform(post("/api/v1/batchGithubRepositoryPopularityScore")
+                        .header(ClientRateLimiter.API_KEY_HEADER, "batch-client")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queries\":[{\"language\":\"Java\",\"earliestDate\":\"" + earliestDate + "\",\"pages\":3},"
+                                + "{\"language\":\"Go\",\"earliestDate\":\"" + earliestDate + "\"},"
+                                + "{\"language\":\"Rust\",\"earliestDate\":\"" + earliestDate + "\",\"pages\":2}]}"))
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(clientRateLimiter).acquire("key:batch-client", 5);
+    }
+
+    @Test
+    public void testBatchGithubRepositoryPopularityScore_CostAboveBurst_Returns400() throws Exception {
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(githubRepositoriesDataController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        Mockito.when(clientRateLimiter.burst()).thenReturn(15);
+
+        mockMvcWithAdvice.perform(post("/api/v1/batchGithubRepositoryPopularityScore")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queries\":[{\"language\":\"Java\",\"earliestDate\":\"" + earliestDate + "\",\"pages\":10},"
+                                + "{\"language\":\"Go\",\"earliestDate\":\"" + earliestDate + "\",\"pages\":10}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Batch costs 20 rate-limit tokens, more than the client burst of 15; split it into smaller batches"))
+                .andExpect(jsonPath("$.cost").value(20))
+                .andExpect(jsonPath("$.burst").value(15))
+                .andExpect(jsonPath("$.documentation_url").doesNotExist());
+        Mockito.verify(clientRateLimiter, Mockito.never()).acquire(any(), Mockito.anyInt());
+        Mockito.verifyNoInteractions(batchScoringService);
+    }
+
+    @Test
+    public void testBatchGithubRepositoryPopularityScore_ClientRateLimited_Returns429() throws Exception {
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(githubRepositoriesDataController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        Mockito.when(clientRateLimiter.burst()).thenReturn(20);
+        Mockito.when(clientRateLimiter.clientKey(any())).thenReturn("ip:127.0.0.1");
+        Mockito.doThrow(new RateLimitExceededException("Too many requests from this client, please retry later", Duration.ofSeconds(5)))
+                .when(clientRateLimiter).acquire("ip:127.0.0.1", 1);
+
+        mockMvcWithAdvice.perform(post("/api/v1/batchGithubRepositoryPopularityScore")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queries\":[{\"language\":\"Java\",\"earliestDate\":\"" + earliestDate + "\"},"
+                                + "{\"language\":\"Go\",\"earliestDate\":\"" + earliestDate + "\"}]}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+        Mockito.verifyNoInteractions(batchScoringService);
+    }
+
+    @Test
+    public void testBatchGithubRepositoryPopularityScore_NoQueries_Returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/batchGithubRepositoryPopularityScore")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queries\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testStreamGithubRepositoryPopularityScore_Ndjson_WritesOneLinePerRepositoryAboveMinScore() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        LocalDate latestDate = LocalDate.now().minusDays(1);
+        stubCrawl(language, earliestDate, latestDate);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/streamGithubRepositoryPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .param("latestDate", latestDate.toString())
+                        .param("minScore", "20")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(content().string(containsString("\"fullName\":\"owner/first\"")))
+                .andExpect(content().string(containsString("\"fullName\":\"owner/third\"")))
+                .andExpect(content().string(not(containsString("owner/second"))))
+                .andExpect(content().string(endsWith("}\n")));
+    }
+
+    @Test
+    public void testStreamGithubRepositoryPopularityScore_ServerSentEvents_EndsWithSummary() throws Exception {
+        String language = "Java";
+        LocalDate earliestDate = LocalDate.now().minusDays(10);
+        LocalDate latestDate = LocalDate.now().minusDays(1);
+        stubCrawl(language, earliestDate, latestDate);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/streamGithubRepositoryPopularityScore")
+                        .param("language", language)
+                        .param("earliestDate", earliestDate.toString())
+                        .param("latestDate", latestDate.toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("event: repository\ndata: {")))
+                .andExpect(content().string(containsString("owner/second")))
+                .andExpect(content().string(containsString("event: summary\ndata: {")))
+                .andExpect(content().string(containsString("\"repositories\":3")))
+                .andExpect(content().string(endsWith("}\n\n")));
+    }
+
+    private void stubCrawl(String language, LocalDate earliestDate, LocalDate latestDate) {
+        Mockito.when(repositoryCrawlService.crawlAsync(eq(language), eq(earliestDate), eq(latestDate), eq(ScoringModel.DEFAULT), any(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<List<RepositoriesPopularityScoreDTO>> sink = invocation.getArgument(5);
+                    sink.accept(List.of(repository("owner/first", 30), repository("owner/second", 10)));
+                    sink.accept(List.of(repository("owner/third", 25)));
+                    return CompletableFuture.completedFuture(new CrawlSummary(1, 2, 3, Duration.ofSeconds(1)));
+                });
+    }
+
+    private static RepositoriesPopularityScoreDTO repository(String fullName, double score) {
+        return new RepositoriesPopularityScoreDTO(fullName, 1, 1, LocalDateTime.of(2024, 6, 1, 12, 0), LocalDateTime.of(2024, 1, 1, 12, 0), score);
+    }
+}
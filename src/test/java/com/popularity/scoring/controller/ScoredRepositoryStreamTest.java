@@ -0,0 +1,116 @@
+package com.popularity.scoring.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.popularity.scoring.client.GitHubClient;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.service.CrawlSummary;
+import com.popularity.scoring.service.RepositoryCrawlService;
+import com.popularity.scoring.service.ScoringUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScoredRepositoryStreamTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldWritePagesOnStreamingThread_whileCrawlRunsElsewhere() throws IOException {
+        Set<Thread> writers = ConcurrentHashMap.newKeySet();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        OutputStream recordingBody = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writers.add(Thread.currentThread());
+                body.write(b);
+            }
+        };
+        ScoredRepositoryStream stream = new ScoredRepositoryStream(objectMapper, false, Double.NEGATIVE_INFINITY,
+                (permits, sink) -> CompletableFuture.supplyAsync(() -> {
+                    sink.accept(List.of(repository("owner/first")));
+                    sink.accept(List.of(repository("owner/second")));
+                    return new CrawlSummary(1, 2, 2, Duration.ofSeconds(1));
+                }));
+
+        stream.writeTo(recordingBody);
+
+        assertThat(writers).containsExactly(Thread.currentThread());
+        assertThat(body.toString()).contains("owner/first", "owner/second");
+    }
+
+    @Test
+    void shouldSlowCrawlDown_toTheClientsPace() throws IOException {
+        GitHubClient gitHubClient = mock(GitHubClient.class);
+        AtomicInteger fetched = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger mostPagesAhead = new AtomicInteger();
+        // Two days of 1000 repositories each: one page to size the range, then ten pages per day.
+        when(gitHubClient.searchRepositoriesCreatedBetween(any(), any(), any(), anyInt(), any())).thenAnswer(invocation -> {
+            mostPagesAhead.accumulateAndGet(fetched.incrementAndGet() - written.get(), Math::max);
+            boolean singleDay = invocation.getArgument(1).equals(invocation.getArgument(2));
+            return new GithubPopularityScoreResponse(singleDay ? 1000 : 2000, List.of(repository("owner/repo")));
+        });
+        ExecutorService crawlExecutor = Executors.newFixedThreadPool(4);
+        try {
+            RepositoryCrawlService crawlService = new RepositoryCrawlService(gitHubClient,
+                    new ScoringUtil(new SimpleMeterRegistry()), crawlExecutor, 0);
+            ScoredRepositoryStream stream = new ScoredRepositoryStream(objectMapper, false, Double.NEGATIVE_INFINITY,
+                    (permits, sink) -> crawlService.crawlAsync("java", JAN_1, JAN_1.plusDays(1), ScoringModel.DEFAULT, permits, sink));
+            OutputStream slowClient = new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void flush() {
+                    sleep();
+                    written.incrementAndGet();
+                }
+            };
+
+            stream.writeTo(slowClient);
+        } finally {
+            crawlExecutor.shutdownNow();
+        }
+
+        assertThat(written).hasValue(20);
+        // The page that sized the range is never written.
+        assertThat(mostPagesAhead.get()).isLessThanOrEqualTo(ScoredRepositoryStream.MAX_BUFFERED_PAGES + 1);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RepositoriesPopularityScoreDTO repository(String fullName) {
+        return new RepositoriesPopularityScoreDTO(fullName, 1, 1, LocalDateTime.of(2024, 6, 1, 12, 0), LocalDateTime.of(2024, 1, 1, 12, 0), 10);
+    }
+}
@@ -0,0 +1,138 @@
+package com.popularity.scoring.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoriesPopularityScoreDTOTest {
+
+    private static final int REPOSITORIES = 1000;
+
+    private static final int OWNERS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void shouldKeepJsonContract() throws Exception {
+        RepositoriesPopularityScoreDTO repository = new RepositoriesPopularityScoreDTO.Builder()
+                .fullName("octo/repo")
+                .stars(10)
+                .forks(2)
+                .lastUpdated(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .createdDate(LocalDateTime.of(2024, 1, 1, 8, 30, 15))
+                .popularityScore(42.5)
+                .build();
+
+        assertThat(objectMapper.writeValueAsString(repository)).isEqualTo("{\"fullName\":\"octo/repo\",\"stars\":10,\"forks\":2,"
+                + "\"lastUpdated\":\"2024-06-01T12:00:00\",\"createdDate\":\"2024-01-01T08:30:15\",\"popularityScore\":42.5,"
+                + "\"repositoryURL\":\"https://github.com/octo/repo\"}");
+    }
+
+    @Test
+    void shouldReadBackItsJson() throws Exception {
+        RepositoriesPopularityScoreDTO repository = new RepositoriesPopularityScoreDTO("octo/repo", 10, 2,
+                LocalDateTime.of(2024, 6, 1, 12, 0), null, 42.5);
+
+        RepositoriesPopularityScoreDTO read = objectMapper.readValue(objectMapper.writeValueAsString(repository),
+                RepositoriesPopularityScoreDTO.class);
+
+        assertThat(read).isEqualTo(repository);
+        assertThat(read.getRepositoryURL()).isEqualTo("https://github.com/octo/repo");
+    }
+
+    @Test
+    void shouldOrderByOwnerThenName() {
+        List<RepositoriesPopularityScoreDTO> repositories = new ArrayList<>(List.of(
+                new RepositoriesPopularityScoreDTO("octo/zeta", 0, 0, null, null, 0),
+                new RepositoriesPopularityScoreDTO(null, 0, 0, null, null, 0),
+                new RepositoriesPopularityScoreDTO("alpha/repo", 0, 0, null, null, 0),
+                new RepositoriesPopularityScoreDTO("octo/alpha", 0, 0, null, null, 0)));
+
+        repositories.sort(RepositoriesPopularityScoreDTO.BY_FULL_NAME);
+
+        assertThat(repositories).extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("alpha/repo", "octo/alpha", "octo/zeta", null);
+    }
+
+    @Test
+    void shouldKeepAbsentValuesAbsent() throws Exception {
+        RepositoriesPopularityScoreDTO repository = new RepositoriesPopularityScoreDTO(null, 0, 0, null, null, 0);
+
+        assertThat(repository.getLastUpdatedEpochSecond()).isEqualTo(RepositoriesPopularityScoreDTO.NO_TIMESTAMP);
+        assertThat(objectMapper.writeValueAsString(repository)).isEqualTo("{\"fullName\":null,\"stars\":0,\"forks\":0,"
+                + "\"lastUpdated\":null,\"createdDate\":null,\"popularityScore\":0.0,\"repositoryURL\":null}");
+    }
+
+    @Test
+    void shouldCopyOnRescoring() {
+        RepositoriesPopularityScoreDTO repository = new RepositoriesPopularityScoreDTO("octo/repo", 10, 2,
+                LocalDateTime.of(2024, 6, 1, 12, 0), null, 1.0);
+
+        RepositoriesPopularityScoreDTO rescored = repository.withPopularityScore(2.0);
+
+        assertThat(repository.getPopularityScore()).isEqualTo(1.0);
+        assertThat(rescored.getPopularityScore()).isEqualTo(2.0);
+        assertThat(rescored.getFullName()).isEqualTo("octo/repo");
+        assertThat(rescored.getLastUpdated()).isEqualTo(LocalDateTime.of(2024, 6, 1, 12, 0));
+        assertThat(rescored.getCreatedDate()).isNull();
+    }
+
+    @Test
+    void shouldTakeLessThanHalfTheHeap_ofTheFieldPerFieldLayout() {
+        List<RepositoriesPopularityScoreDTO> compact = new ArrayList<>(REPOSITORIES);
+        List<FieldPerFieldRepository> fieldPerField = new ArrayList<>(REPOSITORIES);
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (int i = 0; i < REPOSITORIES; i++) {
+            // Distinct string instances per repository, as a parser produces them.
+            String fullName = new String("owner-" + (i % OWNERS) + "/repository-" + i);
+            LocalDateTime lastUpdated = base.minusSeconds(i * 3_607L);
+            LocalDateTime createdDate = base.minusDays(i).minusSeconds(i * 61L);
+
+            compact.add(new RepositoriesPopularityScoreDTO(fullName, i, i, lastUpdated, createdDate, i));
+            fieldPerField.add(new FieldPerFieldRepository(new String(fullName), i, i,
+                    LocalDateTime.of(lastUpdated.toLocalDate(), lastUpdated.toLocalTime()),
+                    LocalDateTime.of(createdDate.toLocalDate(), createdDate.toLocalTime()), i,
+                    "https://github.com/" + fullName));
+        }
+
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+        long fieldPerFieldBytes = GraphLayout.parseInstance(fieldPerField).totalSize();
+
+        assertThat(compactBytes).isLessThan(fieldPerFieldBytes / 2);
+    }
+
+    /**
+     * The previous layout of {@link RepositoriesPopularityScoreDTO}. A plain class rather than a record,
+     * because JOL cannot read the field offsets of records.
+     */
+    private static final class FieldPerFieldRepository {
+        private final String fullName;
+        private final int stars;
+        private final int forks;
+        private final LocalDateTime lastUpdated;
+        private final LocalDateTime createdDate;
+        private final double popularityScore;
+        private final String repositoryURL;
+
+        private FieldPerFieldRepository(String fullName, int stars, int forks, LocalDateTime lastUpdated,
+                                        LocalDateTime createdDate, double popularityScore, String repositoryURL) {
+            this.fullName = fullName;
+            this.stars = stars;
+            this.forks = forks;
+            this.lastUpdated = lastUpdated;
+            this.createdDate = createdDate;
+            this.popularityScore = popularityScore;
+            this.repositoryURL = repositoryURL;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.popularity.scoring.scoringmodel;
+
+import com.popularity.scoring.exceptionhandling.UnknownScoringModelException;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Decay;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.ModelDefinition;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Recency;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Shaping;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties.Term;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+
+class ScoringModelRegistryTest {
+
+    private final ScoringModelRegistry registry = new ScoringModelRegistry(new ScoringModelProperties(
+            Map.of(
+                    "Half-Life", new ModelDefinition(null, null, new Recency(null, Decay.HALF_LIFE, Duration.ofDays(10)), false),
+                    "per-year", new ModelDefinition(new Term(null, Shaping.LINEAR), new Term(0.0, null), new Recency(0.0, null, null), true)),
+            Map.of("dashboards", "half-life")));
+
+    @Test
+    void shouldKeepBuiltInFormula_forDefaultModel() {
+        double score = ScoringModel.DEFAULT.evaluator().score(100, 50, 5, 30);
+
+        assertThat(score).isEqualTo(Math.log10(101) * 50 + Math.log10(51) * 30 + (1.0 / 6) * 20);
+    }
+
+    @Test
+    void shouldCompileConfiguredFormulas_fallingBackToDefaultTerms() {
+        ScoreEvaluator halfLife = registry.get("half-life").evaluator();
+        ScoreEvaluator perYear = registry.get("per-year").evaluator();
+
+        assertThat(halfLife.score(100, 50, 10, 0)).isCloseTo(Math.log10(101) * 50 + Math.log10(51) * 30 + 10, within(1e-9));
+        assertThat(perYear.score(1000, 50, 3, 1461)).isCloseTo(250 * 50, within(1e-9));
+        assertThat(perYear.score(1000, 50, 3, 100)).isCloseTo(1000 * 50, within(1e-9));
+    }
+
+    @Test
+    void shouldResolveRequestedModel_thenTenantModel_thenDefault() {
+        assertThat(registry.resolve("PER-YEAR", "dashboards").name()).isEqualTo("per-year");
+        assertThat(registry.resolve(null, "dashboards").name()).isEqualTo("half-life");
+        assertThat(registry.resolve(" ", "unknown-tenant")).isSameAs(ScoringModel.DEFAULT);
+        assertThat(registry.modelNames()).containsExactlyInAnyOrder("default", "half-life", "per-year");
+    }
+
+    @Test
+    void shouldRejectUnknownModel() {
+        assertThatExceptionOfType(UnknownScoringModelException.class)
+                .isThrownBy(() -> registry.resolve("missing", null))
+                .withMessage("Unknown scoring model: missing");
+    }
+}
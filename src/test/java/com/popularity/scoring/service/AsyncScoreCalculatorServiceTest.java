@@ -0,0 +1,144 @@
+package com.popularity.scoring.service;
+
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.popularity.scoring.cache.RequestCoalescer;
+import com.popularity.scoring.cache.ScoreResultCache;
+import com.popularity.scoring.client.GitHubAsyncClient;
+import com.popularity.scoring.client.GitHubClient;
+import com.popularity.scoring.client.RequestPriority;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties;
+import com.popularity.scoring.scoringmodel.ScoringModelRegistry;
+import com.popularity.scoring.snapshot.RepositorySnapshotStore;
+import com.popularity.scoring.snapshot.StoredSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncScoreCalculatorServiceTest {
+
+    @Mock
+    private GitHubAsyncClient gitHubAsyncClient;
+
+    @Mock
+    private GitHubClient gitHubClient;
+
+    @Mock
+    private ScoringUtil scoringUtil;
+
+    @Mock
+    private RepositorySnapshotStore snapshotStore;
+
+    private AsyncScoreCalculatorService asyncScoreCalculatorService;
+
+    private ScoreCalculatorService scoreCalculatorService;
+
+    private static final String TEST_LANGUAGE = "Java";
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int TEST_PAGE = 1;
+
+    @BeforeEach
+    void setup() {
+        ScoreResultCache resultCache = new ScoreResultCache(100, Duration.ofMinutes(5));
+        RequestCoalescer requestCoalescer = new RequestCoalescer();
+        ScoringModelRegistry scoringModels = new ScoringModelRegistry(new ScoringModelProperties(Map.of(), Map.of()));
+        scoreCalculatorService = new ScoreCalculatorService(gitHubClient, scoringUtil, resultCache, requestCoalescer, snapshotStore,
+                Runnable::run, scoringModels);
+        asyncScoreCalculatorService = new AsyncScoreCalculatorService(gitHubAsyncClient, scoreCalculatorService, resultCache,
+                requestCoalescer, snapshotStore, Runnable::run);
+    }
+
+    @Test
+    void shouldFetchScoreAndRank_withoutBlockingOnGitHub() {
+        GithubPopularityScoreResponse fetched = response(repository("repo1", 0), repository("repo2", 0));
+        GithubPopularityScoreResponse scored = response(repository("repo1", 120), repository("repo2", 180));
+        CompletableFuture<GithubPopularityScoreResponse> upstream = new CompletableFuture<>();
+
+        when(gitHubAsyncClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(upstream);
+        when(scoringUtil.calculatePopularityScores(fetched, ScoringModel.DEFAULT)).thenReturn(scored);
+
+        CompletableFuture<GithubPopularityScoreResponse> result = asyncScoreCalculatorService.fetchRankedRepositories(TEST_LANGUAGE, TEST_DATE,
+                TEST_PAGE, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY);
+
+        assertThat(result).isNotDone();
+        upstream.complete(fetched);
+
+        assertThat(result.join().getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("repo2", "repo1");
+        verify(snapshotStore).save(any(), eq(scored), any());
+    }
+
+    @Test
+    void shouldShareCacheWithBlockingService() {
+        GithubPopularityScoreResponse fetched = response(repository("repo1", 0));
+
+        when(gitHubAsyncClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE))
+                .thenReturn(CompletableFuture.completedFuture(fetched));
+        when(scoringUtil.calculatePopularityScores(fetched, ScoringModel.DEFAULT)).thenReturn(fetched);
+
+        GithubPopularityScoreResponse first = asyncScoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE,
+                ScoringModel.DEFAULT).join();
+        GithubPopularityScoreResponse second = scoreCalculatorService.fetchAndScoreRepositories("java", TEST_DATE, TEST_PAGE);
+
+        assertThat(second).isSameAs(first);
+        verifyNoInteractions(gitHubClient);
+        verify(gitHubAsyncClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+    }
+
+    @Test
+    void shouldServeStoredSnapshot_whenGitHubFails() {
+        GithubPopularityScoreResponse storedResponse = response(repository("repo1", 300));
+
+        when(gitHubAsyncClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE))
+                .thenReturn(CompletableFuture.failedFuture(new RateLimitExceededException("GitHub rate limit exceeded", Duration.ofSeconds(30))));
+        when(snapshotStore.findForFallback(any())).thenReturn(Optional.of(new StoredSnapshot(storedResponse,
+                Instant.now().minus(Duration.ofDays(1)), ScoringModel.DEFAULT_NAME)));
+
+        GithubPopularityScoreResponse result = asyncScoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE,
+                ScoringModel.DEFAULT).join();
+
+        assertThat(result.getRepositoriesPopularityScoreDTO()).isSameAs(storedResponse.getRepositoriesPopularityScoreDTO());
+        assertThat(result.isDegraded()).isTrue();
+        verify(scoringUtil, never()).calculatePopularityScores(any(), any());
+    }
+
+    @Test
+    void shouldFailWithUpstreamException_whenNoSnapshotIsStored() {
+        when(gitHubAsyncClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE))
+                .thenReturn(CompletableFuture.failedFuture(new RateLimitExceededException("GitHub rate limit exceeded", Duration.ofSeconds(30))));
+
+        CompletableFuture<GithubPopularityScoreResponse> result = asyncScoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE,
+                TEST_PAGE, ScoringModel.DEFAULT);
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RateLimitExceededException.class);
+    }
+
+    private static GithubPopularityScoreResponse response(RepositoriesPopularityScoreDTO... repositories) {
+        return new GithubPopularityScoreResponse(repositories.length, List.of(repositories));
+    }
+
+    private static RepositoriesPopularityScoreDTO repository(String fullName, double score) {
+        return new RepositoriesPopularityScoreDTO(fullName, 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), score);
+    }
+}
@@ -0,0 +1,60 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.ScoreResultCache;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackgroundRefreshSchedulerTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private ScoreResultCache resultCache;
+
+    @Mock
+    private ScoreCalculatorService scoreCalculatorService;
+
+    private BackgroundRefreshScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        scheduler = new BackgroundRefreshScheduler(resultCache, scoreCalculatorService, 3, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldRefreshHottestCandidates() {
+        QueryKey java = QueryKey.of("java", TEST_DATE, 1);
+        QueryKey python = QueryKey.of("python", TEST_DATE, 1);
+        when(resultCache.refreshCandidates(3, Duration.ofMinutes(1))).thenReturn(List.of(java, python));
+
+        scheduler.refreshHotQueries();
+
+        verify(scoreCalculatorService).refresh(java);
+        verify(scoreCalculatorService).refresh(python);
+    }
+
+    @Test
+    void shouldStopRound_whenBackgroundSearchIsShed() {
+        QueryKey java = QueryKey.of("java", TEST_DATE, 1);
+        QueryKey python = QueryKey.of("python", TEST_DATE, 1);
+        when(resultCache.refreshCandidates(3, Duration.ofMinutes(1))).thenReturn(List.of(java, python));
+        doThrow(new RateLimitExceededException("Rate limit reserved", Duration.ofSeconds(30)))
+                .when(scoreCalculatorService).refresh(java);
+
+        scheduler.refreshHotQueries();
+
+        verify(scoreCalculatorService, never()).refresh(python);
+    }
+}
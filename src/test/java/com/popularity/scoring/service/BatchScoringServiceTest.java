@@ -0,0 +1,96 @@
+package com.popularity.scoring.service;
+
+import static org.mockito.Mockito.*;
+import static org.assertj.core.api.Assertions.*;
+
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.model.BatchQuery;
+import com.popularity.scoring.model.BatchQueryResult;
+import com.popularity.scoring.model.BatchScoreResponse;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@ExtendWith(MockitoExtension.class)
+class BatchScoringServiceTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private AsyncScoreCalculatorService asyncScoreCalculatorService;
+
+    @Test
+    void shouldMergePagesPerQuery_andReportPartialFailures() {
+        BatchScoringService batchScoringService = new BatchScoringService(asyncScoreCalculatorService, 8);
+        when(asyncScoreCalculatorService.fetchAndScoreRepositories("java", TEST_DATE, 1, ScoringModel.DEFAULT))
+                .thenReturn(CompletableFuture.completedFuture(page(250, repository("java/a", 10), repository("java/b", 30))));
+        when(asyncScoreCalculatorService.fetchAndScoreRepositories("java", TEST_DATE, 2, ScoringModel.DEFAULT))
+                .thenReturn(CompletableFuture.completedFuture(page(250, repository("java/c", 20))));
+        when(asyncScoreCalculatorService.fetchAndScoreRepositories("go", TEST_DATE, 1, ScoringModel.DEFAULT))
+                .thenReturn(CompletableFuture.failedFuture(new RateLimitExceededException("GitHub rate limit exceeded", Duration.ofSeconds(30))));
+
+        BatchScoreResponse response = batchScoringService.score(List.of(
+                new BatchQuery("java", TEST_DATE, 2, 2),
+                new BatchQuery("go", TEST_DATE, null, null)), ScoringModel.DEFAULT).join();
+
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(1);
+
+        BatchQueryResult java = response.results().get(0);
+        assertThat(java.status()).isEqualTo(200);
+        assertThat(java.response().getTotalNumberOfRepositories()).isEqualTo(250);
+        assertThat(java.response().getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("java/b", "java/c");
+
+        BatchQueryResult go = response.results().get(1);
+        assertThat(go.language()).isEqualTo("go");
+        assertThat(go.pages()).isEqualTo(1);
+        assertThat(go.status()).isEqualTo(429);
+        assertThat(go.retryAfterSeconds()).isEqualTo(30);
+        assertThat(go.response()).isNull();
+    }
+
+    @Test
+    void shouldKeepAtMostParallelismPagesInFlight() {
+        BatchScoringService batchScoringService = new BatchScoringService(asyncScoreCalculatorService, 2);
+        List<CompletableFuture<GithubPopularityScoreResponse>> upstream = new ArrayList<>();
+        when(asyncScoreCalculatorService.fetchAndScoreRepositories(anyString(), eq(TEST_DATE), anyInt(), eq(ScoringModel.DEFAULT)))
+                .thenAnswer(invocation -> {
+                    CompletableFuture<GithubPopularityScoreResponse> page = new CompletableFuture<>();
+                    upstream.add(page);
+                    return page;
+                });
+
+        CompletableFuture<BatchScoreResponse> response = batchScoringService.score(List.of(
+                new BatchQuery("java", TEST_DATE, 3, null),
+                new BatchQuery("go", TEST_DATE, 2, null)), ScoringModel.DEFAULT);
+
+        for (int completed = 0; completed < 5; completed++) {
+            assertThat(upstream).hasSize(Math.min(completed + 2, 5));
+            assertThat(response).isNotDone();
+            upstream.get(completed).complete(page(1, repository("owner/repository-" + completed, completed)));
+        }
+
+        assertThat(response.join().succeeded()).isEqualTo(2);
+    }
+
+    private static GithubPopularityScoreResponse page(int total, RepositoriesPopularityScoreDTO... repositories) {
+        return new GithubPopularityScoreResponse(total, List.of(repositories));
+    }
+
+    private static RepositoriesPopularityScoreDTO repository(String fullName, double score) {
+        return new RepositoriesPopularityScoreDTO(fullName, 1, 1, LocalDateTime.of(2024, 6, 1, 12, 0), LocalDateTime.of(2024, 1, 1, 12, 0), score);
+    }
+}
@@ -0,0 +1,84 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PopularityScoringKernelTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Test
+    void shouldMatchPerRepositoryFormula() {
+        assertKernelMatchesFormula(100);
+    }
+
+    @Test
+    void shouldMatchPerRepositoryFormula_whenScoringInParallel() {
+        assertKernelMatchesFormula(PopularityScoringKernel.DEFAULT_PARALLEL_THRESHOLD + PopularityScoringKernel.CHUNK_SIZE / 2);
+    }
+
+    @Test
+    void shouldScoreTheSame_whenSmallBatchIsForcedParallel() {
+        int length = PopularityScoringKernel.CHUNK_SIZE + 10;
+        int[] stars = new int[length];
+        int[] forks = new int[length];
+        long[] lastUpdated = new long[length];
+        long[] created = new long[length];
+        for (int i = 0; i < length; i++) {
+            stars[i] = i;
+            forks[i] = i / 2;
+            lastUpdated[i] = NOW.minusDays(i % 400).toEpochSecond(ZoneOffset.UTC);
+            created[i] = PopularityScoringKernel.MISSING_TIMESTAMP;
+        }
+        double[] sequential = new double[length];
+        double[] parallel = new double[length];
+        long now = NOW.toEpochSecond(ZoneOffset.UTC);
+
+        PopularityScoringKernel.scoreSequential(ScoringModel.DEFAULT.evaluator(), stars, forks, lastUpdated, created, now, sequential, length);
+        PopularityScoringKernel.scoreParallel(ScoringModel.DEFAULT.evaluator(), stars, forks, lastUpdated, created, now, parallel, length);
+
+        assertThat(parallel).containsExactly(sequential);
+    }
+
+    @Test
+    void shouldAssignMinimumScore_whenLastUpdatedIsMissing() {
+        double[] scores = {-1.0};
+
+        PopularityScoringKernel.score(ScoringModel.DEFAULT.evaluator(), new int[]{100}, new int[]{50},
+                new long[]{PopularityScoringKernel.MISSING_TIMESTAMP}, new long[]{PopularityScoringKernel.MISSING_TIMESTAMP},
+                NOW.toEpochSecond(ZoneOffset.UTC), scores, 1, PopularityScoringKernel.DEFAULT_PARALLEL_THRESHOLD);
+
+        assertThat(scores[0]).isEqualTo(0.0);
+    }
+
+    private static void assertKernelMatchesFormula(int length) {
+        int[] stars = new int[length];
+        int[] forks = new int[length];
+        long[] lastUpdated = new long[length];
+        long[] created = new long[length];
+        LocalDateTime[] lastUpdatedTimes = new LocalDateTime[length];
+        for (int i = 0; i < length; i++) {
+            stars[i] = i * 7;
+            forks[i] = i * 3;
+            lastUpdatedTimes[i] = NOW.minusHours(i * 5L);
+            lastUpdated[i] = lastUpdatedTimes[i].toEpochSecond(ZoneOffset.UTC);
+            created[i] = NOW.minusYears(2).toEpochSecond(ZoneOffset.UTC);
+        }
+        double[] scores = new double[length];
+
+        PopularityScoringKernel.score(ScoringModel.DEFAULT.evaluator(), stars, forks, lastUpdated, created, NOW.toEpochSecond(ZoneOffset.UTC), scores, length,
+                PopularityScoringKernel.DEFAULT_PARALLEL_THRESHOLD);
+
+        for (int i = 0; i < length; i++) {
+            long days = ChronoUnit.DAYS.between(lastUpdatedTimes[i], NOW);
+            double expected = Math.log10(stars[i] + 1) * 50 + Math.log10(forks[i] + 1) * 30 + (1.0 / (1.0 + days)) * 20;
+            assertThat(scores[i]).as("score of repository %d", i).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.client.GitHubClient;
+import com.popularity.scoring.client.RequestPriority;
+import com.popularity.scoring.exceptionhandling.RateLimitBudgetReservedException;
+import com.popularity.scoring.exceptionhandling.RateLimitExceededException;
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryCrawlServiceTest {
+
+    private static final String TEST_LANGUAGE = "java";
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate JAN_2 = LocalDate.of(2024, 1, 2);
+    private static final LocalDate JAN_3 = LocalDate.of(2024, 1, 3);
+    private static final LocalDate JAN_4 = LocalDate.of(2024, 1, 4);
+
+    @Mock
+    private GitHubClient gitHubClient;
+
+    private ExecutorService executor;
+
+    private RepositoryCrawlService repositoryCrawlService;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(2);
+        repositoryCrawlService = new RepositoryCrawlService(gitHubClient, new ScoringUtil(new SimpleMeterRegistry()), executor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldSplitRangesAboveSearchCap_andPageThroughEachPartition() {
+        stubPage(JAN_1, JAN_4, 1, 1500, 100);
+        stubPage(JAN_1, JAN_2, 1, 150, 100);
+        stubPage(JAN_1, JAN_2, 2, 150, 50);
+        stubPage(JAN_3, JAN_4, 1, 40, 40);
+
+        List<RepositoriesPopularityScoreDTO> crawled = new ArrayList<>();
+        CrawlSummary summary = repositoryCrawlService.crawl(TEST_LANGUAGE, JAN_1, JAN_4, crawled::addAll);
+
+        assertThat(summary.partitions()).isEqualTo(2);
+        assertThat(summary.pages()).isEqualTo(4);
+        assertThat(summary.repositories()).isEqualTo(190);
+        assertThat(crawled).hasSize(190).allSatisfy(repository -> assertThat(repository.getPopularityScore()).isPositive());
+        verify(gitHubClient, never()).searchRepositoriesCreatedBetween(eq(TEST_LANGUAGE), eq(JAN_1), eq(JAN_4), eq(2), any());
+    }
+
+    @Test
+    void shouldRetryDeferredPages_whenRateLimitBudgetIsExhausted() {
+        when(gitHubClient.searchRepositoriesCreatedBetween(TEST_LANGUAGE, JAN_1, JAN_1, 1, RequestPriority.BACKGROUND))
+                .thenThrow(new RateLimitExceededException("GitHub rate limit budget exhausted", Duration.ofMillis(10)))
+                .thenReturn(page(20, 20));
+
+        List<RepositoriesPopularityScoreDTO> crawled = new ArrayList<>();
+        CrawlSummary summary = repositoryCrawlService.crawl(TEST_LANGUAGE, JAN_1, JAN_1, crawled::addAll);
+
+        assertThat(summary.repositories()).isEqualTo(20);
+        assertThat(crawled).hasSize(20);
+    }
+
+    @Test
+    void shouldKeepWaitingForReservedBudget_withoutUsingUpRetries() {
+        RateLimitBudgetReservedException reserved = new RateLimitBudgetReservedException("GitHub rate limit budget reserved", Duration.ofMillis(10));
+        when(gitHubClient.searchRepositoriesCreatedBetween(TEST_LANGUAGE, JAN_1, JAN_1, 1, RequestPriority.BACKGROUND))
+                .thenThrow(reserved, reserved, reserved, reserved)
+                .thenReturn(page(20, 20));
+
+        CrawlSummary summary = repositoryCrawlService.crawl(TEST_LANGUAGE, JAN_1, JAN_1, repositories -> { });
+
+        assertThat(summary.repositories()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldGiveUp_afterMaxRetriesOfGitHubRateLimits() {
+        when(gitHubClient.searchRepositoriesCreatedBetween(TEST_LANGUAGE, JAN_1, JAN_1, 1, RequestPriority.BACKGROUND))
+                .thenThrow(new RateLimitExceededException("GitHub rate limit exceeded", Duration.ofMillis(10)));
+
+        assertThatThrownBy(() -> repositoryCrawlService.crawl(TEST_LANGUAGE, JAN_1, JAN_1, repositories -> { }))
+                .isInstanceOf(RateLimitExceededException.class);
+        verify(gitHubClient, times(3)).searchRepositoriesCreatedBetween(TEST_LANGUAGE, JAN_1, JAN_1, 1, RequestPriority.BACKGROUND);
+    }
+
+    @Test
+    void shouldStopFetchingPages_afterFirstHardFailure() {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            RepositoryCrawlService sequentialCrawl = new RepositoryCrawlService(gitHubClient, new ScoringUtil(new SimpleMeterRegistry()), singleThread, 2);
+            stubPage(JAN_1, JAN_1, 1, 1000, 100);
+            when(gitHubClient.searchRepositoriesCreatedBetween(TEST_LANGUAGE, JAN_1, JAN_1, 2, RequestPriority.BACKGROUND))
+                    .thenThrow(new RepositoryServiceException("Error fetching repositories from GitHub"));
+
+            assertThatThrownBy(() -> sequentialCrawl.crawl(TEST_LANGUAGE, JAN_1, JAN_1, repositories -> { }))
+                    .isInstanceOf(RepositoryServiceException.class);
+            verify(gitHubClient, never()).searchRepositoriesCreatedBetween(eq(TEST_LANGUAGE), eq(JAN_1), eq(JAN_1), intThat(page -> page > 2), any());
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldFetchNoFurtherAhead_thanTheConsumerReleasesPermits() throws Exception {
+        when(gitHubClient.searchRepositoriesCreatedBetween(eq(TEST_LANGUAGE), eq(JAN_1), eq(JAN_1), anyInt(), eq(RequestPriority.BACKGROUND)))
+                .thenReturn(page(500, 100));
+        CrawlPermits permits = new CrawlPermits(2);
+        List<List<RepositoriesPopularityScoreDTO>> consumed = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<CrawlSummary> crawl = repositoryCrawlService.crawlAsync(TEST_LANGUAGE, JAN_1, JAN_1,
+                ScoringModel.DEFAULT, permits, consumed::add);
+
+        verify(gitHubClient, timeout(1_000).times(2)).searchRepositoriesCreatedBetween(eq(TEST_LANGUAGE), eq(JAN_1), eq(JAN_1), anyInt(), any());
+        Thread.sleep(50);
+        assertThat(crawl).isNotDone();
+        verify(gitHubClient, times(2)).searchRepositoriesCreatedBetween(eq(TEST_LANGUAGE), eq(JAN_1), eq(JAN_1), anyInt(), any());
+
+        for (int page = 0; page < 3; page++) {
+            permits.release();
+        }
+
+        assertThat(crawl.get(5, TimeUnit.SECONDS).repositories()).isEqualTo(500);
+        assertThat(consumed).hasSize(5);
+    }
+
+    private void stubPage(LocalDate from, LocalDate to, int page, int totalCount, int items) {
+        when(gitHubClient.searchRepositoriesCreatedBetween(TEST_LANGUAGE, from, to, page, RequestPriority.BACKGROUND))
+                .thenReturn(page(totalCount, items));
+    }
+
+    private static GithubPopularityScoreResponse page(int totalCount, int items) {
+        List<RepositoriesPopularityScoreDTO> repositories = IntStream.range(0, items)
+                .mapToObj(i -> new RepositoriesPopularityScoreDTO("owner/repo" + i, i, i, LocalDateTime.now().minusDays(1), LocalDateTime.now().minusDays(2), 0))
+                .toList();
+        return new GithubPopularityScoreResponse(totalCount, repositories);
+    }
+}
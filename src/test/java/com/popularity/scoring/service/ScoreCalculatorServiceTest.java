@@ -3,10 +3,20 @@ package com.popularity.scoring.service;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.RequestCoalescer;
+import com.popularity.scoring.cache.ScoreResultCache;
 import com.popularity.scoring.client.GitHubClient;
+import com.popularity.scoring.client.RequestPriority;
+import com.popularity.scoring.exceptionhandling.GitHubUnavailableException;
 import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
 import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.scoringmodel.ScoringModelProperties;
+import com.popularity.scoring.scoringmodel.ScoringModelRegistry;
+import com.popularity.scoring.snapshot.RepositorySnapshotStore;
+import com.popularity.scoring.snapshot.StoredSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +24,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 class ScoreCalculatorServiceTest {
@@ -27,16 +45,25 @@ class ScoreCalculatorServiceTest {
     @Mock
     private ScoringUtil scoringUtil;
 
+    @Mock
+    private RepositorySnapshotStore snapshotStore;
+
     @InjectMocks
     private ScoreCalculatorService scoreCalculatorService;
 
+    private final ScoringModelRegistry scoringModels = new ScoringModelRegistry(new ScoringModelProperties(
+            Map.of("linear", new ScoringModelProperties.ModelDefinition(
+                    new ScoringModelProperties.Term(1.0, ScoringModelProperties.Shaping.LINEAR), null, null, false)),
+            Map.of()));
+
     private static final String TEST_LANGUAGE = "Java";
     private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
     private static final int TEST_PAGE = 1;
 
     @BeforeEach
     void setup() {
-        scoreCalculatorService = new ScoreCalculatorService(gitHubClient, scoringUtil);
+        scoreCalculatorService = new ScoreCalculatorService(gitHubClient, scoringUtil, new ScoreResultCache(100, Duration.ofMinutes(5)),
+                new RequestCoalescer(), snapshotStore, Runnable::run, scoringModels);
     }
 
     @Test
@@ -45,15 +72,15 @@ class ScoreCalculatorServiceTest {
         GithubPopularityScoreResponse mockResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 0)));
         GithubPopularityScoreResponse scoredResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 300)));
 
-        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE)).thenReturn(mockResponse);
-        when(scoringUtil.calculatePopularityScores(mockResponse)).thenReturn(scoredResponse);
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(mockResponse);
+        when(scoringUtil.calculatePopularityScores(mockResponse, ScoringModel.DEFAULT)).thenReturn(scoredResponse);
 
         GithubPopularityScoreResponse result = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
 
         assertThat(result).isNotNull();
         assertThat(result.getRepositoriesPopularityScoreDTO()).isEqualTo(scoredResponse.getRepositoriesPopularityScoreDTO());
-        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
-        verify(scoringUtil, times(1)).calculatePopularityScores(mockResponse);
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        verify(scoringUtil, times(1)).calculatePopularityScores(mockResponse, ScoringModel.DEFAULT);
     }
 
     @Test
@@ -61,40 +88,204 @@ class ScoreCalculatorServiceTest {
 
         GithubPopularityScoreResponse mockResponse = new GithubPopularityScoreResponse(0, Collections.emptyList());
 
-        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE)).thenReturn(mockResponse);
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(mockResponse);
 
         GithubPopularityScoreResponse result = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
 
         assertThat(result).isNotNull();
         assertThat(result.getRepositoriesPopularityScoreDTO()).isEmpty();
-        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
-        verify(scoringUtil, never()).calculatePopularityScores(any());
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        verify(scoringUtil, never()).calculatePopularityScores(any(), any());
     }
 
     @Test
     void shouldThrowRepositoryServiceException_whenFetchingRepositoriesFails() {
 
-        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE)).thenThrow(new RuntimeException("GitHub API failure"));
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenThrow(new RuntimeException("GitHub API failure"));
 
         assertThatExceptionOfType(RepositoryServiceException.class)
                 .isThrownBy(() -> scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE))
                 .withMessage("Failed to fetch repositories from GitHub");
-        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
-        verify(scoringUtil, never()).calculatePopularityScores(any());
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        verify(scoringUtil, never()).calculatePopularityScores(any(), any());
     }
 
     @Test
     void shouldThrowRepositoryServiceException_whenCalculatingScoresFails() {
 
-        GithubPopularityScoreResponse mockResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO()));
+        GithubPopularityScoreResponse mockResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO.Builder().build()));
 
-        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE)).thenReturn(mockResponse);
-        when(scoringUtil.calculatePopularityScores(mockResponse)).thenThrow(new RuntimeException("Score calculation failure"));
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(mockResponse);
+        when(scoringUtil.calculatePopularityScores(mockResponse, ScoringModel.DEFAULT)).thenThrow(new RuntimeException("Score calculation failure"));
 
         assertThatExceptionOfType(RepositoryServiceException.class)
                 .isThrownBy(() -> scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE))
                 .withMessage("Failed to calculate repository scores");
-        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
-        verify(scoringUtil, times(1)).calculatePopularityScores(mockResponse);
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        verify(scoringUtil, times(1)).calculatePopularityScores(mockResponse, ScoringModel.DEFAULT);
+    }
+
+    @Test
+    void shouldServeRepeatedQueryFromCache_withoutCallingGitHubAgain() {
+
+        GithubPopularityScoreResponse mockResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 0)));
+
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(mockResponse);
+        when(scoringUtil.calculatePopularityScores(mockResponse, ScoringModel.DEFAULT)).thenReturn(mockResponse);
+
+        GithubPopularityScoreResponse first = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+        GithubPopularityScoreResponse second = scoreCalculatorService.fetchAndScoreRepositories("java", TEST_DATE, TEST_PAGE);
+
+        assertThat(second).isSameAs(first);
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        verify(scoringUtil, times(1)).calculatePopularityScores(mockResponse, ScoringModel.DEFAULT);
+    }
+
+    @Test
+    void shouldServeFreshSnapshot_withoutCallingGitHub() {
+
+        GithubPopularityScoreResponse storedResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 300)));
+
+        when(snapshotStore.findFresh(any())).thenReturn(Optional.of(new StoredSnapshot(storedResponse, Instant.now(), ScoringModel.DEFAULT_NAME)));
+
+        GithubPopularityScoreResponse result = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+
+        assertThat(result).isSameAs(storedResponse);
+        verify(gitHubClient, never()).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+    }
+
+    @Test
+    void shouldServeStoredSnapshot_whenGitHubFails() {
+
+        GithubPopularityScoreResponse storedResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 300)));
+
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenThrow(new RuntimeException("GitHub API failure"));
+        when(snapshotStore.findForFallback(any())).thenReturn(Optional.of(new StoredSnapshot(storedResponse, Instant.now().minus(Duration.ofDays(1)), ScoringModel.DEFAULT_NAME)));
+
+        GithubPopularityScoreResponse result = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+
+        assertThat(result.getRepositoriesPopularityScoreDTO()).isSameAs(storedResponse.getRepositoriesPopularityScoreDTO());
+        assertThat(result.isDegraded()).isTrue();
+        assertThat(storedResponse.isDegraded()).isFalse();
+        verify(scoringUtil, never()).calculatePopularityScores(any(), any());
+    }
+
+    @Test
+    void shouldServeStoredSnapshot_whenGitHubCircuitIsOpen() {
+
+        GithubPopularityScoreResponse storedResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 300)));
+
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE))
+                .thenThrow(new GitHubUnavailableException("GitHub is unavailable, please retry later", Duration.ofSeconds(30)));
+        when(snapshotStore.findForFallback(any())).thenReturn(Optional.of(new StoredSnapshot(storedResponse, Instant.now().minus(Duration.ofDays(1)), ScoringModel.DEFAULT_NAME)));
+
+        GithubPopularityScoreResponse result = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+
+        assertThat(result.isDegraded()).isTrue();
+        assertThat(result.getRepositoriesPopularityScoreDTO()).extracting(RepositoriesPopularityScoreDTO::getFullName).containsExactly("repo1");
+    }
+
+    @Test
+    void shouldFailFast_whenGitHubCircuitIsOpenAndNoSnapshotIsStored() {
+
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE))
+                .thenThrow(new GitHubUnavailableException("GitHub is unavailable, please retry later", Duration.ofSeconds(30)));
+
+        assertThatThrownBy(() -> scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE))
+                .isInstanceOf(GitHubUnavailableException.class);
+    }
+
+    @Test
+    void shouldServeStaleResponse_andRefreshItInTheBackground() {
+
+        scoreCalculatorService = new ScoreCalculatorService(gitHubClient, scoringUtil, new ScoreResultCache(100, Duration.ZERO, Duration.ofHours(1)),
+                new RequestCoalescer(), snapshotStore, Runnable::run, scoringModels);
+        GithubPopularityScoreResponse initialResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 0)));
+        GithubPopularityScoreResponse refreshedResponse = new GithubPopularityScoreResponse(2, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo2", 200, 80, LocalDateTime.now().minusDays(1), LocalDateTime.now().minusDays(20), 0)));
+
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(initialResponse);
+        when(gitHubClient.searchAllRepositories("java", TEST_DATE, TEST_PAGE, RequestPriority.BACKGROUND)).thenReturn(refreshedResponse);
+        when(scoringUtil.calculatePopularityScores(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+        GithubPopularityScoreResponse stale = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+        GithubPopularityScoreResponse refreshed = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+
+        assertThat(stale.isStale()).isTrue();
+        assertThat(stale.getTotalNumberOfRepositories()).isEqualTo(1);
+        assertThat(refreshed.getTotalNumberOfRepositories()).isEqualTo(2);
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        verify(gitHubClient, atLeastOnce()).searchAllRepositories("java", TEST_DATE, TEST_PAGE, RequestPriority.BACKGROUND);
+    }
+
+    @Test
+    void shouldFetchCacheMissAtInteractivePriority_whileBackgroundRefreshIsInFlight() throws Exception {
+        GithubPopularityScoreResponse emptyResponse = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch refreshReleased = new CountDownLatch(1);
+        when(gitHubClient.searchAllRepositories("java", TEST_DATE, TEST_PAGE, RequestPriority.BACKGROUND)).thenAnswer(invocation -> {
+            refreshStarted.countDown();
+            refreshReleased.await(5, TimeUnit.SECONDS);
+            return emptyResponse;
+        });
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(emptyResponse);
+
+        QueryKey key = QueryKey.of(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, ScoringModel.DEFAULT.name());
+        CompletableFuture<Void> refresh = CompletableFuture.runAsync(() -> scoreCalculatorService.refresh(key));
+        try {
+            assertThat(refreshStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE);
+
+            verify(gitHubClient).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
+        } finally {
+            refreshReleased.countDown();
+        }
+        refresh.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldRescoreStoredSnapshot_whenRequestedModelDiffers() {
+
+        GithubPopularityScoreResponse storedResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 300)));
+        GithubPopularityScoreResponse rescoredResponse = new GithubPopularityScoreResponse(1, Collections.singletonList(new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 150)));
+        ScoringModel linear = scoringModels.get("linear");
+
+        when(snapshotStore.findFresh(QueryKey.of(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, "linear")))
+                .thenReturn(Optional.of(new StoredSnapshot(storedResponse, Instant.now(), ScoringModel.DEFAULT_NAME)));
+        when(scoringUtil.calculatePopularityScores(storedResponse, linear)).thenReturn(rescoredResponse);
+
+        GithubPopularityScoreResponse result = scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, linear);
+
+        assertThat(result).isSameAs(rescoredResponse);
+        verify(gitHubClient, never()).searchAllRepositories(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void shouldRankRepositoriesByScore_applyingLimitAndMinScore() {
+
+        GithubPopularityScoreResponse mockResponse = new GithubPopularityScoreResponse(3, List.of(
+                new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now(), LocalDateTime.now(), 0),
+                new RepositoriesPopularityScoreDTO("repo2", 100, 50, LocalDateTime.now(), LocalDateTime.now(), 0),
+                new RepositoriesPopularityScoreDTO("repo3", 100, 50, LocalDateTime.now(), LocalDateTime.now(), 0)));
+        GithubPopularityScoreResponse scoredResponse = new GithubPopularityScoreResponse(3, List.of(
+                new RepositoriesPopularityScoreDTO("repo1", 100, 50, LocalDateTime.now(), LocalDateTime.now(), 120),
+                new RepositoriesPopularityScoreDTO("repo2", 100, 50, LocalDateTime.now(), LocalDateTime.now(), 180),
+                new RepositoriesPopularityScoreDTO("repo3", 100, 50, LocalDateTime.now(), LocalDateTime.now(), 90)));
+
+        when(gitHubClient.searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE)).thenReturn(mockResponse);
+        when(scoringUtil.calculatePopularityScores(mockResponse, ScoringModel.DEFAULT)).thenReturn(scoredResponse);
+
+        GithubPopularityScoreResponse all = scoreCalculatorService.fetchRankedRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, ScoringModel.DEFAULT, 100, Double.NEGATIVE_INFINITY);
+        GithubPopularityScoreResponse top = scoreCalculatorService.fetchRankedRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, ScoringModel.DEFAULT, 1, 100);
+
+        assertThat(all.getTotalNumberOfRepositories()).isEqualTo(3);
+        assertThat(all.getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("repo2", "repo1", "repo3");
+        assertThat(top.getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("repo2");
+        verify(gitHubClient, times(1)).searchAllRepositories(TEST_LANGUAGE, TEST_DATE, TEST_PAGE, RequestPriority.INTERACTIVE);
     }
 }
@@ -2,11 +2,12 @@ package com.popularity.scoring.service;
 
 import com.popularity.scoring.model.GithubPopularityScoreResponse;
 import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import java.time.LocalDateTime;
@@ -15,12 +16,14 @@ import java.util.Collections;
 
 @ExtendWith(MockitoExtension.class)
 public class ScoringUtilTest {
-    @InjectMocks
     private ScoringUtil scoringUtil;
 
     @Mock
     private ScoreCalculatorService scoreCalculatorService;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private RepositoriesPopularityScoreDTO repository1;
     private RepositoriesPopularityScoreDTO repository2;
     private RepositoriesPopularityScoreDTO repository3;
@@ -31,7 +34,8 @@ public class ScoringUtilTest {
         repository2 = new RepositoriesPopularityScoreDTO("repo2", 100, 50, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(30), 0);
         repository3 = new RepositoriesPopularityScoreDTO("repo3", 100, 50, null, LocalDateTime.now().minusDays(30), 0);
 
-        scoreCalculatorService = new ScoreCalculatorService(null, null);
+        scoreCalculatorService = new ScoreCalculatorService(null, null, null, null, null, null, null);
+        scoringUtil = new ScoringUtil(meterRegistry);
     }
 
     @Test
@@ -42,9 +46,13 @@ public class ScoringUtilTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getRepositoriesPopularityScoreDTO()).hasSize(3);
-        assertThat(repository1.getPopularityScore()).isEqualTo(154.77650730540356);
-        assertThat(repository2.getPopularityScore()).isEqualTo(154.77650730540356);
-        assertThat(repository3.getPopularityScore()).isEqualTo(0.0); // Expect 0 due to missing lastUpdated
+        assertThat(result.getRepositoriesPopularityScoreDTO().get(0).getPopularityScore()).isEqualTo(154.77650730540356);
+        assertThat(result.getRepositoriesPopularityScoreDTO().get(1).getPopularityScore()).isEqualTo(154.77650730540356);
+        assertThat(result.getRepositoriesPopularityScoreDTO().get(2).getPopularityScore()).isEqualTo(0.0); // Expect 0 due to missing lastUpdated
+        assertThat(result.getRepositoriesPopularityScoreDTO()).extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("repo1", "repo2", "repo3");
+        assertThat(repository1.getPopularityScore()).isZero();
+        assertThat(meterRegistry.get("scoring.score").tag("model", "default").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -69,13 +77,13 @@ public class ScoringUtilTest {
 
     @Test
     void shouldAssignMinScoreForRepositoriesWithoutLastUpdatedDate() {
-        repository3.setLastUpdated(null); // Set lastUpdated to null
         GithubPopularityScoreResponse response = new GithubPopularityScoreResponse(1, Collections.singletonList(repository3));
 
         GithubPopularityScoreResponse result = scoringUtil.calculatePopularityScores(response);
 
         assertThat(result).isNotNull();
-        assertThat(repository3.getPopularityScore()).isEqualTo(0.0); // Minimum score expected
+        assertThat(repository3.getLastUpdated()).isNull();
+        assertThat(result.getRepositoriesPopularityScoreDTO().get(0).getPopularityScore()).isEqualTo(0.0); // Minimum score expected
     }
 
 }
@@ -0,0 +1,39 @@
+package com.popularity.scoring.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+    @Test
+    void shouldKeepBestKItems_bestFirst() {
+        TopKSelector<Integer> selector = new TopKSelector<>(3, Comparator.naturalOrder());
+
+        selector.offerAll(List.of(5, 1, 9, 3, 7, 2, 8));
+
+        assertThat(selector.toSortedList()).containsExactly(9, 8, 7);
+    }
+
+    @Test
+    void shouldKeepEverything_whenFewerItemsThanK() {
+        TopKSelector<Integer> selector = new TopKSelector<>(10, Comparator.naturalOrder());
+
+        selector.offerAll(List.of(2, 1));
+
+        assertThat(selector.toSortedList()).containsExactly(2, 1);
+    }
+
+    @Test
+    void shouldRejectItemsBelowCutoff_whenFull() {
+        TopKSelector<Integer> selector = new TopKSelector<>(2, Comparator.naturalOrder());
+        selector.offerAll(List.of(5, 6));
+
+        assertThat(selector.offer(4)).isFalse();
+        assertThat(selector.offer(7)).isTrue();
+        assertThat(selector.toSortedList()).containsExactly(7, 6);
+    }
+}
@@ -0,0 +1,95 @@
+package com.popularity.scoring.service;
+
+import com.popularity.scoring.exceptionhandling.RepositoryServiceException;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TopRepositoriesServiceTest {
+
+    private static final String TEST_LANGUAGE = "Java";
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private ScoreCalculatorService scoreCalculatorService;
+
+    private ExecutorService executor;
+
+    private TopRepositoriesService topRepositoriesService;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        topRepositoriesService = new TopRepositoriesService(scoreCalculatorService, executor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnGlobalTopKAcrossPages_rankedByScore() {
+        when(scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, 1, ScoringModel.DEFAULT))
+                .thenReturn(page(repository("a", 10), repository("b", 40)));
+        when(scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, 2, ScoringModel.DEFAULT))
+                .thenReturn(page(repository("c", 30), repository("d", 5)));
+        when(scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, 3, ScoringModel.DEFAULT))
+                .thenReturn(page(repository("e", 50)));
+
+        GithubPopularityScoreResponse result = topRepositoriesService.fetchTopRepositories(TEST_LANGUAGE, TEST_DATE, 3, 3);
+
+        assertThat(result.getTotalNumberOfRepositories()).isEqualTo(250);
+        assertThat(result.getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("e", "b", "c");
+    }
+
+    @Test
+    void shouldMarkTopRepositoriesStale_whenAnyPageIsStale() {
+        when(scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, 1, ScoringModel.DEFAULT))
+                .thenReturn(page(repository("a", 10)));
+        when(scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, 2, ScoringModel.DEFAULT))
+                .thenReturn(page(repository("b", 20)).asStale());
+
+        GithubPopularityScoreResponse result = topRepositoriesService.fetchTopRepositories(TEST_LANGUAGE, TEST_DATE, 2, 10);
+
+        assertThat(result.isStale()).isTrue();
+        assertThat(result.isDegraded()).isFalse();
+    }
+
+    @Test
+    void shouldPropagateFailure_whenAnyPageFails() {
+        when(scoreCalculatorService.fetchAndScoreRepositories(TEST_LANGUAGE, TEST_DATE, 1, ScoringModel.DEFAULT))
+                .thenThrow(new RepositoryServiceException("Failed to fetch repositories from GitHub"));
+
+        assertThatExceptionOfType(RepositoryServiceException.class)
+                .isThrownBy(() -> topRepositoriesService.fetchTopRepositories(TEST_LANGUAGE, TEST_DATE, 1, 10))
+                .withMessage("Failed to fetch repositories from GitHub");
+    }
+
+    private static GithubPopularityScoreResponse page(RepositoriesPopularityScoreDTO... repositories) {
+        return new GithubPopularityScoreResponse(250, List.of(repositories));
+    }
+
+    private static RepositoriesPopularityScoreDTO repository(String fullName, double score) {
+        return new RepositoriesPopularityScoreDTO(fullName, 0, 0, LocalDateTime.now(), LocalDateTime.now(), score);
+    }
+}
@@ -0,0 +1,100 @@
+package com.popularity.scoring.snapshot;
+
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.model.RepositoriesPopularityScoreDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {"scoring.snapshot.max-age=15m", "scoring.snapshot.max-stale=7d"})
+@Import(RepositorySnapshotStore.class)
+class RepositorySnapshotStoreTest {
+
+    private static final QueryKey KEY = QueryKey.of("java", LocalDate.of(2024, 1, 1), 1);
+
+    @Autowired
+    private RepositorySnapshotStore snapshotStore;
+
+    @Test
+    void shouldRoundTripScoredRepositories_inOrder() {
+        LocalDateTime updated = LocalDateTime.of(2024, 6, 1, 12, 0);
+        snapshotStore.save(KEY, new GithubPopularityScoreResponse(1234, List.of(
+                repository("owner/first", 90.5, updated),
+                repository("owner/second", 10.25, updated))), Instant.now());
+
+        Optional<StoredSnapshot> snapshot = snapshotStore.findFresh(KEY);
+
+        assertThat(snapshot).isPresent();
+        GithubPopularityScoreResponse response = snapshot.get().response();
+        assertThat(response.getTotalNumberOfRepositories()).isEqualTo(1234);
+        assertThat(response.getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName, RepositoriesPopularityScoreDTO::getPopularityScore,
+                        RepositoriesPopularityScoreDTO::getLastUpdated)
+                .containsExactly(
+                        tuple("owner/first", 90.5, updated),
+                        tuple("owner/second", 10.25, updated));
+    }
+
+    @Test
+    void shouldReplacePreviousSnapshot_ofSameQuery() {
+        LocalDateTime updated = LocalDateTime.of(2024, 6, 1, 12, 0);
+        snapshotStore.save(KEY, new GithubPopularityScoreResponse(2, List.of(
+                repository("owner/first", 1, updated),
+                repository("owner/second", 2, updated))), Instant.now());
+        snapshotStore.save(KEY, new GithubPopularityScoreResponse(1, List.of(
+                repository("owner/third", 3, updated))), Instant.now());
+
+        GithubPopularityScoreResponse response = snapshotStore.findFresh(KEY).orElseThrow().response();
+
+        assertThat(response.getTotalNumberOfRepositories()).isEqualTo(1);
+        assertThat(response.getRepositoriesPopularityScoreDTO())
+                .extracting(RepositoriesPopularityScoreDTO::getFullName)
+                .containsExactly("owner/third");
+    }
+
+    @Test
+    void shouldOnlyServeOldSnapshots_asFallback() {
+        snapshotStore.save(KEY, new GithubPopularityScoreResponse(0, List.of()), Instant.now().minus(Duration.ofHours(1)).truncatedTo(ChronoUnit.SECONDS));
+
+        assertThat(snapshotStore.findFresh(KEY)).isEmpty();
+        assertThat(snapshotStore.findForFallback(KEY)).isPresent();
+    }
+
+    @Test
+    void shouldReadRecentSnapshots_newestFirst() {
+        QueryKey older = QueryKey.of("python", LocalDate.of(2024, 1, 1), 1);
+        QueryKey expired = QueryKey.of("go", LocalDate.of(2024, 1, 1), 1);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        snapshotStore.save(older, new GithubPopularityScoreResponse(0, List.of()), now.minus(Duration.ofMinutes(5)));
+        snapshotStore.save(KEY, new GithubPopularityScoreResponse(0, List.of()), now);
+        snapshotStore.save(expired, new GithubPopularityScoreResponse(0, List.of()), now.minus(Duration.ofHours(1)));
+
+        assertThat(snapshotStore.findRecent(10)).containsOnlyKeys(KEY, older);
+        assertThat(snapshotStore.findRecent(10).keySet()).containsExactly(KEY, older);
+        assertThat(snapshotStore.findRecent(1)).containsOnlyKeys(KEY);
+    }
+
+    private static RepositoriesPopularityScoreDTO repository(String fullName, double score, LocalDateTime updated) {
+        return new RepositoriesPopularityScoreDTO.Builder()
+                .fullName(fullName)
+                .stars(10)
+                .forks(5)
+                .lastUpdated(updated)
+                .createdDate(updated.minusDays(30))
+                .popularityScore(score)
+                .build();
+    }
+}
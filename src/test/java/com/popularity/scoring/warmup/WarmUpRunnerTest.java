@@ -0,0 +1,77 @@
+package com.popularity.scoring.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.popularity.scoring.cache.QueryKey;
+import com.popularity.scoring.cache.ScoreResultCache;
+import com.popularity.scoring.model.GithubPopularityScoreResponse;
+import com.popularity.scoring.scoringmodel.ScoringModel;
+import com.popularity.scoring.service.ScoreCalculatorService;
+import com.popularity.scoring.service.ScoringUtil;
+import com.popularity.scoring.snapshot.RepositorySnapshotStore;
+import com.popularity.scoring.snapshot.StoredSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpRunnerTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private ScoreCalculatorService scoreCalculatorService;
+
+    @Mock
+    private RepositorySnapshotStore snapshotStore;
+
+    private final ScoreResultCache resultCache = new ScoreResultCache(100, Duration.ofMinutes(5));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldLoadSnapshots_fetchHotQueries_andExerciseHotPaths() {
+        QueryKey storedKey = QueryKey.of("go", TEST_DATE, 1);
+        GithubPopularityScoreResponse stored = new GithubPopularityScoreResponse(0, Collections.emptyList());
+        when(snapshotStore.findRecent(10)).thenReturn(Map.of(storedKey, new StoredSnapshot(stored, Instant.now(), ScoringModel.DEFAULT_NAME)));
+
+        WarmUpRunner runner = new WarmUpRunner(scoreCalculatorService, new ScoringUtil(new SimpleMeterRegistry()), resultCache, snapshotStore, objectMapper,
+                List.of("java:2024-01-01", " python:2024-01-01:2 ", "rust"), 10, 5);
+
+        WarmUpSummary summary = runner.warmUp();
+
+        assertThat(summary.snapshotsLoaded()).isEqualTo(1);
+        assertThat(summary.queriesFetched()).isEqualTo(2);
+        assertThat(summary.queriesFailed()).isEqualTo(1);
+        assertThat(summary.jitIterations()).isEqualTo(5);
+        assertThat(resultCache.get(storedKey)).isSameAs(stored);
+        verify(scoreCalculatorService).fetchAndScoreRepositories("java", TEST_DATE, 1);
+        verify(scoreCalculatorService).fetchAndScoreRepositories("python", TEST_DATE, 2);
+    }
+
+    @Test
+    void shouldKeepWarmingUp_whenHotQueryFails() {
+        when(scoreCalculatorService.fetchAndScoreRepositories("java", TEST_DATE, 1)).thenThrow(new RuntimeException("GitHub API failure"));
+
+        WarmUpRunner runner = new WarmUpRunner(scoreCalculatorService, new ScoringUtil(new SimpleMeterRegistry()), resultCache, snapshotStore, objectMapper,
+                List.of("java:2024-01-01"), 0, 1);
+
+        WarmUpSummary summary = runner.warmUp();
+
+        assertThat(summary.queriesFailed()).isEqualTo(1);
+        assertThat(summary.jitIterations()).isEqualTo(1);
+        verifyNoInteractions(snapshotStore);
+    }
+}